@@ -0,0 +1,32 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+// Configure Java toolchain to use Java 17
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+}
+
+// Run with: ./gradlew :benchmark:jmh
+// Quick smoke run (e.g. on CI): ./gradlew :benchmark:jmh -Pquick
+jmh {
+    jmhVersion.set("1.37")
+    // Allocation rate per operation next to the latency numbers
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    if (project.hasProperty("quick")) {
+        fork.set(1)
+        warmupIterations.set(1)
+        warmup.set("1s")
+        iterations.set(2)
+        timeOnIteration.set("1s")
+    }
+}
@@ -0,0 +1,97 @@
+package org.godotengine.plugin.android.admob.benchmark;
+
+import org.godotengine.plugin.android.admob.core.UiCommandQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a frame of banner calls from GDScript going through UiCommandQueue: enqueueing on
+ * the game thread and applying the coalesced batch with one post, here run inline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BannerCommandBenchmark {
+
+    private static final int COMMANDS_PER_FRAME = 8;
+
+    private UiCommandQueue queue;
+    private Runnable posted;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        queue = new UiCommandQueue(command -> posted = command, new UiCommandQueue.Target() {
+            @Override
+            public void load(String adUnitId, String position, String size, int requestId) {
+                blackhole.consume(adUnitId);
+            }
+
+            @Override
+            public void cancelled(int requestId) {
+                blackhole.consume(requestId);
+            }
+
+            @Override
+            public void move(String position, int offsetX, int offsetY) {
+                blackhole.consume(offsetX);
+            }
+
+            @Override
+            public void setVisible(boolean visible) {
+                blackhole.consume(visible);
+            }
+
+            @Override
+            public void remove() {
+                blackhole.consume(false);
+            }
+        });
+    }
+
+    /**
+     * Show/hide toggles and moves during a menu transition, coalesced into one batch
+     */
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS_PER_FRAME)
+    public void toggleFrame() {
+        for (int i = 0; i < COMMANDS_PER_FRAME / 2; i++) {
+            queue.setVisible(false);
+            queue.move("top", i, 0);
+        }
+        drain();
+    }
+
+    /**
+     * A load superseded by a remove in the same frame: nothing but the remove is applied
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void loadThenRemove() {
+        queue.load("ca-app-pub-3940256099942544/6300978111", "bottom", "banner");
+        queue.remove();
+        drain();
+    }
+
+    private void drain() {
+        Runnable command = posted;
+        posted = null;
+        if (command != null) {
+            command.run();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.godotengine.plugin.android.admob.benchmark;
+
+import org.godotengine.plugin.android.admob.core.AdEvent;
+import org.godotengine.plugin.android.admob.core.EventQueue;
+import org.godotengine.plugin.android.admob.core.TraceBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of delivering one ad event from an SDK callback to Godot, in both delivery modes
+ * of DroidAdMob.dispatchEvent: a signal with boxed varargs, or a batched queue record.
+ * Both modes also pay for the trace record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    private static final String PLACEMENT = "level_end";
+    private static final int EVENTS_PER_FRAME = 16;
+
+    private EventQueue queue;
+    private TraceBuffer trace;
+    private long timestamp;
+
+    @Setup
+    public void setUp() {
+        queue = new EventQueue(256);
+        trace = new TraceBuffer(256);
+    }
+
+    /**
+     * Signal mode: the signal name lookup and the boxed argument array handed to emitSignal
+     */
+    @Benchmark
+    public void signal(Blackhole blackhole) {
+        emitSignal(blackhole, AdEvent.PLACEMENT_REWARDED, PLACEMENT, "coins", 10);
+    }
+
+    /**
+     * Batched mode: a frame's worth of records offered, then drained once like a per-frame poll
+     */
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_FRAME)
+    public Object[] batchedFrame() {
+        for (int i = 0; i < EVENTS_PER_FRAME; i++) {
+            queue.offer(AdEvent.PLACEMENT_LOADED, PLACEMENT, 0, timestamp++);
+        }
+        return queue.drain();
+    }
+
+    /**
+     * Batched mode, producer side only: the cost paid on the UI thread per event
+     */
+    @Benchmark
+    public boolean batchedOffer() {
+        boolean offered = queue.offer(AdEvent.PLACEMENT_LOADED, PLACEMENT, 0, timestamp++);
+        if ((timestamp & 127) == 0) {
+            queue.drain();
+        }
+        return offered;
+    }
+
+    /**
+     * Trace record written for every event, overwriting the oldest once the buffer is full
+     */
+    @Benchmark
+    public void traceRecord() {
+        trace.record(AdEvent.PLACEMENT_LOADED, PLACEMENT, 0, timestamp++);
+    }
+
+    private static void emitSignal(Blackhole blackhole, int type, Object... signalArgs) {
+        blackhole.consume(AdEvent.SIGNAL_NAMES[type]);
+        blackhole.consume(signalArgs);
+    }
+}
@@ -0,0 +1,78 @@
+package org.godotengine.plugin.android.admob.benchmark;
+
+import org.godotengine.plugin.android.admob.core.AdMetrics;
+import org.godotengine.plugin.android.admob.core.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics recorded from SDK callbacks. Recording must not allocate once a unit has been seen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final String AD_UNIT = "ca-app-pub-3940256099942544/1033173712";
+
+    private AdMetrics metrics;
+    private LatencyHistogram histogram;
+    private long latency;
+
+    @Setup
+    public void setUp() {
+        metrics = new AdMetrics();
+        histogram = new LatencyHistogram();
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, AD_UNIT);
+    }
+
+    @Benchmark
+    public void recordFill() {
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, AD_UNIT);
+        metrics.recordFill(AdMetrics.FORMAT_INTERSTITIAL, AD_UNIT, nextLatency());
+    }
+
+    @Benchmark
+    public void recordFailure() {
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, AD_UNIT);
+        metrics.recordFailure(AdMetrics.FORMAT_INTERSTITIAL, AD_UNIT, 3, true, nextLatency());
+    }
+
+    @Benchmark
+    public void recordShow() {
+        metrics.recordShow(AdMetrics.FORMAT_INTERSTITIAL, AD_UNIT, nextLatency(), nextLatency() * 10);
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(nextLatency());
+    }
+
+    /**
+     * getMetrics() cost; called rarely, allocates by design
+     */
+    @Benchmark
+    public Map<String, Object> snapshot() {
+        return metrics.snapshot();
+    }
+
+    // Spread samples over the histogram buckets
+    private long nextLatency() {
+        latency = (latency + 37) % 5000;
+        return latency;
+    }
+}
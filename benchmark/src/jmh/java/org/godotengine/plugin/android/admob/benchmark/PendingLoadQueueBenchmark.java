@@ -0,0 +1,77 @@
+package org.godotengine.plugin.android.admob.benchmark;
+
+import org.godotengine.plugin.android.admob.core.PendingLoadQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queuing and merging of load requests made before the SDK finished initializing
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PendingLoadQueueBenchmark {
+
+    private static final int KEY_COUNT = 8;
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final String[] keys = new String[KEY_COUNT];
+    private PendingLoadQueue queue;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "placement:level_" + i;
+        }
+        queue = new PendingLoadQueue();
+        for (String key : keys) {
+            queue.enqueue(key, NOOP, NOOP, 0);
+        }
+    }
+
+    /**
+     * Repeated load calls for already queued keys, the common case while init is slow
+     */
+    @Benchmark
+    public boolean enqueueMerge() {
+        return queue.enqueue(keys[next++ & (KEY_COUNT - 1)], NOOP, NOOP, next);
+    }
+
+    /**
+     * Queue distinct requests, then flush them when initialization completes
+     */
+    @Benchmark
+    @OperationsPerInvocation(KEY_COUNT)
+    public List<PendingLoadQueue.Request> enqueueAndDrain() {
+        PendingLoadQueue fresh = new PendingLoadQueue();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            fresh.enqueue(keys[i], NOOP, NOOP, i);
+        }
+        return fresh.drain();
+    }
+
+    @Benchmark
+    public long nextDeadline() {
+        return queue.nextDeadline();
+    }
+}
@@ -0,0 +1,106 @@
+package org.godotengine.plugin.android.admob.benchmark;
+
+import org.godotengine.plugin.android.admob.core.AdController;
+import org.godotengine.plugin.android.admob.core.AdEventListener;
+import org.godotengine.plugin.android.admob.core.AdLogger;
+import org.godotengine.plugin.android.admob.core.AdMetrics;
+import org.godotengine.plugin.android.admob.core.AdPool;
+import org.godotengine.plugin.android.admob.core.AdSlot;
+import org.godotengine.plugin.android.admob.core.SimulatedAdNetwork;
+import org.godotengine.plugin.android.admob.core.SimulatedScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Taking a preloaded ad and refilling the pool, on its own and through the full
+ * AdController show cycle against the simulated network
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolBenchmark {
+
+    private static final String AD_UNIT = "ca-app-pub-3940256099942544/5224354917";
+    private static final String PLACEMENT = "level_end";
+    private static final Object AD = new Object();
+
+    @Param({"1", "3"})
+    public int depth;
+
+    private AdPool<Object> pool;
+    private SimulatedScheduler scheduler;
+    private AdController controller;
+    private long events;
+
+    @Setup
+    public void setUp() {
+        // Loads complete synchronously so only the pool's own work is measured
+        pool = new AdPool<>(depth, new SimulatedScheduler(), new AdPool.Loader<Object>() {
+            @Override
+            public void load(AdSlot<Object> slot) {
+                pool.onLoaded(slot, AD);
+            }
+        });
+        pool.fill(AD_UNIT);
+
+        scheduler = new SimulatedScheduler();
+        SimulatedAdNetwork network = new SimulatedAdNetwork(scheduler, scheduler, new Random(1))
+                .setLoadLatency(SimulatedAdNetwork.fixed(0))
+                .setShowLatency(SimulatedAdNetwork.fixed(0))
+                .setShowDuration(0);
+        AdEventListener listener = new AdEventListener() {
+            @Override
+            public void onAdEvent(int type, String placement, int code, Object... signalArgs) {
+                events++;
+            }
+        };
+        controller = new AdController(network, scheduler, scheduler, new Random(2), new AdMetrics(),
+                listener, AdLogger.NONE);
+        controller.onInitialized();
+        controller.setPreloadDepth(depth);
+        controller.registerPlacement(PLACEMENT, "rewarded", AD_UNIT);
+        controller.loadPlacement(PLACEMENT);
+        // Loads complete without latency; refresh timers keep the scheduler busy, so never drain it
+        scheduler.advanceBy(0);
+    }
+
+    /**
+     * take() moves a ready slot to SHOWING and refills; release() recycles it
+     */
+    @Benchmark
+    public AdSlot<Object> takeAndRelease() {
+        AdSlot<Object> slot = pool.take(AD_UNIT);
+        pool.release(slot);
+        return slot;
+    }
+
+    @Benchmark
+    public int readyCount() {
+        return pool.getReadyCount(AD_UNIT);
+    }
+
+    /**
+     * Show, reward, dismiss and refill through the controller, including metrics and event dispatch
+     */
+    @Benchmark
+    public long showCycle() {
+        controller.showPlacement(PLACEMENT);
+        scheduler.advanceBy(0);
+        return events;
+    }
+}
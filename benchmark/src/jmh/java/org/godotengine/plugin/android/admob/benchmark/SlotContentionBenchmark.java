@@ -0,0 +1,94 @@
+package org.godotengine.plugin.android.admob.benchmark;
+
+import org.godotengine.plugin.android.admob.core.AdPool;
+import org.godotengine.plugin.android.admob.core.AdSlot;
+import org.godotengine.plugin.android.admob.core.SimulatedScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot state machine under contention between a "UI thread" delivering SDK callbacks
+ * and a "Godot thread" calling into the plugin
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotContentionBenchmark {
+
+    private static final String AD_UNIT = "ca-app-pub-3940256099942544/1033173712";
+    private static final Object AD = new Object();
+
+    private AdSlot<Object> slot;
+    private AdPool<Object> pool;
+
+    @Setup
+    public void setUp() {
+        slot = new AdSlot<>(AD_UNIT);
+        pool = new AdPool<>(3, new SimulatedScheduler(), new AdPool.Loader<Object>() {
+            @Override
+            public void load(AdSlot<Object> loading) {
+                pool.onLoaded(loading, AD);
+            }
+        });
+        pool.fill(AD_UNIT);
+    }
+
+    /**
+     * UI thread: a load starts and completes (IDLE -> LOADING -> READY)
+     */
+    @Benchmark
+    @Group("transitions")
+    @GroupThreads(1)
+    public boolean uiThreadLoad() {
+        return slot.transition(AdSlot.IDLE, AdSlot.LOADING) && slot.markReady(AD);
+    }
+
+    /**
+     * Godot thread: the ad is shown and its slot recycled (READY -> SHOWING -> CONSUMED -> IDLE)
+     */
+    @Benchmark
+    @Group("transitions")
+    @GroupThreads(1)
+    public boolean godotThreadShow() {
+        return slot.transition(AdSlot.READY, AdSlot.SHOWING)
+                && slot.transition(AdSlot.SHOWING, AdSlot.CONSUMED)
+                && slot.recycle();
+    }
+
+    /**
+     * UI thread: shows and refills churn the pool
+     */
+    @Benchmark
+    @Group("polling")
+    @GroupThreads(1)
+    public AdSlot<Object> uiThreadChurn() {
+        AdSlot<Object> taken = pool.take(AD_UNIT);
+        pool.release(taken);
+        return taken;
+    }
+
+    /**
+     * Godot thread: polls readiness every frame, as isPlacementLoaded() does
+     */
+    @Benchmark
+    @Group("polling")
+    @GroupThreads(1)
+    public int godotThreadPoll() {
+        return pool.getReadyCount(AD_UNIT);
+    }
+}
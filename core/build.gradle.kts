@@ -0,0 +1,19 @@
+plugins {
+    `java-library`
+}
+
+// Configure Java toolchain to use Java 17
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+// The core sources are also compiled straight into the plugin AAR (see plugin/build.gradle.kts),
+// so they must only use Java APIs available on Android at the plugin's minSdk (21).
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
+
+// Run with: ./gradlew :core:test
@@ -0,0 +1,1392 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Preloading, retry, placement and show logic for interstitial, rewarded and app-open ads,
+ * independent of Android and of the ad SDK. Mutating calls and AdNetwork callbacks must happen on the
+ * scheduler's thread; ready counts, slot states and metrics may be read from any thread.
+ */
+public class AdController {
+
+    public static final int DEFAULT_PRELOAD_DEPTH = 1;
+    public static final int MAX_PRELOAD_DEPTH = 5;
+
+    // Load requests made before initialization completes
+    public static final int DEFAULT_INIT_QUEUE_TIMEOUT_MS = 10000;
+    public static final String INIT_TIMEOUT_MESSAGE = "Timed out waiting for AdMob initialization";
+
+    // Loaded ads go stale after about an hour; expire them a little earlier and reload ahead of time
+    public static final long DEFAULT_AD_TTL_MS = 55 * 60 * 1000;
+    public static final long DEFAULT_REFRESH_LEAD_MS = 60 * 1000;
+
+    // App-open ads stay valid for four hours and are shown only if ready within the budget
+    public static final long DEFAULT_APP_OPEN_TTL_MS = 4 * 60 * 60 * 1000 - 5 * 60 * 1000;
+    public static final int DEFAULT_APP_OPEN_BUDGET_MS = 3000;
+    public static final String SKIP_TIMEOUT = "timeout";
+    public static final String SKIP_NOT_LOADED = "not_loaded";
+    public static final String SKIP_REJECTED = "rejected";
+    public static final String SKIP_FAILED_TO_SHOW = "failed_to_show";
+
+    // Memory pressure levels reported by the host; each level shrinks the pools one step
+    public static final int MEMORY_NORMAL = 0;
+    public static final int MEMORY_MODERATE = 1;
+    public static final int MEMORY_CRITICAL = 2;
+    private static final String[] MEMORY_LEVEL_NAMES = {"normal", "moderate", "critical"};
+    // Quiet time after the last pressure report before the pools grow back one step
+    public static final long MEMORY_RECOVERY_STEP_MS = 60 * 1000;
+
+    // Network classes reported by the host
+    public static final int NETWORK_NONE = 0;
+    public static final int NETWORK_WIFI = 1;
+    public static final int NETWORK_CELLULAR = 2;
+    public static final int NETWORK_ETHERNET = 3;
+    public static final int NETWORK_OTHER = 4;
+    private static final String[] NETWORK_NAMES = {"none", "wifi", "cellular", "ethernet", "other"};
+    // Preload depth cap on metered networks
+    public static final int METERED_PRELOAD_DEPTH = 1;
+
+    private final AdNetwork network;
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private final AdMetrics metrics;
+    private final AdEventListener listener;
+    private final AdLogger logger;
+
+    private final AdPool<FullScreenAd> interstitialPool;
+    private final AdPool<FullScreenAd> rewardedPool;
+    private volatile String interstitialAdUnitId;
+    private volatile String rewardedAdUnitId;
+    private final AdPool<FullScreenAd> appOpenPool;
+    private volatile String appOpenAdUnitId;
+    private volatile int appOpenBudgetMs = DEFAULT_APP_OPEN_BUDGET_MS;
+    private volatile boolean appOpenOnForeground;
+    // Launch or foreground time an app-open ad is being waited for, -1 if none
+    private long appOpenOpenedAt = -1;
+    private RequestTracker.Request appOpenRequest;
+    private Scheduler.Task appOpenTimeout;
+    private boolean paused;
+    private boolean pausedForFullScreenAd;
+    private volatile boolean pauseRenderingDuringAds;
+    // Time the game was asked to suspend rendering for the showing ad, -1 if it was not
+    private long renderingSuspendedAt = -1;
+    private volatile int preloadDepth = DEFAULT_PRELOAD_DEPTH;
+    private volatile int memoryPressure = MEMORY_NORMAL;
+    private Scheduler.Task memoryRecovery;
+    // Assume a connection until the host reports otherwise
+    private volatile int networkType = NETWORK_OTHER;
+    private volatile boolean networkMetered;
+    private final PlacementRegistry placementRegistry = new PlacementRegistry();
+    private final RequestTracker requests = new RequestTracker();
+    private final AtomicReference<AdSlot<?>> showingSlot = new AtomicReference<>();
+    private final RetryScheduler retryScheduler;
+
+    private final PendingLoadQueue pendingLoads = new PendingLoadQueue();
+    private Scheduler.Task pendingLoadExpiry;
+    private volatile int initQueueTimeoutMs = DEFAULT_INIT_QUEUE_TIMEOUT_MS;
+    private volatile boolean initialized;
+    private volatile FrequencyCap frequencyCap;
+    private volatile TraceBuffer traceBuffer;
+
+    public AdController(AdNetwork network, Clock clock, Scheduler scheduler, Random random,
+                        AdMetrics metrics, AdEventListener listener, AdLogger logger) {
+        this.network = network;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+        this.listener = listener;
+        this.logger = logger;
+        this.interstitialPool = new AdPool<>(DEFAULT_PRELOAD_DEPTH, clock, this::requestInterstitial);
+        this.rewardedPool = new AdPool<>(DEFAULT_PRELOAD_DEPTH, clock, this::requestRewarded);
+        this.interstitialPool.setExpiry(DEFAULT_AD_TTL_MS, DEFAULT_REFRESH_LEAD_MS);
+        this.rewardedPool.setExpiry(DEFAULT_AD_TTL_MS, DEFAULT_REFRESH_LEAD_MS);
+        this.appOpenPool = new AdPool<>(1, clock, this::requestAppOpen);
+        this.appOpenPool.setExpiry(DEFAULT_APP_OPEN_TTL_MS, DEFAULT_REFRESH_LEAD_MS);
+        this.retryScheduler = new RetryScheduler(RetryPolicy.DEFAULT, clock, scheduler, random);
+    }
+
+    public AdMetrics getMetrics() {
+        return metrics;
+    }
+
+    public RetryScheduler getRetryScheduler() {
+        return retryScheduler;
+    }
+
+    /**
+     * Enforce frequency caps on shows. Placements are capped by placement ID, the legacy
+     * showInterstitial() and showRewarded() calls by "interstitial" and "rewarded".
+     * @param frequencyCap Caps to enforce, or null to disable capping
+     */
+    public void setFrequencyCap(FrequencyCap frequencyCap) {
+        this.frequencyCap = frequencyCap;
+    }
+
+    public FrequencyCap getFrequencyCap() {
+        return frequencyCap;
+    }
+
+    /**
+     * Record each load request sent to the network and each ad handed over for showing
+     * @param traceBuffer Buffer to record into, or null to stop recording
+     */
+    public void setTraceBuffer(TraceBuffer traceBuffer) {
+        this.traceBuffer = traceBuffer;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Mark the ad SDK as initialized and run the load requests queued until now
+     */
+    public void onInitialized() {
+        initialized = true;
+        cancelPendingLoadExpiry();
+        List<PendingLoadQueue.Request> requests = pendingLoads.drain();
+        if (!requests.isEmpty() && logger.isDebugEnabled()) {
+            logger.d("Flushing " + requests.size() + " queued load requests");
+        }
+        for (PendingLoadQueue.Request request : requests) {
+            request.action.run();
+        }
+    }
+
+    /**
+     * Set how long load requests made before initialization completes are kept queued
+     */
+    public void setInitQueueTimeout(int timeoutMs) {
+        initQueueTimeoutMs = Math.max(0, timeoutMs);
+    }
+
+    /**
+     * Queue a load request until the ad SDK is initialized
+     * @param key Requests with the same key are merged into one
+     * @param action Runnable to re-run once initialization completes
+     * @param onTimeout Runnable reporting the failure if initialization does not complete in time
+     */
+    public void deferUntilInitialized(String key, Runnable action, Runnable onTimeout) {
+        boolean merged = pendingLoads.enqueue(key, action, onTimeout, clock.now() + initQueueTimeoutMs);
+        if (logger.isDebugEnabled()) {
+            logger.d((merged ? "Merged" : "Queued") + " load until AdMob is initialized: " + key);
+        }
+        schedulePendingLoadExpiry();
+    }
+
+    private void schedulePendingLoadExpiry() {
+        cancelPendingLoadExpiry();
+        long next = pendingLoads.nextDeadline();
+        if (next >= 0) {
+            pendingLoadExpiry = scheduler.schedule(expirePendingLoadsTask, Math.max(0, next - clock.now()));
+        }
+    }
+
+    private void cancelPendingLoadExpiry() {
+        if (pendingLoadExpiry != null) {
+            pendingLoadExpiry.cancel();
+            pendingLoadExpiry = null;
+        }
+    }
+
+    private final Runnable expirePendingLoadsTask = new Runnable() {
+        @Override
+        public void run() {
+            pendingLoadExpiry = null;
+            for (PendingLoadQueue.Request request : pendingLoads.expire(clock.now())) {
+                if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                    logger.e("Queued load timed out waiting for initialization: " + request.key);
+                }
+                request.onTimeout.run();
+            }
+            schedulePendingLoadExpiry();
+        }
+    };
+
+    /**
+     * Set how many interstitial and rewarded ads are kept preloaded per ad unit.
+     * Memory pressure and metered networks lower it temporarily.
+     * @return The depth actually applied, clamped to 1..MAX_PRELOAD_DEPTH
+     */
+    public int setPreloadDepth(int depth) {
+        int clamped = Math.max(1, Math.min(MAX_PRELOAD_DEPTH, depth));
+        preloadDepth = clamped;
+        applyPoolDepths();
+        if (logger.isDebugEnabled()) {
+            logger.d("Preload depth set to " + clamped);
+        }
+
+        if (initialized) {
+            if (interstitialAdUnitId != null) {
+                interstitialPool.fill(interstitialAdUnitId);
+            }
+            if (rewardedAdUnitId != null) {
+                rewardedPool.fill(rewardedAdUnitId);
+            }
+        }
+        return clamped;
+    }
+
+    /**
+     * Set how long loaded interstitial and rewarded ads stay valid. Ads past the TTL no longer
+     * count as loaded and are never shown; a replacement is loaded refreshLeadMs before that.
+     * Ready counts and shows use the new TTL at once; early reloads are scheduled for ads loaded
+     * from now on.
+     * @param ttlMs Time after loading at which an ad expires, 0 to never expire ads
+     * @param refreshLeadMs How long before expiry the replacement load starts
+     */
+    public void setAdExpiry(long ttlMs, long refreshLeadMs) {
+        interstitialPool.setExpiry(ttlMs, refreshLeadMs);
+        rewardedPool.setExpiry(ttlMs, refreshLeadMs);
+        if (logger.isDebugEnabled()) {
+            logger.d("Ad TTL set to " + interstitialPool.getTtlMs() + "ms, refresh lead "
+                    + interstitialPool.getRefreshLeadMs() + "ms");
+        }
+    }
+
+    /**
+     * Report memory pressure from the host. Raising the level shrinks the preload pools at once
+     * and releases the oldest ready ads beyond the new depth: moderate keeps one ad per unit,
+     * critical keeps none and holds preloads and refills, though an explicit load still fetches
+     * one ad. Lower reports are ignored; the level steps back down after MEMORY_RECOVERY_STEP_MS
+     * without a new report, and the pools refill.
+     */
+    public void onMemoryPressure(int level) {
+        level = Math.max(MEMORY_NORMAL, Math.min(MEMORY_CRITICAL, level));
+        if (level > MEMORY_NORMAL) {
+            if (memoryRecovery != null) {
+                memoryRecovery.cancel();
+            }
+            memoryRecovery = scheduler.schedule(memoryRecoveryTask, MEMORY_RECOVERY_STEP_MS);
+        }
+        if (level > memoryPressure) {
+            setMemoryPressure(level);
+        }
+    }
+
+    public int getMemoryPressure() {
+        return memoryPressure;
+    }
+
+    public static String memoryPressureName(int level) {
+        return level >= 0 && level < MEMORY_LEVEL_NAMES.length ? MEMORY_LEVEL_NAMES[level] : "unknown";
+    }
+
+    private final Runnable memoryRecoveryTask = new Runnable() {
+        @Override
+        public void run() {
+            memoryRecovery = null;
+            if (memoryPressure > MEMORY_NORMAL) {
+                setMemoryPressure(memoryPressure - 1);
+            }
+            if (memoryPressure > MEMORY_NORMAL) {
+                memoryRecovery = scheduler.schedule(this, MEMORY_RECOVERY_STEP_MS);
+            }
+        }
+    };
+
+    private void setMemoryPressure(int level) {
+        int previous = memoryPressure;
+        memoryPressure = level;
+        applyPoolDepths();
+        if (logger.isDebugEnabled()) {
+            logger.d("Memory pressure " + memoryPressureName(previous) + " -> " + memoryPressureName(level));
+        }
+
+        if (level > previous) {
+            evictBeyondDepth(PlacementRegistry.FORMAT_INTERSTITIAL, interstitialPool);
+            evictBeyondDepth(PlacementRegistry.FORMAT_REWARDED, rewardedPool);
+            evictBeyondDepth(PlacementRegistry.FORMAT_APP_OPEN, appOpenPool);
+        } else if (initialized) {
+            refillAll(interstitialPool);
+            refillAll(rewardedPool);
+            refillAll(appOpenPool);
+        }
+        listener.onAdEvent(AdEvent.MEMORY_PRESSURE_CHANGED, null, level, memoryPressureName(level));
+    }
+
+    /**
+     * Report the current network from the host. Preloads and retries are held while there is no
+     * network and flushed together when one comes back; metered networks preload at most
+     * METERED_PRELOAD_DEPTH ads per unit. Ads already loaded are kept.
+     * @param type One of the NETWORK_* classes
+     */
+    public void onNetworkChanged(int type, boolean metered) {
+        if (type < NETWORK_NONE || type > NETWORK_OTHER) {
+            type = NETWORK_OTHER;
+        }
+        metered = metered && type != NETWORK_NONE;
+        if (type == networkType && metered == networkMetered) {
+            return;
+        }
+        boolean depthGrew = networkMetered && !metered;
+        networkType = type;
+        networkMetered = metered;
+        if (logger.isDebugEnabled()) {
+            logger.d("Network changed: " + networkName(type) + (metered ? " (metered)" : ""));
+        }
+
+        applyPoolDepths();
+        applySuspension();
+        if (depthGrew && initialized && type != NETWORK_NONE) {
+            refillAll(interstitialPool);
+            refillAll(rewardedPool);
+        }
+        listener.onAdEvent(AdEvent.NETWORK_CHANGED, null, type, networkName(type), metered);
+    }
+
+    public int getNetworkType() {
+        return networkType;
+    }
+
+    public boolean isNetworkMetered() {
+        return networkMetered;
+    }
+
+    public static String networkName(int type) {
+        return type >= 0 && type < NETWORK_NAMES.length ? NETWORK_NAMES[type] : "unknown";
+    }
+
+    /**
+     * Hold refills and retries while the app is paused or offline, and flush them otherwise
+     */
+    private void applySuspension() {
+        boolean hold = paused || networkType == NETWORK_NONE;
+        if (hold) {
+            interstitialPool.setSuspended(true);
+            rewardedPool.setSuspended(true);
+            appOpenPool.setSuspended(true);
+            retryScheduler.suspend();
+        } else {
+            retryScheduler.resume();
+            interstitialPool.setSuspended(false);
+            rewardedPool.setSuspended(false);
+            appOpenPool.setSuspended(false);
+        }
+    }
+
+    /**
+     * Pool depths for the current memory pressure and network
+     */
+    private void applyPoolDepths() {
+        int level = memoryPressure;
+        int depth = level == MEMORY_NORMAL ? preloadDepth : level == MEMORY_MODERATE ? 1 : 0;
+        if (networkMetered) {
+            depth = Math.min(METERED_PRELOAD_DEPTH, depth);
+        }
+        interstitialPool.setDepth(depth);
+        rewardedPool.setDepth(depth);
+        appOpenPool.setDepth(Math.min(1, depth));
+    }
+
+    /**
+     * Release the oldest ready ads of every unit of the pool beyond its depth
+     */
+    private void evictBeyondDepth(String format, AdPool<FullScreenAd> pool) {
+        int metricsFormat = AdMetrics.formatFor(format);
+        for (String adUnitId : pool.getAdUnitIds()) {
+            int evicted = pool.evict(adUnitId, pool.getDepth());
+            for (int i = 0; i < evicted; i++) {
+                metrics.recordEvicted(metricsFormat, adUnitId);
+            }
+            if (evicted > 0 && logger.isDebugEnabled()) {
+                logger.d(evicted + " " + format + " ad(s) evicted for " + adUnitId);
+            }
+        }
+    }
+
+    private void refillAll(AdPool<FullScreenAd> pool) {
+        for (String adUnitId : pool.getAdUnitIds()) {
+            if (!retryScheduler.isCircuitOpen(adUnitId)) {
+                pool.fill(adUnitId);
+            }
+        }
+    }
+
+    public int getReadyCount(String adUnitId) {
+        return interstitialPool.getReadyCount(adUnitId) + rewardedPool.getReadyCount(adUnitId)
+                + appOpenPool.getReadyCount(adUnitId);
+    }
+
+    /**
+     * @return State name of each preload slot of the ad unit: interstitial, then rewarded,
+     *         then app-open slots
+     */
+    public String[] getAdSlotStates(String adUnitId) {
+        int[] interstitialStates = interstitialPool.getSlotStates(adUnitId);
+        int[] rewardedStates = rewardedPool.getSlotStates(adUnitId);
+        int[] appOpenStates = appOpenPool.getSlotStates(adUnitId);
+        String[] names = new String[interstitialStates.length + rewardedStates.length + appOpenStates.length];
+        int index = 0;
+        for (int state : interstitialStates) {
+            names[index++] = AdSlot.stateName(state);
+        }
+        for (int state : rewardedStates) {
+            names[index++] = AdSlot.stateName(state);
+        }
+        for (int state : appOpenStates) {
+            names[index++] = AdSlot.stateName(state);
+        }
+        return names;
+    }
+
+    /**
+     * @return A new ID to pass to a tracked load or show call. Safe to call from any thread.
+     */
+    public int newRequestId() {
+        return requests.nextId();
+    }
+
+    public void loadInterstitial(String adUnitId) {
+        loadInterstitial(adUnitId, RequestTracker.NONE);
+    }
+
+    /**
+     * @param requestId ID from newRequestId() reported with the load result, or RequestTracker.NONE
+     */
+    public void loadInterstitial(String adUnitId, int requestId) {
+        trackLoad(PlacementRegistry.FORMAT_INTERSTITIAL, null, adUnitId, requestId);
+        loadInterstitialUnit(adUnitId);
+    }
+
+    private void loadInterstitialUnit(final String adUnitId) {
+        if (!initialized) {
+            deferUntilInitialized("interstitial:" + adUnitId, () -> loadInterstitialUnit(adUnitId), () ->
+                    failLoad(PlacementRegistry.FORMAT_INTERSTITIAL, AdEvent.INTERSTITIAL_FAILED_TO_LOAD, adUnitId));
+            return;
+        }
+
+        interstitialAdUnitId = adUnitId;
+        loadUnit(PlacementRegistry.FORMAT_INTERSTITIAL, interstitialPool, adUnitId);
+    }
+
+    public void showInterstitial() {
+        showInterstitial(RequestTracker.NONE);
+    }
+
+    /**
+     * @param requestId ID from newRequestId() reported with every event of the show, or RequestTracker.NONE
+     */
+    public void showInterstitial(int requestId) {
+        show(PlacementRegistry.FORMAT_INTERSTITIAL, interstitialAdUnitId, null, clock.now(), requestId);
+    }
+
+    public boolean isInterstitialLoaded() {
+        return interstitialPool.getReadyCount(interstitialAdUnitId) > 0;
+    }
+
+    public void loadRewarded(String adUnitId) {
+        loadRewarded(adUnitId, RequestTracker.NONE);
+    }
+
+    public void loadRewarded(String adUnitId, int requestId) {
+        trackLoad(PlacementRegistry.FORMAT_REWARDED, null, adUnitId, requestId);
+        loadRewardedUnit(adUnitId);
+    }
+
+    private void loadRewardedUnit(final String adUnitId) {
+        if (!initialized) {
+            deferUntilInitialized("rewarded:" + adUnitId, () -> loadRewardedUnit(adUnitId), () ->
+                    failLoad(PlacementRegistry.FORMAT_REWARDED, AdEvent.REWARDED_AD_FAILED_TO_LOAD, adUnitId));
+            return;
+        }
+
+        rewardedAdUnitId = adUnitId;
+        loadUnit(PlacementRegistry.FORMAT_REWARDED, rewardedPool, adUnitId);
+    }
+
+    public void showRewarded() {
+        showRewarded(RequestTracker.NONE);
+    }
+
+    public void showRewarded(int requestId) {
+        show(PlacementRegistry.FORMAT_REWARDED, rewardedAdUnitId, null, clock.now(), requestId);
+    }
+
+    public boolean isRewardedLoaded() {
+        return rewardedPool.getReadyCount(rewardedAdUnitId) > 0;
+    }
+
+    /**
+     * Preload an app-open ad and keep it cached across background and foreground transitions
+     */
+    public void loadAppOpen(String adUnitId) {
+        loadAppOpen(adUnitId, RequestTracker.NONE);
+    }
+
+    public void loadAppOpen(String adUnitId, int requestId) {
+        trackLoad(PlacementRegistry.FORMAT_APP_OPEN, null, adUnitId, requestId);
+        loadAppOpenUnit(adUnitId);
+    }
+
+    private void loadAppOpenUnit(final String adUnitId) {
+        if (!initialized) {
+            deferUntilInitialized("app_open:" + adUnitId, () -> loadAppOpenUnit(adUnitId), () ->
+                    failLoad(PlacementRegistry.FORMAT_APP_OPEN, AdEvent.APP_OPEN_FAILED_TO_LOAD, adUnitId));
+            appOpenAdUnitId = adUnitId;
+            return;
+        }
+
+        appOpenAdUnitId = adUnitId;
+        loadUnit(PlacementRegistry.FORMAT_APP_OPEN, appOpenPool, adUnitId);
+    }
+
+    /**
+     * Start filling the unit's pool, and complete tracked loads at once if an ad is already ready.
+     * An explicit load fetches one ad even while memory pressure holds automatic preloads.
+     */
+    private void loadUnit(String format, AdPool<FullScreenAd> pool, String adUnitId) {
+        retryScheduler.onRequested(adUnitId);
+        pool.fill(adUnitId, 1);
+        if (pool.getReadyCount(adUnitId) > 0) {
+            completeLoads(RequestTracker.unitKey(format, adUnitId), AdEvent.REQUEST_LOADED, 0, null);
+        }
+    }
+
+    /**
+     * Report a load that timed out waiting for initialization
+     */
+    private void failLoad(String format, int failedEvent, String adUnitId) {
+        listener.onAdEvent(failedEvent, adUnitId, AdEvent.CODE_NONE, INIT_TIMEOUT_MESSAGE);
+        completeLoads(RequestTracker.unitKey(format, adUnitId), AdEvent.REQUEST_FAILED_TO_LOAD,
+                AdEvent.CODE_NONE, INIT_TIMEOUT_MESSAGE);
+    }
+
+    public boolean isAppOpenLoaded() {
+        return appOpenPool.getReadyCount(appOpenAdUnitId) > 0;
+    }
+
+    /**
+     * Set how long after a launch or foreground an app-open ad may still be shown
+     */
+    public void setAppOpenBudget(int budgetMs) {
+        appOpenBudgetMs = Math.max(0, budgetMs);
+    }
+
+    /**
+     * Show an app-open ad, within the budget, whenever the app returns to the foreground.
+     * Returning from a full-screen ad does not count.
+     */
+    public void setAppOpenOnForeground(boolean enabled) {
+        appOpenOnForeground = enabled;
+    }
+
+    /**
+     * Ask the game to suspend rendering and audio from each full-screen show call until the ad
+     * is dismissed or fails to show, through RENDERING_SUSPENDED and RENDERING_RESUMED
+     */
+    public void setPauseRenderingDuringAds(boolean enabled) {
+        pauseRenderingDuringAds = enabled;
+    }
+
+    public boolean isPauseRenderingDuringAds() {
+        return pauseRenderingDuringAds;
+    }
+
+    /**
+     * Show the cached app-open ad now, or report a skip if none is ready
+     */
+    public void showAppOpen() {
+        showAppOpen(RequestTracker.NONE);
+    }
+
+    public void showAppOpen(int requestId) {
+        // A pending launch wait is superseded and reports its skip like a timeout would
+        long waitingSince = appOpenOpenedAt;
+        RequestTracker.Request waiting = appOpenRequest;
+        cancelAppOpenWait();
+        if (waitingSince >= 0) {
+            skipAppOpen(SKIP_REJECTED, clock.now() - waitingSince, waiting);
+        }
+        showAppOpen(clock.now(), appOpenRequest(requestId));
+    }
+
+    /**
+     * Show an app-open ad for a launch or foreground that happened at openedAt: immediately if one
+     * is ready, otherwise as soon as one loads, but no later than the budget after openedAt.
+     * Exactly one of app_open_shown or app_open_skipped reports the outcome and the time it cost.
+     */
+    public void showAppOpenWithin(long openedAt) {
+        showAppOpenWithin(openedAt, RequestTracker.NONE);
+    }
+
+    public void showAppOpenWithin(long openedAt, int requestId) {
+        RequestTracker.Request request = appOpenRequest(requestId);
+        // Already waiting for an earlier launch or foreground, which reports the outcome
+        if (appOpenOpenedAt >= 0) {
+            emitRequest(AdEvent.REQUEST_FAILED_TO_SHOW, request, AdEvent.CODE_NONE, SKIP_REJECTED);
+            return;
+        }
+        long waited = clock.now() - openedAt;
+        if (showingSlot.get() != null) {
+            skipAppOpen(SKIP_REJECTED, waited, request);
+        } else if (appOpenPool.getReadyCount(appOpenAdUnitId) > 0) {
+            showAppOpen(openedAt, request);
+        } else if (appOpenAdUnitId == null) {
+            skipAppOpen(SKIP_NOT_LOADED, waited, request);
+        } else if (waited >= appOpenBudgetMs) {
+            skipAppOpen(SKIP_TIMEOUT, waited, request);
+        } else {
+            if (logger.isDebugEnabled()) {
+                logger.d("Waiting up to " + (appOpenBudgetMs - waited) + "ms for an app-open ad");
+            }
+            appOpenOpenedAt = openedAt;
+            appOpenRequest = request;
+            appOpenTimeout = scheduler.schedule(appOpenTimeoutTask, appOpenBudgetMs - waited);
+        }
+    }
+
+    private final Runnable appOpenTimeoutTask = new Runnable() {
+        @Override
+        public void run() {
+            appOpenTimeout = null;
+            long openedAt = appOpenOpenedAt;
+            RequestTracker.Request request = appOpenRequest;
+            appOpenOpenedAt = -1;
+            appOpenRequest = null;
+            if (openedAt >= 0) {
+                skipAppOpen(SKIP_TIMEOUT, clock.now() - openedAt, request);
+            }
+        }
+    };
+
+    private void cancelAppOpenWait() {
+        appOpenOpenedAt = -1;
+        appOpenRequest = null;
+        if (appOpenTimeout != null) {
+            appOpenTimeout.cancel();
+            appOpenTimeout = null;
+        }
+    }
+
+    private RequestTracker.Request appOpenRequest(int requestId) {
+        return requestId != RequestTracker.NONE
+                ? new RequestTracker.Request(requestId, PlacementRegistry.FORMAT_APP_OPEN, null, appOpenAdUnitId)
+                : null;
+    }
+
+    private void showAppOpen(long openedAt, RequestTracker.Request request) {
+        cancelAppOpenWait();
+        if (appOpenPool.getReadyCount(appOpenAdUnitId) == 0) {
+            skipAppOpen(SKIP_NOT_LOADED, clock.now() - openedAt, request);
+        } else if (!show(PlacementRegistry.FORMAT_APP_OPEN, appOpenAdUnitId, null, openedAt, request)) {
+            skipAppOpen(SKIP_REJECTED, clock.now() - openedAt, request);
+        }
+    }
+
+    private void skipAppOpen(String reason, long waitedMs, RequestTracker.Request request) {
+        String adUnitId = appOpenAdUnitId;
+        if (adUnitId != null) {
+            metrics.recordSkip(AdMetrics.FORMAT_APP_OPEN, adUnitId, waitedMs);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.d("App-open ad skipped (" + reason + ") after " + waitedMs + "ms");
+        }
+        int waited = (int) Math.min(Integer.MAX_VALUE, waitedMs);
+        listener.onAdEvent(AdEvent.APP_OPEN_SKIPPED, adUnitId, waited, reason, waited);
+        emitRequest(AdEvent.REQUEST_FAILED_TO_SHOW, request, waited, reason);
+    }
+
+    /**
+     * Register a named placement bound to a full-screen format and ad unit
+     * @param format "interstitial" or "rewarded", case-insensitive
+     * @return false if the format is not supported
+     */
+    public boolean registerPlacement(String placementId, String format, String adUnitId) {
+        return registerPlacement(placementId, format, new String[]{adUnitId},
+                PlacementRegistry.MODE_WATERFALL, 1);
+    }
+
+    /**
+     * Register a named placement backed by several ad units (tiers), best ranked first.
+     * Every fill stays in its unit's preload pool; shows use the best ranked ready tier.
+     * @param format "interstitial" or "rewarded", case-insensitive
+     * @param mode PlacementRegistry.MODE_WATERFALL to request one tier at a time and fall through
+     *             on no-fill, or MODE_HEDGED to request hedgeWidth tiers at once
+     * @return false if the format is not supported or no ad unit is given
+     */
+    public boolean registerPlacement(String placementId, String format, String[] adUnitIds,
+                                     int mode, int hedgeWidth) {
+        String normalizedFormat = format.toLowerCase();
+        if (!PlacementRegistry.isSupportedFormat(normalizedFormat)) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Unsupported placement format: " + format);
+            }
+            return false;
+        }
+        if (adUnitIds == null || adUnitIds.length == 0) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("No ad unit given for placement: " + placementId);
+            }
+            return false;
+        }
+        placementRegistry.register(placementId, normalizedFormat, adUnitIds.clone(), mode, hedgeWidth);
+        if (logger.isDebugEnabled()) {
+            logger.d("Placement registered: " + placementId + " -> " + String.join(", ", adUnitIds));
+        }
+        return true;
+    }
+
+    public void loadPlacement(String placementId) {
+        loadPlacement(placementId, RequestTracker.NONE);
+    }
+
+    public void loadPlacement(String placementId, int requestId) {
+        PlacementRegistry.Placement placement = placementRegistry.get(placementId);
+        trackLoad(placement != null ? placement.format : null, placementId, null, requestId);
+        loadPlacementTiers(placementId);
+    }
+
+    private void loadPlacementTiers(final String placementId) {
+        PlacementRegistry.Placement placement = placementRegistry.get(placementId);
+        if (placement == null) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Placement not registered: " + placementId);
+            }
+            onPlacementLoadFailed(placementId, AdEvent.CODE_NONE, "Placement not registered");
+            return;
+        }
+
+        if (!initialized) {
+            deferUntilInitialized("placement:" + placementId, () -> loadPlacementTiers(placementId), () ->
+                    onPlacementLoadFailed(placementId, AdEvent.CODE_NONE, INIT_TIMEOUT_MESSAGE));
+            return;
+        }
+
+        placement.loadRequested = true;
+        AdPool<FullScreenAd> pool = getPool(placement.format);
+        if (bestReadyTier(placement, pool) >= 0) {
+            onPlacementLoaded(placementId);
+        }
+        requestTiers(placement, pool, 0, 1);
+    }
+
+    private void onPlacementLoaded(String placementId) {
+        listener.onAdEvent(AdEvent.PLACEMENT_LOADED, placementId, 0, placementId);
+        completeLoads(RequestTracker.placementKey(placementId), AdEvent.REQUEST_LOADED, 0, null);
+    }
+
+    private void onPlacementLoadFailed(String placementId, int errorCode, String message) {
+        listener.onAdEvent(AdEvent.PLACEMENT_FAILED_TO_LOAD, placementId, errorCode, placementId, message);
+        completeLoads(RequestTracker.placementKey(placementId), AdEvent.REQUEST_FAILED_TO_LOAD, errorCode, message);
+    }
+
+    /**
+     * Start loading the next batch of a placement's tiers: one tier in waterfall mode,
+     * hedgeWidth tiers in hedged mode
+     * @param minDepth 1 for an explicit load, which fetches an ad even while preloads are held
+     */
+    private void requestTiers(PlacementRegistry.Placement placement, AdPool<FullScreenAd> pool, int firstTier,
+                              int minDepth) {
+        int end = Math.min(placement.adUnitIds.length, firstTier + placement.hedgeWidth);
+        placement.batchStart = firstTier;
+        placement.nextTier = end;
+        placement.inFlight = end - firstTier;
+        for (int tier = firstTier; tier < end; tier++) {
+            String adUnitId = placement.adUnitIds[tier];
+            retryScheduler.onRequested(adUnitId);
+            pool.fill(adUnitId, minDepth);
+        }
+    }
+
+    /**
+     * @return Best ranked tier of the placement with a ready ad, or -1 if none is ready
+     */
+    private static int bestReadyTier(PlacementRegistry.Placement placement, AdPool<FullScreenAd> pool) {
+        for (int tier = 0; tier < placement.adUnitIds.length; tier++) {
+            if (pool.getReadyCount(placement.adUnitIds[tier]) > 0) {
+                return tier;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Account for a failed load of one of a placement's tiers, and fall through to the next
+     * tiers once every tier of the current batch came back empty. Failures of tiers below the
+     * current batch are late retries and are always absorbed.
+     * @return true if the failure is absorbed by the tier cascade and must not be reported
+     */
+    private boolean onTierFailed(PlacementRegistry.Placement placement, AdPool<FullScreenAd> pool,
+                                 String adUnitId, boolean isNoFill) {
+        if (!placement.isTiered()) {
+            return false;
+        }
+        if (bestReadyTier(placement, pool) >= 0) {
+            return true;
+        }
+        int tier = placement.tierOf(adUnitId);
+        if (tier >= 0 && tier < placement.batchStart) {
+            // A retry of a tier the cascade already fell through, whose outcome was accounted for
+            return true;
+        }
+        if (tier < 0 || tier >= placement.nextTier) {
+            return false;
+        }
+        if (--placement.inFlight > 0) {
+            return true;
+        }
+        if (isNoFill && placement.nextTier < placement.adUnitIds.length) {
+            if (logger.isDebugEnabled()) {
+                logger.d("No fill for tier " + tier + " of " + placement.id + ", trying tier " + placement.nextTier);
+            }
+            requestTiers(placement, pool, placement.nextTier, 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Per-tier state of a placement: ad unit, ready count and the unit's load metrics
+     * @return One map per tier, best ranked first, or an empty list if the placement is not registered
+     */
+    public List<Map<String, Object>> getPlacementTiers(String placementId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        PlacementRegistry.Placement placement = placementRegistry.get(placementId);
+        if (placement == null) {
+            return result;
+        }
+        AdPool<FullScreenAd> pool = getPool(placement.format);
+        int metricsFormat = AdMetrics.formatFor(placement.format);
+        for (int tier = 0; tier < placement.adUnitIds.length; tier++) {
+            String adUnitId = placement.adUnitIds[tier];
+            Map<String, Object> entry = new HashMap<>();
+            Map<String, Object> unitMetrics = metrics.snapshot(metricsFormat, adUnitId);
+            if (unitMetrics != null) {
+                entry.putAll(unitMetrics);
+            }
+            entry.put("tier", tier);
+            entry.put("ad_unit_id", adUnitId);
+            entry.put("ready", pool.getReadyCount(adUnitId));
+            result.add(entry);
+        }
+        return result;
+    }
+
+    public void showPlacement(String placementId) {
+        showPlacement(placementId, RequestTracker.NONE);
+    }
+
+    public void showPlacement(String placementId, int requestId) {
+        PlacementRegistry.Placement placement = placementRegistry.get(placementId);
+        if (placement == null) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Placement not registered: " + placementId);
+            }
+            listener.onAdEvent(AdEvent.PLACEMENT_FAILED_TO_SHOW, placementId, AdEvent.CODE_NONE,
+                    placementId, "Placement not registered");
+            if (requestId != RequestTracker.NONE) {
+                emitRequest(AdEvent.REQUEST_FAILED_TO_SHOW, new RequestTracker.Request(requestId, null,
+                        placementId, null), AdEvent.CODE_NONE, "Placement not registered");
+            }
+            return;
+        }
+        AdPool<FullScreenAd> pool = getPool(placement.format);
+        int tier = Math.max(0, bestReadyTier(placement, pool));
+        show(placement.format, placement.adUnitIds[tier], placementId, clock.now(), requestId);
+
+        // The shown tier refills itself; restart the cascade so better ranked tiers get another try
+        if (tier > 0 && placement.loadRequested) {
+            requestTiers(placement, pool, 0, 0);
+        }
+    }
+
+    public boolean isPlacementLoaded(String placementId) {
+        PlacementRegistry.Placement placement = placementRegistry.get(placementId);
+        return placement != null && bestReadyTier(placement, getPool(placement.format)) >= 0;
+    }
+
+    /**
+     * Unregister a placement and release its preloaded ads if no other placement uses the ad unit
+     */
+    public void destroyPlacement(String placementId) {
+        PlacementRegistry.Placement placement = placementRegistry.remove(placementId);
+        if (placement == null) {
+            return;
+        }
+
+        for (String adUnitId : placement.adUnitIds) {
+            boolean isLegacyUnit = adUnitId.equals(interstitialAdUnitId) || adUnitId.equals(rewardedAdUnitId);
+            if (!isLegacyUnit && !placementRegistry.isAdUnitInUse(adUnitId)) {
+                getPool(placement.format).discard(adUnitId);
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.d("Placement destroyed: " + placementId);
+        }
+    }
+
+    /**
+     * Hold refills and retries while the app is in the background
+     */
+    public void pause() {
+        paused = true;
+        applySuspension();
+        // A full-screen ad covering the app pauses it too; coming back from it is no app open
+        pausedForFullScreenAd = showingSlot.get() != null;
+    }
+
+    public void resume() {
+        boolean returnedToForeground = paused && !pausedForFullScreenAd;
+        paused = false;
+        applySuspension();
+        if (returnedToForeground && appOpenOnForeground && appOpenAdUnitId != null) {
+            showAppOpenWithin(clock.now());
+        }
+    }
+
+    /**
+     * Drop every queued request, pending retry, preloaded ad and placement
+     */
+    public void destroy() {
+        cancelPendingLoadExpiry();
+        pendingLoads.clear();
+        retryScheduler.clear();
+        interstitialPool.clear();
+        rewardedPool.clear();
+        appOpenPool.clear();
+        cancelAppOpenWait();
+        requests.clear();
+        if (memoryRecovery != null) {
+            memoryRecovery.cancel();
+            memoryRecovery = null;
+        }
+        placementRegistry.clear();
+        showingSlot.set(null);
+        renderingSuspendedAt = -1;
+    }
+
+    private void requestInterstitial(AdSlot<FullScreenAd> slot) {
+        request(PlacementRegistry.FORMAT_INTERSTITIAL, interstitialPool, slot);
+    }
+
+    private void requestRewarded(AdSlot<FullScreenAd> slot) {
+        request(PlacementRegistry.FORMAT_REWARDED, rewardedPool, slot);
+    }
+
+    private void requestAppOpen(AdSlot<FullScreenAd> slot) {
+        request(PlacementRegistry.FORMAT_APP_OPEN, appOpenPool, slot);
+    }
+
+    /**
+     * Issue a single load on behalf of a preload pool
+     */
+    private void request(String format, final AdPool<FullScreenAd> pool, final AdSlot<FullScreenAd> slot) {
+        final String adUnitId = slot.adUnitId;
+        final String label = labelFor(format);
+        final int metricsFormat = AdMetrics.formatFor(format);
+
+        metrics.recordRequest(metricsFormat, adUnitId);
+        trace(TraceBuffer.LOAD_STARTED, adUnitId);
+
+        network.load(format, adUnitId, new AdNetwork.LoadCallback() {
+            @Override
+            public void onLoaded(FullScreenAd ad) {
+                if (!pool.onLoaded(slot, ad)) {
+                    return;
+                }
+                metrics.recordFill(metricsFormat, adUnitId, slot.loadedAt - slot.loadStartedAt);
+                retryScheduler.onSuccess(adUnitId);
+                scheduleExpiry(format, pool, slot);
+                if (memoryPressure > MEMORY_NORMAL) {
+                    // Load started before the pressure report: keep it, release older ads
+                    int evicted = pool.evict(adUnitId, Math.max(1, pool.getDepth()));
+                    for (int i = 0; i < evicted; i++) {
+                        metrics.recordEvicted(metricsFormat, adUnitId);
+                    }
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.d(label + " ad loaded, ready: " + pool.getReadyCount(adUnitId));
+                }
+                listener.onAdEvent(loadedEventFor(format), adUnitId, 0);
+                completeLoads(RequestTracker.unitKey(format, adUnitId), AdEvent.REQUEST_LOADED, 0, null);
+                if (appOpenOpenedAt >= 0 && pool == appOpenPool) {
+                    showAppOpen(appOpenOpenedAt, appOpenRequest);
+                }
+                for (PlacementRegistry.Placement placement : placementRegistry.requestedFor(format, adUnitId)) {
+                    int tier = placement.tierOf(adUnitId);
+                    if (tier >= placement.batchStart && tier < placement.nextTier && placement.inFlight > 0) {
+                        placement.inFlight--;
+                    }
+                    onPlacementLoaded(placement.id);
+                }
+            }
+
+            @Override
+            public void onFailed(int errorCode, String message) {
+                if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                    logger.e(label + " ad failed to load: " + message);
+                }
+                boolean isNoFill = errorCode == AdNetwork.ERROR_CODE_NO_FILL;
+                metrics.recordFailure(metricsFormat, adUnitId, errorCode, isNoFill,
+                        clock.now() - slot.loadStartedAt);
+                pool.onFailed(slot);
+                scheduleRetry(pool, adUnitId, isNoFill);
+                listener.onAdEvent(failedEventFor(format), adUnitId, errorCode, message);
+                completeLoads(RequestTracker.unitKey(format, adUnitId), AdEvent.REQUEST_FAILED_TO_LOAD,
+                        errorCode, message);
+                for (PlacementRegistry.Placement placement : placementRegistry.requestedFor(format, adUnitId)) {
+                    if (!onTierFailed(placement, pool, adUnitId, isNoFill)) {
+                        onPlacementLoadFailed(placement.id, errorCode, message);
+                    }
+                }
+            }
+        });
+
+        if (logger.isDebugEnabled()) {
+            logger.d("Loading " + format + " ad with ID: " + adUnitId);
+        }
+    }
+
+    /**
+     * Schedule a pool refill after a failed load, following the retry policy
+     */
+    private void scheduleRetry(final AdPool<FullScreenAd> pool, final String adUnitId, boolean isNoFill) {
+        long delay = retryScheduler.onFailure(adUnitId, isNoFill, () -> pool.fill(adUnitId));
+        if (delay >= 0) {
+            RetryScheduler.State state = retryScheduler.getState(adUnitId);
+            if (logger.isDebugEnabled()) {
+                logger.d("Retrying " + adUnitId + " in " + delay + "ms (attempt " + state.attempts + ")");
+            }
+            listener.onAdEvent(AdEvent.LOAD_RETRY_SCHEDULED, adUnitId, (int) delay,
+                    adUnitId, state.attempts, (int) delay);
+        } else if (retryScheduler.isCircuitOpen(adUnitId)) {
+            if (logger.isLoggable(AdLogger.LEVEL_WARN)) {
+                logger.w("Repeated no-fill for " + adUnitId + ", retries suspended");
+            }
+        }
+    }
+
+    /**
+     * Schedule the early replacement load and the expiry of an ad that was just loaded
+     */
+    private void scheduleExpiry(final String format, final AdPool<FullScreenAd> pool,
+                                final AdSlot<FullScreenAd> slot) {
+        long ttl = pool.getTtlMs();
+        if (ttl <= 0) {
+            return;
+        }
+        final String adUnitId = slot.adUnitId;
+        Scheduler.Task refresh = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (slot.getState() == AdSlot.READY && pool.contains(adUnitId)
+                        && !retryScheduler.isCircuitOpen(adUnitId)) {
+                    pool.fill(adUnitId);
+                }
+            }
+        }, ttl - pool.getRefreshLeadMs());
+        Scheduler.Task expiry = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (expireStale(format, pool, adUnitId) > 0) {
+                    pool.fill(adUnitId);
+                }
+            }
+        }, ttl);
+        // Cancelled when the ad is shown, expires, is evicted or its pool is discarded
+        slot.setTimers(refresh, expiry);
+    }
+
+    /**
+     * Move stale ads of the unit to EXPIRED and count them in the metrics
+     * @return Number of ads expired
+     */
+    private int expireStale(String format, AdPool<FullScreenAd> pool, String adUnitId) {
+        int expired = pool.expire(adUnitId);
+        if (expired > 0) {
+            int metricsFormat = AdMetrics.formatFor(format);
+            for (int i = 0; i < expired; i++) {
+                metrics.recordExpired(metricsFormat, adUnitId);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.d(expired + " " + format + " ad(s) expired for " + adUnitId);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Make a tracked load wait for the next result of its placement or ad unit
+     */
+    private void trackLoad(String format, String placementId, String adUnitId, int requestId) {
+        if (requestId == RequestTracker.NONE) {
+            return;
+        }
+        String key = placementId != null ? RequestTracker.placementKey(placementId)
+                : RequestTracker.unitKey(format, adUnitId);
+        requests.waitForLoad(key, new RequestTracker.Request(requestId, format, placementId, adUnitId));
+    }
+
+    private void completeLoads(String key, int type, int code, String message) {
+        List<RequestTracker.Request> waiting = requests.takeLoadWaiters(key);
+        if (waiting == null) {
+            return;
+        }
+        for (RequestTracker.Request request : waiting) {
+            emitRequest(type, request, code, message);
+        }
+    }
+
+    /**
+     * Report a REQUEST_* event of a tracked call. Untracked calls pass a null request.
+     */
+    private void emitRequest(int type, RequestTracker.Request request, int code, String message) {
+        if (request == null) {
+            return;
+        }
+        String placementId = request.placementId != null ? request.placementId : "";
+        String adUnitId = request.adUnitId != null ? request.adUnitId : "";
+        listener.onAdEvent(type, request.placementId != null ? placementId : adUnitId, request.id,
+                request.id, AdEvent.requestEventName(type), request.format != null ? request.format : "",
+                placementId, adUnitId, code, message != null ? message : "");
+    }
+
+    private AdPool<FullScreenAd> getPool(String format) {
+        if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+            return rewardedPool;
+        }
+        return PlacementRegistry.FORMAT_APP_OPEN.equals(format) ? appOpenPool : interstitialPool;
+    }
+
+    private static String labelFor(String format) {
+        if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+            return "Rewarded";
+        }
+        return PlacementRegistry.FORMAT_APP_OPEN.equals(format) ? "App-open" : "Interstitial";
+    }
+
+    private static int loadedEventFor(String format) {
+        if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+            return AdEvent.REWARDED_AD_LOADED;
+        }
+        return PlacementRegistry.FORMAT_APP_OPEN.equals(format) ? AdEvent.APP_OPEN_LOADED : AdEvent.INTERSTITIAL_LOADED;
+    }
+
+    private static int failedEventFor(String format) {
+        if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+            return AdEvent.REWARDED_AD_FAILED_TO_LOAD;
+        }
+        return PlacementRegistry.FORMAT_APP_OPEN.equals(format) ? AdEvent.APP_OPEN_FAILED_TO_LOAD
+                : AdEvent.INTERSTITIAL_FAILED_TO_LOAD;
+    }
+
+    /**
+     * Take a ready ad from the pool and show it.
+     * Rejected if the frequency cap is reached, no ad is ready or another full-screen ad is
+     * already showing. App-open rejections are reported by the caller as skips.
+     * @param placementId Placement to report in events, or null for the legacy events
+     * @param showRequestedAt Start of the time-to-show measurement
+     * @return true if the ad is being shown
+     */
+    private boolean show(String format, String adUnitId, String placementId, long showRequestedAt, int requestId) {
+        RequestTracker.Request request = requestId != RequestTracker.NONE
+                ? new RequestTracker.Request(requestId, format, placementId, adUnitId)
+                : null;
+        return show(format, adUnitId, placementId, showRequestedAt, request);
+    }
+
+    private boolean show(String format, String adUnitId, String placementId, long showRequestedAt,
+                         RequestTracker.Request request) {
+        String label = labelFor(format);
+
+        if (!network.canShow()) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Activity is null during " + format + " show");
+            }
+            if (!PlacementRegistry.FORMAT_APP_OPEN.equals(format)) {
+                emitRequest(AdEvent.REQUEST_FAILED_TO_SHOW, request, AdEvent.CODE_NONE, "Activity is null");
+            }
+            return false;
+        }
+
+        String capKey = placementId != null ? placementId : format;
+        FrequencyCap cap = frequencyCap;
+        int capReason = cap != null ? cap.check(capKey) : FrequencyCap.REASON_NONE;
+        if (capReason != FrequencyCap.REASON_NONE) {
+            String reason = FrequencyCap.reasonName(capReason);
+            int waitMs = (int) Math.min(Integer.MAX_VALUE, cap.getWaitMs(capKey));
+            if (logger.isDebugEnabled()) {
+                logger.d(label + " ad capped for " + capKey + " (" + reason + "), next show in " + waitMs + "ms");
+            }
+            listener.onAdEvent(AdEvent.PLACEMENT_CAPPED, capKey, waitMs, capKey, reason, waitMs);
+            dispatchShowFailure(format, placementId, AdEvent.CODE_NONE, "Frequency cap reached: " + reason, request);
+            return false;
+        }
+
+        if (showingSlot.get() != null) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e(label + " ad rejected, a full-screen ad is already showing");
+            }
+            dispatchShowFailure(format, placementId, AdEvent.CODE_NONE, "A full-screen ad is already showing",
+                    request);
+            return false;
+        }
+
+        AdPool<FullScreenAd> pool = getPool(format);
+        expireStale(format, pool, adUnitId);
+        AdSlot<FullScreenAd> slot = pool.take(adUnitId);
+        if (slot != null && showingSlot.compareAndSet(null, slot)) {
+            suspendRendering(slot.adUnitId);
+            trace(TraceBuffer.SHOW_STARTED, slot.adUnitId);
+            slot.getAd().show(createShowListener(format, placementId, capKey, pool, slot, showRequestedAt, request));
+            if (logger.isDebugEnabled()) {
+                logger.d("Showing " + format + " ad");
+            }
+            return true;
+        }
+
+        if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+            logger.e(label + " ad not ready");
+        }
+        dispatchShowFailure(format, placementId, AdEvent.CODE_NONE, label + " ad not loaded", request);
+        return false;
+    }
+
+    private void dispatchShowFailure(String format, String placementId, int errorCode, String message,
+                                     RequestTracker.Request request) {
+        if (PlacementRegistry.FORMAT_APP_OPEN.equals(format)) {
+            return;
+        }
+        emitRequest(AdEvent.REQUEST_FAILED_TO_SHOW, request, errorCode, message);
+        if (placementId != null) {
+            listener.onAdEvent(AdEvent.PLACEMENT_FAILED_TO_SHOW, placementId, errorCode, placementId, message);
+        } else {
+            listener.onAdEvent(AdEvent.AD_FAILED_TO_LOAD, null, errorCode, message);
+        }
+    }
+
+    /**
+     * Hand a shown slot back to its pool and clear the full-screen guard
+     */
+    private void finishShowing(int metricsFormat, AdPool<?> pool, AdSlot<?> slot) {
+        pool.release(slot);
+        showingSlot.compareAndSet(slot, null);
+        resumeRendering(metricsFormat, slot.adUnitId);
+    }
+
+    private void trace(int type, String adUnitId) {
+        TraceBuffer buffer = traceBuffer;
+        if (buffer != null) {
+            buffer.record(type, adUnitId, 0, clock.now());
+        }
+    }
+
+    private void suspendRendering(String adUnitId) {
+        if (!pauseRenderingDuringAds) {
+            return;
+        }
+        renderingSuspendedAt = clock.now();
+        listener.onAdEvent(AdEvent.RENDERING_SUSPENDED, adUnitId, 0);
+    }
+
+    private void resumeRendering(int metricsFormat, String adUnitId) {
+        if (renderingSuspendedAt < 0) {
+            return;
+        }
+        long suspendedMs = clock.now() - renderingSuspendedAt;
+        renderingSuspendedAt = -1;
+        metrics.recordSuspended(metricsFormat, adUnitId, suspendedMs);
+        int elapsed = (int) Math.min(Integer.MAX_VALUE, suspendedMs);
+        if (logger.isDebugEnabled()) {
+            logger.d("Rendering resumed after " + elapsed + "ms");
+        }
+        listener.onAdEvent(AdEvent.RENDERING_RESUMED, adUnitId, elapsed, elapsed);
+    }
+
+    private FullScreenAd.Listener createShowListener(final String format, final String placementId,
+                                                     final String capKey, final AdPool<?> pool, final AdSlot<?> slot,
+                                                     final long showRequestedAt, final RequestTracker.Request request) {
+        final String label = labelFor(format);
+        final int metricsFormat = AdMetrics.formatFor(format);
+        final boolean isAppOpen = PlacementRegistry.FORMAT_APP_OPEN.equals(format);
+        return new FullScreenAd.Listener() {
+            @Override
+            public void onShowed() {
+                if (logger.isDebugEnabled()) {
+                    logger.d(label + " ad showed");
+                }
+                long now = clock.now();
+                metrics.recordShow(metricsFormat, slot.adUnitId, now - showRequestedAt,
+                        showRequestedAt - slot.loadedAt);
+                FrequencyCap cap = frequencyCap;
+                if (cap != null) {
+                    cap.recordShow(capKey);
+                }
+                if (isAppOpen) {
+                    int cost = (int) Math.min(Integer.MAX_VALUE, now - showRequestedAt);
+                    listener.onAdEvent(AdEvent.APP_OPEN_SHOWN, slot.adUnitId, cost, cost);
+                }
+                dispatch(AdEvent.PLACEMENT_OPENED, AdEvent.AD_OPENED);
+                emitRequest(AdEvent.REQUEST_OPENED, request, 0, null);
+            }
+
+            @Override
+            public void onFailedToShow(int errorCode, String message) {
+                if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                    logger.e(label + " ad failed to show: " + message);
+                }
+                finishShowing(metricsFormat, pool, slot);
+                if (isAppOpen) {
+                    skipAppOpen(SKIP_FAILED_TO_SHOW, clock.now() - showRequestedAt, request);
+                } else {
+                    dispatchShowFailure(format, placementId, errorCode, message, request);
+                }
+            }
+
+            @Override
+            public void onDismissed() {
+                if (logger.isDebugEnabled()) {
+                    logger.d(label + " ad dismissed");
+                }
+                finishShowing(metricsFormat, pool, slot);
+                dispatch(AdEvent.PLACEMENT_CLOSED, AdEvent.AD_CLOSED);
+                emitRequest(AdEvent.REQUEST_CLOSED, request, 0, null);
+            }
+
+            @Override
+            public void onImpression() {
+                if (logger.isDebugEnabled()) {
+                    logger.d(label + " ad impression recorded");
+                }
+                dispatch(AdEvent.PLACEMENT_IMPRESSION, AdEvent.AD_IMPRESSION);
+                emitRequest(AdEvent.REQUEST_IMPRESSION, request, 0, null);
+            }
+
+            @Override
+            public void onClicked() {
+                if (logger.isDebugEnabled()) {
+                    logger.d(label + " ad clicked");
+                }
+                dispatch(AdEvent.PLACEMENT_CLICKED, AdEvent.AD_CLICKED);
+                emitRequest(AdEvent.REQUEST_CLICKED, request, 0, null);
+            }
+
+            @Override
+            public void onRewarded(String type, int amount) {
+                if (logger.isDebugEnabled()) {
+                    logger.d("User earned reward: " + amount + " " + type);
+                }
+                if (placementId != null) {
+                    listener.onAdEvent(AdEvent.PLACEMENT_REWARDED, placementId, amount, placementId, type, amount);
+                } else {
+                    listener.onAdEvent(AdEvent.REWARDED, null, amount, type, amount);
+                }
+                emitRequest(AdEvent.REQUEST_REWARDED, request, amount, type);
+            }
+
+            private void dispatch(int placementEvent, int legacyEvent) {
+                if (placementId != null) {
+                    listener.onAdEvent(placementEvent, placementId, 0, placementId);
+                } else {
+                    listener.onAdEvent(legacyEvent, null, 0);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Ad event types. Each type is delivered either as the Godot signal of the same index in
+ * SIGNAL_NAMES or, in batched mode, as a compact record drained with drainEvents().
+ * The REQUEST_* types share the request_event signal; their batched records carry the request ID
+ * as the code.
+ */
+public final class AdEvent {
+
+    public static final int AD_LOADED = 0;
+    public static final int AD_FAILED_TO_LOAD = 1;
+    public static final int AD_OPENED = 2;
+    public static final int AD_CLOSED = 3;
+    public static final int AD_IMPRESSION = 4;
+    public static final int AD_CLICKED = 5;
+    public static final int REWARDED = 6;
+    public static final int INTERSTITIAL_LOADED = 7;
+    public static final int INTERSTITIAL_FAILED_TO_LOAD = 8;
+    public static final int REWARDED_AD_LOADED = 9;
+    public static final int REWARDED_AD_FAILED_TO_LOAD = 10;
+    public static final int LOAD_RETRY_SCHEDULED = 11;
+    public static final int PLACEMENT_LOADED = 12;
+    public static final int PLACEMENT_FAILED_TO_LOAD = 13;
+    public static final int PLACEMENT_OPENED = 14;
+    public static final int PLACEMENT_CLOSED = 15;
+    public static final int PLACEMENT_FAILED_TO_SHOW = 16;
+    public static final int PLACEMENT_IMPRESSION = 17;
+    public static final int PLACEMENT_CLICKED = 18;
+    public static final int PLACEMENT_REWARDED = 19;
+    public static final int PLACEMENT_CAPPED = 20;
+    public static final int APP_OPEN_LOADED = 21;
+    public static final int APP_OPEN_FAILED_TO_LOAD = 22;
+    public static final int APP_OPEN_SHOWN = 23;
+    public static final int APP_OPEN_SKIPPED = 24;
+    public static final int MEMORY_PRESSURE_CHANGED = 25;
+    public static final int NETWORK_CHANGED = 26;
+    public static final int REQUEST_LOADED = 27;
+    public static final int REQUEST_FAILED_TO_LOAD = 28;
+    public static final int REQUEST_OPENED = 29;
+    public static final int REQUEST_FAILED_TO_SHOW = 30;
+    public static final int REQUEST_IMPRESSION = 31;
+    public static final int REQUEST_CLICKED = 32;
+    public static final int REQUEST_REWARDED = 33;
+    public static final int REQUEST_CLOSED = 34;
+    public static final int RENDERING_SUSPENDED = 35;
+    public static final int RENDERING_RESUMED = 36;
+
+    public static final String[] SIGNAL_NAMES = {
+            "ad_loaded",
+            "ad_failed_to_load",
+            "ad_opened",
+            "ad_closed",
+            "ad_impression",
+            "ad_clicked",
+            "rewarded",
+            "interstitial_loaded",
+            "interstitial_failed_to_load",
+            "rewarded_ad_loaded",
+            "rewarded_ad_failed_to_load",
+            "load_retry_scheduled",
+            "placement_loaded",
+            "placement_failed_to_load",
+            "placement_opened",
+            "placement_closed",
+            "placement_failed_to_show",
+            "placement_impression",
+            "placement_clicked",
+            "placement_rewarded",
+            "placement_capped",
+            "app_open_loaded",
+            "app_open_failed_to_load",
+            "app_open_shown",
+            "app_open_skipped",
+            "memory_pressure_changed",
+            "network_changed",
+            "request_event",
+            "request_event",
+            "request_event",
+            "request_event",
+            "request_event",
+            "request_event",
+            "request_event",
+            "request_event",
+            "rendering_suspended",
+            "rendering_resumed",
+    };
+
+    // Event names reported by request_event, indexed from REQUEST_LOADED
+    private static final String[] REQUEST_EVENT_NAMES = {
+            "loaded",
+            "failed_to_load",
+            "opened",
+            "failed_to_show",
+            "impression",
+            "clicked",
+            "rewarded",
+            "closed",
+    };
+
+    /**
+     * Code used for failures raised by the plugin itself rather than the SDK
+     */
+    public static final int CODE_NONE = -1;
+
+    private AdEvent() {
+    }
+
+    /**
+     * @return Name of a REQUEST_* event as reported by request_event
+     */
+    public static String requestEventName(int type) {
+        int index = type - REQUEST_LOADED;
+        return index >= 0 && index < REQUEST_EVENT_NAMES.length ? REQUEST_EVENT_NAMES[index] : "unknown";
+    }
+}
@@ -0,0 +1,15 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Receives ad events raised by the AdController
+ */
+public interface AdEventListener {
+
+    /**
+     * @param type One of the AdEvent constants
+     * @param placement Placement ID, or ad unit ID for events not tied to a placement (may be null)
+     * @param code Error code, reward amount or retry delay depending on the event type
+     * @param signalArgs Arguments of the matching Godot signal
+     */
+    void onAdEvent(int type, String placement, int code, Object... signalArgs);
+}
@@ -0,0 +1,48 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Logging sink for the core, so it does not depend on android.util.Log.
+ * Debug messages built by concatenation are guarded with isDebugEnabled(), so a disabled
+ * level costs neither the string building nor the call.
+ */
+public interface AdLogger {
+
+    int LEVEL_DEBUG = 0;
+    int LEVEL_WARN = 1;
+    int LEVEL_ERROR = 2;
+    int LEVEL_NONE = 3;
+
+    AdLogger NONE = new AdLogger() {
+        @Override
+        public boolean isLoggable(int level) {
+            return false;
+        }
+
+        @Override
+        public void d(String message) {
+        }
+
+        @Override
+        public void w(String message) {
+        }
+
+        @Override
+        public void e(String message) {
+        }
+    };
+
+    /**
+     * @return true if messages of the level are written
+     */
+    boolean isLoggable(int level);
+
+    default boolean isDebugEnabled() {
+        return isLoggable(LEVEL_DEBUG);
+    }
+
+    void d(String message);
+
+    void w(String message);
+
+    void e(String message);
+}
@@ -0,0 +1,231 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per ad unit and format performance counters. Counters are preallocated the first time a
+ * unit is seen, so recording from SDK callbacks does not allocate. Safe to use from any thread.
+ */
+public class AdMetrics {
+
+    public static final int FORMAT_BANNER = 0;
+    public static final int FORMAT_INTERSTITIAL = 1;
+    public static final int FORMAT_REWARDED = 2;
+    public static final int FORMAT_APP_OPEN = 3;
+
+    private static final String[] FORMAT_NAMES = {"banner", "interstitial", "rewarded", "app_open"};
+
+    private static final int REQUESTS = 0;
+    private static final int FILLS = 1;
+    private static final int NO_FILLS = 2;
+    private static final int ERRORS = 3;
+    private static final int SHOWS = 4;
+    private static final int EXPIRED = 5;
+    private static final int SKIPS = 6;
+    private static final int EVICTED = 7;
+    private static final int SUSPENDED_TOTAL_MS = 8;
+    private static final int COUNTER_COUNT = 9;
+
+    /**
+     * Error codes 0 to MAX_ERROR_CODE are counted individually, anything else as "other"
+     */
+    private static final int MAX_ERROR_CODE = 14;
+
+    public static final class UnitMetrics {
+        final AtomicLongArray counters = new AtomicLongArray(COUNTER_COUNT);
+        final AtomicLongArray errorCodes = new AtomicLongArray(MAX_ERROR_CODE + 2);
+        final LatencyHistogram loadLatency = new LatencyHistogram();
+        final LatencyHistogram timeToShow = new LatencyHistogram();
+        final LatencyHistogram readyToShow = new LatencyHistogram();
+        final LatencyHistogram skipWait = new LatencyHistogram();
+        final LatencyHistogram suspended = new LatencyHistogram();
+
+        void reset() {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.set(i, 0);
+            }
+            for (int i = 0; i < errorCodes.length(); i++) {
+                errorCodes.set(i, 0);
+            }
+            loadLatency.reset();
+            timeToShow.reset();
+            readyToShow.reset();
+            skipWait.reset();
+            suspended.reset();
+        }
+    }
+
+    private final ConcurrentHashMap<String, UnitMetrics>[] units;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AdMetrics() {
+        units = new ConcurrentHashMap[FORMAT_NAMES.length];
+        for (int i = 0; i < units.length; i++) {
+            units[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public static int formatFor(String format) {
+        if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+            return FORMAT_REWARDED;
+        }
+        if (PlacementRegistry.FORMAT_INTERSTITIAL.equals(format)) {
+            return FORMAT_INTERSTITIAL;
+        }
+        if (PlacementRegistry.FORMAT_APP_OPEN.equals(format)) {
+            return FORMAT_APP_OPEN;
+        }
+        return FORMAT_BANNER;
+    }
+
+    public void recordRequest(int format, String adUnitId) {
+        get(format, adUnitId).counters.incrementAndGet(REQUESTS);
+    }
+
+    /**
+     * @param latencyMs Time from request to fill, or -1 if unknown
+     */
+    public void recordFill(int format, String adUnitId, long latencyMs) {
+        UnitMetrics metrics = get(format, adUnitId);
+        metrics.counters.incrementAndGet(FILLS);
+        metrics.loadLatency.record(latencyMs);
+    }
+
+    /**
+     * @param isNoFill Whether the failure was a no-fill rather than an error
+     * @param latencyMs Time from request to failure, or -1 if unknown
+     */
+    public void recordFailure(int format, String adUnitId, int errorCode, boolean isNoFill, long latencyMs) {
+        UnitMetrics metrics = get(format, adUnitId);
+        metrics.counters.incrementAndGet(isNoFill ? NO_FILLS : ERRORS);
+        int index = errorCode >= 0 && errorCode <= MAX_ERROR_CODE ? errorCode : MAX_ERROR_CODE + 1;
+        metrics.errorCodes.incrementAndGet(index);
+        metrics.loadLatency.record(latencyMs);
+    }
+
+    /**
+     * @param timeToShowMs Time from the show call until the ad was on screen
+     * @param readyToShowMs Time the ad waited in the pool between load and show, or -1 if unknown
+     */
+    public void recordShow(int format, String adUnitId, long timeToShowMs, long readyToShowMs) {
+        UnitMetrics metrics = get(format, adUnitId);
+        metrics.counters.incrementAndGet(SHOWS);
+        metrics.timeToShow.record(timeToShowMs);
+        metrics.readyToShow.record(readyToShowMs);
+    }
+
+    /**
+     * Count a show opportunity that was given up, e.g. an app-open ad not ready within its budget
+     * @param waitedMs Time spent waiting before giving up
+     */
+    public void recordSkip(int format, String adUnitId, long waitedMs) {
+        UnitMetrics metrics = get(format, adUnitId);
+        metrics.counters.incrementAndGet(SKIPS);
+        metrics.skipWait.record(waitedMs);
+    }
+
+    /**
+     * @param suspendedMs Time the game spent with rendering suspended for a full-screen ad
+     */
+    public void recordSuspended(int format, String adUnitId, long suspendedMs) {
+        UnitMetrics metrics = get(format, adUnitId);
+        metrics.counters.addAndGet(SUSPENDED_TOTAL_MS, Math.max(0, suspendedMs));
+        metrics.suspended.record(suspendedMs);
+    }
+
+    /**
+     * Count a loaded ad that went stale before it was shown
+     */
+    public void recordExpired(int format, String adUnitId) {
+        get(format, adUnitId).counters.incrementAndGet(EXPIRED);
+    }
+
+    /**
+     * Count a loaded ad or banner released early to relieve memory pressure
+     */
+    public void recordEvicted(int format, String adUnitId) {
+        get(format, adUnitId).counters.incrementAndGet(EVICTED);
+    }
+
+    /**
+     * @return Nested maps: format name -> ad unit ID -> metric name -> value
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new HashMap<>();
+        for (int format = 0; format < units.length; format++) {
+            Map<String, Object> formatResult = new HashMap<>();
+            for (Map.Entry<String, UnitMetrics> entry : units[format].entrySet()) {
+                formatResult.put(entry.getKey(), snapshot(entry.getValue()));
+            }
+            result.put(FORMAT_NAMES[format], formatResult);
+        }
+        return result;
+    }
+
+    /**
+     * @return Metrics of one ad unit, as in snapshot(), or null if nothing was recorded for it
+     */
+    public Map<String, Object> snapshot(int format, String adUnitId) {
+        UnitMetrics metrics = units[format].get(adUnitId);
+        return metrics != null ? snapshot(metrics) : null;
+    }
+
+    /**
+     * Zero every counter and histogram in place. Ad units recorded so far stay listed.
+     */
+    public void reset() {
+        for (Map<String, UnitMetrics> formatUnits : units) {
+            for (UnitMetrics metrics : formatUnits.values()) {
+                metrics.reset();
+            }
+        }
+    }
+
+    private UnitMetrics get(int format, String adUnitId) {
+        ConcurrentHashMap<String, UnitMetrics> formatUnits = units[format];
+        UnitMetrics metrics = formatUnits.get(adUnitId);
+        if (metrics == null) {
+            metrics = new UnitMetrics();
+            UnitMetrics existing = formatUnits.putIfAbsent(adUnitId, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+
+    private static Map<String, Object> snapshot(UnitMetrics metrics) {
+        long requests = metrics.counters.get(REQUESTS);
+        long fills = metrics.counters.get(FILLS);
+
+        Map<String, Object> errorCodes = new HashMap<>();
+        for (int i = 0; i <= MAX_ERROR_CODE + 1; i++) {
+            long count = metrics.errorCodes.get(i);
+            if (count > 0) {
+                errorCodes.put(i <= MAX_ERROR_CODE ? String.valueOf(i) : "other", count);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("requests", requests);
+        result.put("fills", fills);
+        result.put("no_fills", metrics.counters.get(NO_FILLS));
+        result.put("errors", metrics.counters.get(ERRORS));
+        result.put("shows", metrics.counters.get(SHOWS));
+        result.put("expired", metrics.counters.get(EXPIRED));
+        result.put("skips", metrics.counters.get(SKIPS));
+        result.put("evicted", metrics.counters.get(EVICTED));
+        result.put("fill_rate", requests > 0 ? (double) fills / requests : 0.0);
+        result.put("error_codes", errorCodes);
+        result.put("load_latency_ms", metrics.loadLatency.snapshot());
+        result.put("time_to_show_ms", metrics.timeToShow.snapshot());
+        result.put("ready_to_show_ms", metrics.readyToShow.snapshot());
+        result.put("skip_wait_ms", metrics.skipWait.snapshot());
+        result.put("suspended_ms", metrics.suspended.snapshot());
+        result.put("suspended_total_ms", metrics.counters.get(SUSPENDED_TOTAL_MS));
+        return result;
+    }
+}
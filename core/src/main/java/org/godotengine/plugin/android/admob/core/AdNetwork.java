@@ -0,0 +1,32 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Source of full-screen ads. The plugin implements it on top of the Google Mobile Ads SDK;
+ * SimulatedAdNetwork implements it locally for tests and benchmarks. Callbacks must be
+ * delivered on the thread the AdController is used from.
+ */
+public interface AdNetwork {
+
+    /**
+     * Load error code for a request that succeeded but returned no ad (matches the SDK value)
+     */
+    int ERROR_CODE_NO_FILL = 3;
+
+    interface LoadCallback {
+        void onLoaded(FullScreenAd ad);
+
+        void onFailed(int errorCode, String message);
+    }
+
+    /**
+     * Issue a single load. The result must be reported exactly once through the callback.
+     * @param format PlacementRegistry.FORMAT_INTERSTITIAL, PlacementRegistry.FORMAT_REWARDED or
+     *               PlacementRegistry.FORMAT_APP_OPEN
+     */
+    void load(String format, String adUnitId, LoadCallback callback);
+
+    /**
+     * @return Whether a full-screen ad can be presented right now, e.g. an activity is attached
+     */
+    boolean canShow();
+}
@@ -0,0 +1,359 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of preloaded full-screen ads, keyed by ad unit ID. Each unit owns a set of
+ * AdSlot state machines. Mutating calls must happen on the UI thread; ready counts and slot
+ * states may be read from any thread in constant time.
+ * Ready ads older than the TTL no longer count as ready. Within the refresh lead time before
+ * that, they no longer count toward the pool depth, so fill() loads their replacement early.
+ */
+public class AdPool<T> {
+
+    /**
+     * Issues a single network load for the given slot.
+     * The result must be reported back through onLoaded or onFailed.
+     */
+    public interface Loader<T> {
+        void load(AdSlot<T> slot);
+    }
+
+    private static final class Unit<T> {
+        final List<AdSlot<T>> slots = new CopyOnWriteArrayList<>();
+        final AtomicInteger readyCount = new AtomicInteger();
+        // Earliest time a ready ad of the unit expires, Long.MAX_VALUE if none
+        volatile long nextExpiryAt = Long.MAX_VALUE;
+    }
+
+    private final Loader<T> loader;
+    private final Clock clock;
+    private final Map<String, Unit<T>> units = new ConcurrentHashMap<>();
+    // Units that needed a fill while suspended, with the minimum depth requested for each
+    private final Map<String, Integer> deferredUnits = new LinkedHashMap<>();
+    private volatile int depth;
+    private volatile long ttlMs;
+    private volatile long refreshLeadMs;
+    private boolean suspended;
+
+    public AdPool(int depth, Clock clock, Loader<T> loader) {
+        this.depth = depth;
+        this.clock = clock;
+        this.loader = loader;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * @param ttlMs Time after loading at which a ready ad expires, 0 to keep ads forever
+     * @param refreshLeadMs How long before expiry a replacement load is started
+     */
+    public void setExpiry(long ttlMs, long refreshLeadMs) {
+        this.ttlMs = Math.max(0, ttlMs);
+        this.refreshLeadMs = Math.max(0, Math.min(this.ttlMs, refreshLeadMs));
+        for (Unit<T> unit : units.values()) {
+            updateNextExpiry(unit);
+        }
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public long getRefreshLeadMs() {
+        return refreshLeadMs;
+    }
+
+    /**
+     * Hold refills while the app is in the background. Units that needed a refill
+     * while suspended are filled when the pool is resumed.
+     */
+    public void setSuspended(boolean suspended) {
+        this.suspended = suspended;
+        if (!suspended && !deferredUnits.isEmpty()) {
+            Map<String, Integer> units = new LinkedHashMap<>(deferredUnits);
+            deferredUnits.clear();
+            for (Map.Entry<String, Integer> unit : units.entrySet()) {
+                fill(unit.getKey(), unit.getValue());
+            }
+        }
+    }
+
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Start as many loads as needed to bring the unit up to the pool depth
+     */
+    public void fill(String adUnitId) {
+        fill(adUnitId, 0);
+    }
+
+    /**
+     * Start as many loads as needed to bring the unit up to the pool depth, or to minDepth if
+     * that is larger, e.g. so an explicit load still fetches an ad while the depth is 0
+     */
+    public void fill(String adUnitId, int minDepth) {
+        if (suspended) {
+            Integer deferred = deferredUnits.get(adUnitId);
+            deferredUnits.put(adUnitId, deferred != null ? Math.max(deferred, minDepth) : minDepth);
+            return;
+        }
+        Unit<T> unit = getOrCreate(adUnitId);
+        long refreshAt = ttlMs > 0 ? clock.now() - (ttlMs - refreshLeadMs) : Long.MIN_VALUE;
+        int live = 0;
+        for (AdSlot<T> slot : unit.slots) {
+            int state = slot.getState();
+            if (state == AdSlot.LOADING || (state == AdSlot.READY && slot.loadedAt > refreshAt)) {
+                live++;
+            }
+        }
+
+        int target = Math.max(depth, minDepth);
+        for (int i = live; i < target; i++) {
+            AdSlot<T> slot = findIdle(unit);
+            if (slot == null) {
+                slot = new AdSlot<>(adUnitId);
+                unit.slots.add(slot);
+            }
+            if (slot.transition(AdSlot.IDLE, AdSlot.LOADING)) {
+                slot.loadStartedAt = clock.now();
+                loader.load(slot);
+            }
+        }
+    }
+
+    /**
+     * Publish a freshly loaded ad in its slot
+     * @return false if the slot was discarded while the load was in flight
+     */
+    public boolean onLoaded(AdSlot<T> slot, T ad) {
+        Unit<T> unit = units.get(slot.adUnitId);
+        slot.loadedAt = clock.now();
+        if (unit == null || !unit.slots.contains(slot) || !slot.markReady(ad)) {
+            return false;
+        }
+        unit.readyCount.incrementAndGet();
+        if (ttlMs > 0) {
+            unit.nextExpiryAt = Math.min(unit.nextExpiryAt, slot.loadedAt + ttlMs);
+        }
+        return true;
+    }
+
+    public void onFailed(AdSlot<T> slot) {
+        slot.transition(AdSlot.LOADING, AdSlot.IDLE);
+    }
+
+    /**
+     * Move a ready ad of the unit to SHOWING and start a background refill.
+     * The caller must hand the slot back with release() once the ad is dismissed or fails to show.
+     * @return the slot, or null if no ad is ready
+     */
+    public AdSlot<T> take(String adUnitId) {
+        if (adUnitId == null) {
+            return null;
+        }
+        Unit<T> unit = units.get(adUnitId);
+        if (unit == null) {
+            return null;
+        }
+
+        AdSlot<T> taken = null;
+        long now = clock.now();
+        for (AdSlot<T> slot : unit.slots) {
+            if (!isExpired(slot, now) && slot.transition(AdSlot.READY, AdSlot.SHOWING)) {
+                unit.readyCount.decrementAndGet();
+                taken = slot;
+                break;
+            }
+        }
+        updateNextExpiry(unit);
+        fill(adUnitId);
+        return taken;
+    }
+
+    /**
+     * Move the unit's ready ads that are past the TTL to EXPIRED
+     * @return Number of ads expired
+     */
+    public int expire(String adUnitId) {
+        Unit<T> unit = adUnitId != null ? units.get(adUnitId) : null;
+        if (unit == null) {
+            return 0;
+        }
+        int expired = 0;
+        long now = clock.now();
+        for (AdSlot<T> slot : unit.slots) {
+            if (isExpired(slot, now) && slot.markExpired()) {
+                unit.readyCount.decrementAndGet();
+                expired++;
+            }
+        }
+        updateNextExpiry(unit);
+        return expired;
+    }
+
+    /**
+     * Release the oldest ready ads of the unit until at most keep remain.
+     * Their slots move to EXPIRED and are reused by the next fill.
+     * @return Number of ads evicted
+     */
+    public int evict(String adUnitId, int keep) {
+        Unit<T> unit = adUnitId != null ? units.get(adUnitId) : null;
+        if (unit == null) {
+            return 0;
+        }
+        int evicted = 0;
+        while (unit.readyCount.get() > Math.max(0, keep)) {
+            AdSlot<T> oldest = null;
+            for (AdSlot<T> slot : unit.slots) {
+                if (slot.getState() == AdSlot.READY && (oldest == null || slot.loadedAt < oldest.loadedAt)) {
+                    oldest = slot;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            if (oldest.markExpired()) {
+                unit.readyCount.decrementAndGet();
+                evicted++;
+            }
+        }
+        updateNextExpiry(unit);
+        return evicted;
+    }
+
+    public boolean contains(String adUnitId) {
+        return adUnitId != null && units.containsKey(adUnitId);
+    }
+
+    /**
+     * @return IDs of the ad units that have slots in the pool
+     */
+    public Set<String> getAdUnitIds() {
+        return units.keySet();
+    }
+
+    /**
+     * Mark a shown ad as consumed and make its slot reusable
+     */
+    public void release(AdSlot<?> slot) {
+        if (slot.transition(AdSlot.SHOWING, AdSlot.CONSUMED)) {
+            slot.recycle();
+        }
+    }
+
+    public int getReadyCount(String adUnitId) {
+        if (adUnitId == null) {
+            return 0;
+        }
+        Unit<T> unit = units.get(adUnitId);
+        if (unit == null) {
+            return 0;
+        }
+        long now = clock.now();
+        if (now < unit.nextExpiryAt) {
+            return unit.readyCount.get();
+        }
+
+        // Stale ads not yet moved to EXPIRED; count only the fresh ones
+        int ready = 0;
+        for (int i = 0; i < unit.slots.size(); i++) {
+            AdSlot<T> slot = unit.slots.get(i);
+            if (slot.getState() == AdSlot.READY && !isExpired(slot, now)) {
+                ready++;
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * @return Current state of each slot of the unit, oldest slot first
+     */
+    public int[] getSlotStates(String adUnitId) {
+        Unit<T> unit = adUnitId != null ? units.get(adUnitId) : null;
+        if (unit == null) {
+            return new int[0];
+        }
+        Object[] slots = unit.slots.toArray();
+        int[] states = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            states[i] = ((AdSlot<?>) slots[i]).getState();
+        }
+        return states;
+    }
+
+    /**
+     * Drop all ready ads for the unit and ignore loads still in flight
+     */
+    public void discard(String adUnitId) {
+        Unit<T> unit = units.remove(adUnitId);
+        if (unit != null) {
+            cancelTimers(unit);
+        }
+        deferredUnits.remove(adUnitId);
+    }
+
+    public void clear() {
+        for (Unit<T> unit : units.values()) {
+            cancelTimers(unit);
+        }
+        units.clear();
+        deferredUnits.clear();
+    }
+
+    private static void cancelTimers(Unit<?> unit) {
+        for (AdSlot<?> slot : unit.slots) {
+            slot.cancelTimers();
+        }
+    }
+
+    private Unit<T> getOrCreate(String adUnitId) {
+        Unit<T> unit = units.get(adUnitId);
+        if (unit == null) {
+            unit = new Unit<>();
+            units.put(adUnitId, unit);
+        }
+        return unit;
+    }
+
+    private AdSlot<T> findIdle(Unit<T> unit) {
+        for (AdSlot<T> slot : unit.slots) {
+            if (slot.getState() == AdSlot.IDLE || slot.recycle()) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private boolean isExpired(AdSlot<T> slot, long now) {
+        long ttl = ttlMs;
+        return ttl > 0 && slot.getState() == AdSlot.READY && now - slot.loadedAt >= ttl;
+    }
+
+    private void updateNextExpiry(Unit<T> unit) {
+        long ttl = ttlMs;
+        long next = Long.MAX_VALUE;
+        if (ttl > 0) {
+            for (AdSlot<T> slot : unit.slots) {
+                if (slot.getState() == AdSlot.READY) {
+                    next = Math.min(next, slot.loadedAt + ttl);
+                }
+            }
+        }
+        unit.nextExpiryAt = next;
+    }
+}
@@ -0,0 +1,136 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One preload slot of an ad unit, modelled as a lock-free state machine:
+ * IDLE -> LOADING -> READY -> SHOWING -> CONSUMED -> IDLE, with LOADING -> IDLE on a failed
+ * load and READY -> EXPIRED -> IDLE for stale ads. Any other transition is rejected.
+ * State reads are safe from any thread. A ready ad may carry refresh and expiry timers; they are
+ * cancelled as soon as the slot leaves READY.
+ */
+public final class AdSlot<T> {
+
+    public static final int IDLE = 0;
+    public static final int LOADING = 1;
+    public static final int READY = 2;
+    public static final int SHOWING = 3;
+    public static final int CONSUMED = 4;
+    public static final int EXPIRED = 5;
+
+    private static final String[] STATE_NAMES = {
+            "idle", "loading", "ready", "showing", "consumed", "expired"
+    };
+
+    public final String adUnitId;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private volatile T ad;
+    public volatile long loadStartedAt;
+    public volatile long loadedAt;
+    private volatile Scheduler.Task refreshTask;
+    private volatile Scheduler.Task expiryTask;
+
+    public AdSlot(String adUnitId) {
+        this.adUnitId = adUnitId;
+    }
+
+    public int getState() {
+        return state.get();
+    }
+
+    public T getAd() {
+        return ad;
+    }
+
+    public static String stateName(int state) {
+        return STATE_NAMES[state];
+    }
+
+    /**
+     * Atomically move from one state to another
+     * @return false if the transition is illegal or the slot was not in the expected state
+     */
+    public boolean transition(int from, int to) {
+        if (!isLegal(from, to) || !state.compareAndSet(from, to)) {
+            return false;
+        }
+        if (from == READY) {
+            cancelTimers();
+        }
+        return true;
+    }
+
+    /**
+     * Attach the refresh and expiry timers of the ready ad, replacing any previous ones
+     */
+    public void setTimers(Scheduler.Task refresh, Scheduler.Task expiry) {
+        cancelTimers();
+        refreshTask = refresh;
+        expiryTask = expiry;
+    }
+
+    public void cancelTimers() {
+        Scheduler.Task refresh = refreshTask;
+        Scheduler.Task expiry = expiryTask;
+        refreshTask = null;
+        expiryTask = null;
+        if (refresh != null) {
+            refresh.cancel();
+        }
+        if (expiry != null) {
+            expiry.cancel();
+        }
+    }
+
+    /**
+     * LOADING -> READY, publishing the loaded ad
+     */
+    public boolean markReady(T loadedAd) {
+        ad = loadedAd;
+        if (transition(LOADING, READY)) {
+            return true;
+        }
+        ad = null;
+        return false;
+    }
+
+    /**
+     * READY -> EXPIRED, releasing the stale ad. The slot keeps reporting "expired" until reused.
+     */
+    public boolean markExpired() {
+        if (transition(READY, EXPIRED)) {
+            ad = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * CONSUMED or EXPIRED -> IDLE, releasing the ad so the slot can be reused
+     */
+    public boolean recycle() {
+        if (transition(CONSUMED, IDLE) || transition(EXPIRED, IDLE)) {
+            ad = null;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isLegal(int from, int to) {
+        switch (from) {
+            case IDLE:
+                return to == LOADING;
+            case LOADING:
+                return to == READY || to == IDLE;
+            case READY:
+                return to == SHOWING || to == EXPIRED;
+            case SHOWING:
+                return to == CONSUMED;
+            case CONSUMED:
+            case EXPIRED:
+                return to == IDLE;
+            default:
+                return false;
+        }
+    }
+}
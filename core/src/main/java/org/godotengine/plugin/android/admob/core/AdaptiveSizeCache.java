@@ -0,0 +1,38 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches computed anchored adaptive banner sizes per orientation and width bucket,
+ * so the size is only computed once per layout configuration. Safe to use from any thread.
+ */
+public class AdaptiveSizeCache<T> {
+
+    public static final int WIDTH_BUCKET_DP = 16;
+
+    private final Map<Integer, T> sizes = new ConcurrentHashMap<>();
+
+    /**
+     * Round a window width down to its bucket, so every width in the bucket shares one size
+     */
+    public static int bucketWidth(int widthDp) {
+        return Math.max(WIDTH_BUCKET_DP, widthDp - widthDp % WIDTH_BUCKET_DP);
+    }
+
+    public T get(int orientation, int bucketedWidthDp) {
+        return sizes.get(key(orientation, bucketedWidthDp));
+    }
+
+    public void put(int orientation, int bucketedWidthDp, T size) {
+        sizes.put(key(orientation, bucketedWidthDp), size);
+    }
+
+    public void clear() {
+        sizes.clear();
+    }
+
+    private static int key(int orientation, int bucketedWidthDp) {
+        return (orientation << 16) | (bucketedWidthDp & 0xFFFF);
+    }
+}
@@ -0,0 +1,80 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small LRU cache of detached banner views, keyed by ad unit ID and size.
+ * Not thread-safe; use from the UI thread.
+ */
+public class BannerViewCache<T> {
+
+    private final LinkedHashMap<String, T> entries = new LinkedHashMap<>(4, 0.75f, true);
+    private int capacity;
+
+    public BannerViewCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    public static String key(String adUnitId, String size) {
+        return adUnitId + "|" + size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Change the capacity
+     * @return Entries evicted to fit the new capacity, which the caller must destroy
+     */
+    public List<T> setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        return trim(this.capacity);
+    }
+
+    /**
+     * Park a detached view for later reuse
+     * @return Entries evicted to make room (including the parked one if capacity is 0),
+     *         which the caller must destroy
+     */
+    public List<T> put(String key, T entry) {
+        T replaced = entries.put(key, entry);
+        List<T> evicted = trim(capacity);
+        if (replaced != null && replaced != entry) {
+            evicted.add(replaced);
+        }
+        return evicted;
+    }
+
+    /**
+     * Remove and return the cached view for the key, or null
+     */
+    public T take(String key) {
+        return entries.remove(key);
+    }
+
+    /**
+     * Remove and return every cached view
+     */
+    public List<T> clear() {
+        return trim(0);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private List<T> trim(int maxSize) {
+        List<T> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, T>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            evicted.add(iterator.next().getValue());
+            iterator.remove();
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,8 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Monotonic millisecond time source. Replaceable with a fake clock in tests.
+ */
+public interface Clock {
+    long now();
+}
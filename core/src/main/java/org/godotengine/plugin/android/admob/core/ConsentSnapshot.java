@@ -0,0 +1,46 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Last known consent state, persisted between launches so ads can be requested at cold start
+ * without waiting for a consent refresh round-trip. Status values match the UMP SDK.
+ */
+public final class ConsentSnapshot {
+
+    public static final int STATUS_UNKNOWN = 0;
+    public static final int STATUS_NOT_REQUIRED = 1;
+    public static final int STATUS_REQUIRED = 2;
+    public static final int STATUS_OBTAINED = 3;
+
+    /**
+     * Snapshots older than this are not trusted for a fast start
+     */
+    public static final long DEFAULT_MAX_AGE_MS = 30L * 24 * 60 * 60 * 1000;
+
+    public final int consentStatus;
+    public final boolean privacyOptionsRequired;
+    public final boolean canRequestAds;
+    /**
+     * Wall-clock time of the consent update the snapshot was taken from
+     */
+    public final long updatedAt;
+
+    public ConsentSnapshot(int consentStatus, boolean privacyOptionsRequired, boolean canRequestAds, long updatedAt) {
+        this.consentStatus = consentStatus;
+        this.privacyOptionsRequired = privacyOptionsRequired;
+        this.canRequestAds = canRequestAds;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getAgeMs(long now) {
+        return now - updatedAt;
+    }
+
+    /**
+     * @return Whether ads may be requested right away on the strength of this snapshot.
+     *         A snapshot dated in the future (clock changed) is not trusted.
+     */
+    public boolean allowsFastStart(long now, long maxAgeMs) {
+        long age = getAgeMs(now);
+        return canRequestAds && age >= 0 && age <= maxAgeMs;
+    }
+}
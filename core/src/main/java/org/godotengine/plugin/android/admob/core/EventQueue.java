@@ -0,0 +1,109 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue of compact event records
+ * (type, placement, code, timestamp). Records are stored in preallocated parallel arrays;
+ * when the queue is full new records are dropped and counted.
+ */
+public class EventQueue {
+
+    public static final int RECORD_STRIDE = 4;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final int[] types;
+    private final String[] placements;
+    private final int[] codes;
+    private final long[] timestamps;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head;
+
+    /**
+     * @param capacity Maximum number of buffered records, rounded up to a power of two
+     */
+    public EventQueue(int capacity) {
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.types = new int[size];
+        this.placements = new String[size];
+        this.codes = new int[size];
+        this.timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Append a record. Safe to call from any thread.
+     * @return false if the queue was full and the record was dropped
+     */
+    public boolean offer(int type, String placement, int code, long timestamp) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+
+        types[index] = type;
+        placements[index] = placement;
+        codes[index] = code;
+        timestamps[index] = timestamp;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Remove all published records. Must only be called from a single consumer thread.
+     * @return Flat array of RECORD_STRIDE values per record: type, placement, code, timestamp
+     */
+    public Object[] drain() {
+        int available = (int) Math.min(tail.get() - head, capacity);
+        if (available <= 0) {
+            return new Object[0];
+        }
+
+        Object[] result = new Object[available * RECORD_STRIDE];
+        int count = 0;
+        while (count < available) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            int offset = count * RECORD_STRIDE;
+            result[offset] = types[index];
+            result[offset + 1] = placements[index];
+            result[offset + 2] = codes[index];
+            result[offset + 3] = timestamps[index];
+            placements[index] = null;
+            sequences.lazySet(index, head + capacity);
+            head++;
+            count++;
+        }
+        return count == available ? result : Arrays.copyOf(result, count * RECORD_STRIDE);
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,291 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-placement frequency caps and pacing. Each placement keeps its most recent show times in
+ * a fixed-size ring buffer, so checks run in constant time without allocating. Times come
+ * from a wall clock so that the history stays meaningful after it is persisted and restored.
+ */
+public class FrequencyCap {
+
+    public static final int REASON_NONE = 0;
+    public static final int REASON_SESSION_START = 1;
+    public static final int REASON_MIN_INTERVAL = 2;
+    public static final int REASON_WINDOW = 3;
+
+    private static final String[] REASON_NAMES = {"none", "session_start", "min_interval", "window"};
+
+    // Shows remembered per placement even when its rules need fewer
+    public static final int MIN_HISTORY_SIZE = 8;
+    public static final int MAX_HISTORY_SIZE = 256;
+
+    /**
+     * Pacing rules of one placement. Zero disables a rule.
+     */
+    public static final class Rules {
+        public final int maxShows;
+        public final long windowMs;
+        public final long minIntervalMs;
+        public final long sessionGraceMs;
+
+        /**
+         * @param maxShows Shows allowed within windowMs
+         * @param windowMs Length of the sliding window
+         * @param minIntervalMs Minimum time between two shows
+         * @param sessionGraceMs Time after session start during which no ad is shown
+         */
+        public Rules(int maxShows, long windowMs, long minIntervalMs, long sessionGraceMs) {
+            this.maxShows = Math.max(0, Math.min(MAX_HISTORY_SIZE, maxShows));
+            this.windowMs = Math.max(0, windowMs);
+            this.minIntervalMs = Math.max(0, minIntervalMs);
+            this.sessionGraceMs = Math.max(0, sessionGraceMs);
+        }
+    }
+
+    /**
+     * Notified after a show is recorded, e.g. to persist the history
+     */
+    public interface HistoryListener {
+        void onHistoryChanged(String placementId);
+    }
+
+    private static final class Entry {
+        Rules rules;
+        long[] times = new long[MIN_HISTORY_SIZE];
+        int head;   // Index the next show is written to
+        int count;
+
+        long latest() {
+            return times[(head - 1 + times.length) % times.length];
+        }
+
+        /**
+         * @param n 1 for the latest show, 2 for the one before, ...; must not exceed count
+         */
+        long nthLatest(int n) {
+            return times[(head - n + times.length) % times.length];
+        }
+
+        void add(long time) {
+            times[head] = time;
+            head = (head + 1) % times.length;
+            if (count < times.length) {
+                count++;
+            }
+        }
+
+        /**
+         * Resize the ring buffer, keeping the most recent shows
+         */
+        void resize(int capacity) {
+            if (capacity == times.length) {
+                return;
+            }
+            int kept = Math.min(count, capacity);
+            long[] resized = new long[capacity];
+            for (int i = 0; i < kept; i++) {
+                resized[i] = nthLatest(kept - i);
+            }
+            times = resized;
+            count = kept;
+            head = kept % capacity;
+        }
+    }
+
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long sessionStartedAt;
+    private volatile HistoryListener historyListener;
+
+    /**
+     * @param clock Wall clock in milliseconds
+     */
+    public FrequencyCap(Clock clock) {
+        this.clock = clock;
+        this.sessionStartedAt = clock.now();
+    }
+
+    public void setHistoryListener(HistoryListener listener) {
+        historyListener = listener;
+    }
+
+    /**
+     * Restart the session-start grace period
+     */
+    public void startSession() {
+        sessionStartedAt = clock.now();
+    }
+
+    /**
+     * Set the rules of a placement, or remove them with null. Recorded shows are kept.
+     */
+    public void setRules(String placementId, Rules rules) {
+        Entry entry = getOrCreate(placementId);
+        synchronized (entry) {
+            entry.rules = rules;
+            entry.resize(Math.max(MIN_HISTORY_SIZE, rules != null ? rules.maxShows : 0));
+        }
+    }
+
+    public Rules getRules(String placementId) {
+        Entry entry = entries.get(placementId);
+        return entry != null ? entry.rules : null;
+    }
+
+    public boolean canShow(String placementId) {
+        return check(placementId) == REASON_NONE;
+    }
+
+    /**
+     * @return REASON_NONE if the placement may show an ad now, otherwise the first rule blocking it
+     */
+    public int check(String placementId) {
+        Entry entry = entries.get(placementId);
+        if (entry == null) {
+            return REASON_NONE;
+        }
+        long now = clock.now();
+        synchronized (entry) {
+            Rules rules = entry.rules;
+            if (rules == null) {
+                return REASON_NONE;
+            }
+            if (now - sessionStartedAt < rules.sessionGraceMs) {
+                return REASON_SESSION_START;
+            }
+            if (entry.count > 0 && now - entry.latest() < rules.minIntervalMs) {
+                return REASON_MIN_INTERVAL;
+            }
+            if (rules.maxShows > 0 && entry.count >= rules.maxShows
+                    && now - entry.nthLatest(rules.maxShows) < rules.windowMs) {
+                return REASON_WINDOW;
+            }
+            return REASON_NONE;
+        }
+    }
+
+    /**
+     * @return Milliseconds until every rule of the placement allows a show, 0 if it can show now
+     */
+    public long getWaitMs(String placementId) {
+        Entry entry = entries.get(placementId);
+        if (entry == null) {
+            return 0;
+        }
+        long now = clock.now();
+        synchronized (entry) {
+            Rules rules = entry.rules;
+            if (rules == null) {
+                return 0;
+            }
+            long allowedAt = sessionStartedAt + rules.sessionGraceMs;
+            if (entry.count > 0) {
+                allowedAt = Math.max(allowedAt, entry.latest() + rules.minIntervalMs);
+            }
+            if (rules.maxShows > 0 && entry.count >= rules.maxShows) {
+                allowedAt = Math.max(allowedAt, entry.nthLatest(rules.maxShows) + rules.windowMs);
+            }
+            return Math.max(0, allowedAt - now);
+        }
+    }
+
+    public static String reasonName(int reason) {
+        return reason >= 0 && reason < REASON_NAMES.length ? REASON_NAMES[reason] : "unknown";
+    }
+
+    /**
+     * Record that the placement showed an ad now
+     */
+    public void recordShow(String placementId) {
+        Entry entry = getOrCreate(placementId);
+        synchronized (entry) {
+            entry.add(clock.now());
+        }
+        HistoryListener listener = historyListener;
+        if (listener != null) {
+            listener.onHistoryChanged(placementId);
+        }
+    }
+
+    /**
+     * Encode the recorded shows of a placement, oldest first, as the first time followed by
+     * the deltas between consecutive shows, in base 36
+     * @return Encoded history, empty if the placement has not shown an ad
+     */
+    public String encodeHistory(String placementId) {
+        Entry entry = entries.get(placementId);
+        if (entry == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        synchronized (entry) {
+            long previous = 0;
+            for (int n = entry.count; n >= 1; n--) {
+                long time = entry.nthLatest(n);
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(Long.toString(time - previous, 36));
+                previous = time;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Replace the recorded shows of a placement with a history produced by encodeHistory().
+     * Restore before setting rules so the history is trimmed to what the rules need.
+     * A malformed history is ignored.
+     */
+    public void restoreHistory(String placementId, String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        String[] parts = encoded.split(",");
+        long[] times = new long[parts.length];
+        long previous = 0;
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                previous += Long.parseLong(parts[i], 36);
+                times[i] = previous;
+            }
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        Entry entry = getOrCreate(placementId);
+        synchronized (entry) {
+            entry.head = 0;
+            entry.count = 0;
+            entry.resize(Math.max(entry.times.length, Math.min(MAX_HISTORY_SIZE, times.length)));
+            for (int i = Math.max(0, times.length - entry.times.length); i < times.length; i++) {
+                entry.add(times[i]);
+            }
+        }
+    }
+
+    /**
+     * Forget the recorded shows of every placement. Rules are kept.
+     */
+    public void clearHistory() {
+        for (Entry entry : entries.values()) {
+            synchronized (entry) {
+                entry.head = 0;
+                entry.count = 0;
+            }
+        }
+    }
+
+    private Entry getOrCreate(String placementId) {
+        Entry entry = entries.get(placementId);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(placementId, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry;
+    }
+}
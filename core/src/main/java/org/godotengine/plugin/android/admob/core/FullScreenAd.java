@@ -0,0 +1,23 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * A loaded interstitial, rewarded or app-open ad, ready to be shown once
+ */
+public interface FullScreenAd {
+
+    interface Listener {
+        void onShowed();
+
+        void onFailedToShow(int errorCode, String message);
+
+        void onDismissed();
+
+        void onImpression();
+
+        void onClicked();
+
+        void onRewarded(String type, int amount);
+    }
+
+    void show(Listener listener);
+}
@@ -0,0 +1,87 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets. Recording does not allocate;
+ * percentiles are reported as the upper bound of the bucket that contains them.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_MS = {
+            5, 10, 25, 50, 75, 100, 150, 200, 300, 400, 500, 750,
+            1000, 1500, 2000, 3000, 4000, 5000, 7500, 10000, 15000, 20000,
+            30000, 60000, 120000, 300000, 600000, 1800000, 3600000, Long.MAX_VALUE
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long latencyMs) {
+        if (latencyMs < 0) {
+            return;
+        }
+        buckets.incrementAndGet(bucketFor(latencyMs));
+        count.incrementAndGet();
+        long currentMax;
+        while (latencyMs > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, latencyMs)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @param percentile Percentile in the range (0, 1]
+     * @return Upper bound of the bucket holding the percentile, capped at the maximum seen, or -1 if empty
+     */
+    public long percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_MS[i], max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", count.get());
+        result.put("p50", percentile(0.50));
+        result.put("p90", percentile(0.90));
+        result.put("p99", percentile(0.99));
+        result.put("max", count.get() > 0 ? max.get() : -1);
+        return result;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        max.set(0);
+    }
+
+    private static int bucketFor(long latencyMs) {
+        int index = 0;
+        while (latencyMs > BUCKET_BOUNDS_MS[index]) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,197 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mediation adapter initialization mode and the status the SDK reports for each adapter.
+ * The SDK starts every linked adapter together and has no per-adapter initialization, so the
+ * modes only choose when the SDK is started and how long ads wait for it: MODE_WAIT_FOR lets
+ * ads load as soon as the SDK and the listed adapters are ready, while the others finish in
+ * the background. Safe to use from any thread.
+ */
+public class MediationStartup {
+
+    // Ads load once every adapter has finished, as the SDK reports it
+    public static final int MODE_ALL = 0;
+    // Ads load once the SDK and the listed adapters are ready
+    public static final int MODE_WAIT_FOR = 1;
+    // The SDK, with every adapter, is initialized after the next frame
+    public static final int MODE_AFTER_FIRST_FRAME = 2;
+    // Mediation adapters are not initialized
+    public static final int MODE_NONE = 3;
+
+    private static final String[] MODE_NAMES = {"all", "wait_for", "after_first_frame", "none"};
+
+    /**
+     * Adapter name the SDK reports for itself
+     */
+    public static final String GOOGLE_ADAPTER = "com.google.android.gms.ads.MobileAds";
+
+    private static final class Adapter {
+        boolean ready;
+        long latencyMs;
+        String description;
+    }
+
+    private final Clock clock;
+    private int mode = MODE_ALL;
+    private String[] waitFor = new String[0];
+    private final Map<String, Adapter> adapters = new LinkedHashMap<>();
+    private long startedAt = -1;
+    private long readyAt = -1;
+    private long completedAt = -1;
+
+    public MediationStartup(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return The mode named "all", "wait_for", "after_first_frame" or "none", or -1 if the name is unknown
+     */
+    public static int parseMode(String name) {
+        for (int i = 0; i < MODE_NAMES.length; i++) {
+            if (MODE_NAMES[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static String modeName(int mode) {
+        return mode >= 0 && mode < MODE_NAMES.length ? MODE_NAMES[mode] : "unknown";
+    }
+
+    /**
+     * @param waitFor Adapters waited for in MODE_WAIT_FOR. An entry matches every adapter whose
+     *                class name contains it, ignoring case, e.g. "applovin".
+     */
+    public synchronized void setMode(int mode, String[] waitFor) {
+        this.mode = mode;
+        this.waitFor = waitFor != null ? waitFor.clone() : new String[0];
+    }
+
+    public synchronized int getMode() {
+        return mode;
+    }
+
+    /**
+     * Start a new initialization, forgetting the statuses of a previous one
+     */
+    public synchronized void start() {
+        adapters.clear();
+        startedAt = clock.now();
+        readyAt = -1;
+        completedAt = -1;
+    }
+
+    /**
+     * Record the status the SDK reports for an adapter
+     * @param latencyMs Initialization latency reported by the adapter
+     */
+    public synchronized void update(String adapterName, boolean ready, long latencyMs, String description) {
+        Adapter adapter = adapters.get(adapterName);
+        if (adapter == null) {
+            adapter = new Adapter();
+            adapters.put(adapterName, adapter);
+        }
+        adapter.ready = ready;
+        adapter.latencyMs = latencyMs;
+        adapter.description = description;
+    }
+
+    /**
+     * @return true if the SDK and every waited-for adapter reported ready. In other modes only the SDK is checked.
+     */
+    public synchronized boolean isWaitedForReady() {
+        Adapter google = adapters.get(GOOGLE_ADAPTER);
+        if (google == null || !google.ready) {
+            return false;
+        }
+        if (mode != MODE_WAIT_FOR) {
+            return true;
+        }
+        for (String entry : waitFor) {
+            if (!isEntryReady(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean isWaitedFor(String adapterName) {
+        if (mode != MODE_WAIT_FOR) {
+            return false;
+        }
+        for (String entry : waitFor) {
+            if (matches(adapterName, entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Record that ads may load
+     * @return Milliseconds since start, or -1 if not started or already recorded
+     */
+    public synchronized long markReady() {
+        if (startedAt < 0 || readyAt >= 0) {
+            return -1;
+        }
+        readyAt = clock.now();
+        return readyAt - startedAt;
+    }
+
+    /**
+     * Record that every adapter has finished initializing
+     * @return Milliseconds since start, or -1 if not started or already recorded
+     */
+    public synchronized long markCompleted() {
+        if (startedAt < 0 || completedAt >= 0) {
+            return -1;
+        }
+        completedAt = clock.now();
+        return completedAt - startedAt;
+    }
+
+    /**
+     * @return mode, ready_ms and completed_ms (-1 until reached), and adapters:
+     *         adapter name -> { state, latency_ms, description, waited_for }
+     */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> adapterResults = new LinkedHashMap<>();
+        for (Map.Entry<String, Adapter> entry : adapters.entrySet()) {
+            Adapter adapter = entry.getValue();
+            Map<String, Object> adapterResult = new HashMap<>();
+            adapterResult.put("state", adapter.ready ? "ready" : "not_ready");
+            adapterResult.put("latency_ms", adapter.latencyMs);
+            adapterResult.put("description", adapter.description != null ? adapter.description : "");
+            adapterResult.put("waited_for", isWaitedFor(entry.getKey()));
+            adapterResults.put(entry.getKey(), adapterResult);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("mode", modeName(mode));
+        result.put("ready_ms", startedAt >= 0 && readyAt >= 0 ? readyAt - startedAt : -1);
+        result.put("completed_ms", startedAt >= 0 && completedAt >= 0 ? completedAt - startedAt : -1);
+        result.put("adapters", adapterResults);
+        return result;
+    }
+
+    private boolean isEntryReady(String entry) {
+        for (Map.Entry<String, Adapter> adapter : adapters.entrySet()) {
+            if (adapter.getValue().ready && matches(adapter.getKey(), entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String adapterName, String entry) {
+        return !entry.isEmpty()
+                && adapterName.toLowerCase(Locale.ROOT).contains(entry.toLowerCase(Locale.ROOT));
+    }
+}
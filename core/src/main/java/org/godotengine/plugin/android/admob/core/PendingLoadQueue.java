@@ -0,0 +1,93 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered queue of load requests made before the Mobile Ads SDK finished initializing.
+ * Requests with the same key are merged: the first request keeps its place in the queue,
+ * the latest one provides the action and deadline. Not thread-safe; use from the UI thread.
+ */
+public class PendingLoadQueue {
+
+    public static final class Request {
+        public final String key;
+        public Runnable action;
+        public Runnable onTimeout;
+        public long deadline;
+
+        Request(String key, Runnable action, Runnable onTimeout, long deadline) {
+            this.key = key;
+            this.action = action;
+            this.onTimeout = onTimeout;
+            this.deadline = deadline;
+        }
+    }
+
+    private final Map<String, Request> requests = new LinkedHashMap<>();
+
+    /**
+     * Queue a request, merging it with a pending request for the same key
+     * @return true if the request was merged into an existing one
+     */
+    public boolean enqueue(String key, Runnable action, Runnable onTimeout, long deadline) {
+        Request existing = requests.get(key);
+        if (existing != null) {
+            existing.action = action;
+            existing.onTimeout = onTimeout;
+            existing.deadline = deadline;
+            return true;
+        }
+        requests.put(key, new Request(key, action, onTimeout, deadline));
+        return false;
+    }
+
+    /**
+     * Remove and return all pending requests in the order they were first queued
+     */
+    public List<Request> drain() {
+        List<Request> drained = new ArrayList<>(requests.values());
+        requests.clear();
+        return drained;
+    }
+
+    /**
+     * Remove and return requests whose deadline has passed
+     */
+    public List<Request> expire(long now) {
+        List<Request> expired = new ArrayList<>();
+        Iterator<Request> iterator = requests.values().iterator();
+        while (iterator.hasNext()) {
+            Request request = iterator.next();
+            if (request.deadline <= now) {
+                expired.add(request);
+                iterator.remove();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return the earliest deadline of any pending request, or -1 if the queue is empty
+     */
+    public long nextDeadline() {
+        long next = -1;
+        for (Request request : requests.values()) {
+            if (next < 0 || request.deadline < next) {
+                next = request.deadline;
+            }
+        }
+        return next;
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    public void clear() {
+        requests.clear();
+    }
+}
@@ -0,0 +1,161 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps game placement names (e.g. "level_end") to a full-screen ad format and one or more
+ * ranked ad units (tiers). Loaded ads themselves live in the per-unit preload pools, so
+ * placements sharing an ad unit share its ready ads.
+ */
+public class PlacementRegistry {
+
+    public static final String FORMAT_INTERSTITIAL = "interstitial";
+    public static final String FORMAT_REWARDED = "rewarded";
+    // Not available to placements; app-open ads are driven by launch and foreground transitions
+    public static final String FORMAT_APP_OPEN = "app_open";
+
+    // Tiers are tried one at a time, falling through to the next on no-fill
+    public static final int MODE_WATERFALL = 0;
+    // hedgeWidth tiers are requested at once; every fill is kept and the best ranked one shown
+    public static final int MODE_HEDGED = 1;
+
+    public static final class Placement {
+        public final String id;
+        public final String format;
+        // Best ranked tier, also the only one for single-unit placements
+        public final String adUnitId;
+        public final String[] adUnitIds;
+        public final int mode;
+        public final int hedgeWidth;
+        public volatile boolean loadRequested;
+
+        // Tier cascade of the current load, only touched on the UI thread:
+        // tiers batchStart..nextTier-1 are requested, inFlight of them have no result yet
+        public int batchStart;
+        public int nextTier;
+        public int inFlight;
+
+        public Placement(String id, String format, String adUnitId) {
+            this(id, format, new String[]{adUnitId}, MODE_WATERFALL, 1);
+        }
+
+        /**
+         * @param adUnitIds Ad units, best ranked (e.g. highest floor) first
+         */
+        public Placement(String id, String format, String[] adUnitIds, int mode, int hedgeWidth) {
+            this.id = id;
+            this.format = format;
+            this.adUnitId = adUnitIds[0];
+            this.adUnitIds = adUnitIds;
+            this.mode = mode;
+            this.hedgeWidth = mode == MODE_HEDGED ? Math.max(1, Math.min(adUnitIds.length, hedgeWidth)) : 1;
+        }
+
+        public boolean isTiered() {
+            return adUnitIds.length > 1;
+        }
+
+        /**
+         * @return Rank of the ad unit in this placement, or -1 if it is not one of its tiers
+         */
+        public int tierOf(String unitId) {
+            for (int i = 0; i < adUnitIds.length; i++) {
+                if (adUnitIds[i].equals(unitId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * @return MODE_HEDGED for "hedged", MODE_WATERFALL otherwise
+     */
+    public static int parseMode(String mode) {
+        return "hedged".equalsIgnoreCase(mode) ? MODE_HEDGED : MODE_WATERFALL;
+    }
+
+    private final Map<String, Placement> placements = new ConcurrentHashMap<>();
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_INTERSTITIAL.equals(format) || FORMAT_REWARDED.equals(format);
+    }
+
+    /**
+     * Parse a placement list such as "level_end:rewarded:ca-app-pub-xxx/yyy;menu:interstitial:ca-app-pub-xxx/zzz".
+     * Entries are separated by ';', ',' or new lines; malformed entries and unsupported formats are skipped.
+     * @return Unregistered placements in list order
+     */
+    public static List<Placement> parse(String spec) {
+        List<Placement> result = new ArrayList<>();
+        if (spec == null) {
+            return result;
+        }
+        for (String entry : spec.split("[;,\\n]")) {
+            String[] fields = entry.trim().split(":");
+            if (fields.length != 3) {
+                continue;
+            }
+            String id = fields[0].trim();
+            String format = fields[1].trim().toLowerCase();
+            String adUnitId = fields[2].trim();
+            if (!id.isEmpty() && !adUnitId.isEmpty() && isSupportedFormat(format)) {
+                result.add(new Placement(id, format, adUnitId));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Register or replace a placement
+     * @return the previous placement with the same ID, or null
+     */
+    public Placement register(String placementId, String format, String adUnitId) {
+        return placements.put(placementId, new Placement(placementId, format, adUnitId));
+    }
+
+    /**
+     * Register or replace a placement backed by several ranked ad units
+     * @return the previous placement with the same ID, or null
+     */
+    public Placement register(String placementId, String format, String[] adUnitIds, int mode, int hedgeWidth) {
+        return placements.put(placementId, new Placement(placementId, format, adUnitIds, mode, hedgeWidth));
+    }
+
+    public Placement get(String placementId) {
+        return placementId != null ? placements.get(placementId) : null;
+    }
+
+    public Placement remove(String placementId) {
+        return placementId != null ? placements.remove(placementId) : null;
+    }
+
+    /**
+     * Placements of the format with the given ad unit among their tiers that have requested a load
+     */
+    public List<Placement> requestedFor(String format, String adUnitId) {
+        List<Placement> result = new ArrayList<>();
+        for (Placement placement : placements.values()) {
+            if (placement.loadRequested && placement.format.equals(format) && placement.tierOf(adUnitId) >= 0) {
+                result.add(placement);
+            }
+        }
+        return result;
+    }
+
+    public boolean isAdUnitInUse(String adUnitId) {
+        for (Placement placement : placements.values()) {
+            if (placement.tierOf(adUnitId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        placements.clear();
+    }
+}
@@ -0,0 +1,85 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Correlates load and show calls with the events they cause. Every call gets a request ID;
+ * a load request waits on its ad unit or placement until an ad is ready there or a load fails.
+ * IDs may be taken from any thread; waiters are used from the UI thread.
+ */
+public class RequestTracker {
+
+    /**
+     * ID of calls that are not tracked
+     */
+    public static final int NONE = 0;
+
+    /**
+     * One tracked load or show call
+     */
+    public static final class Request {
+        public final int id;
+        public final String format;
+        // Null for calls addressing an ad unit directly
+        public final String placementId;
+        public final String adUnitId;
+
+        public Request(int id, String format, String placementId, String adUnitId) {
+            this.id = id;
+            this.format = format;
+            this.placementId = placementId;
+            this.adUnitId = adUnitId;
+        }
+    }
+
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final Map<String, List<Request>> loadWaiters = new HashMap<>();
+
+    /**
+     * @return A new request ID, always positive
+     */
+    public int nextId() {
+        int id = lastId.incrementAndGet();
+        while (id <= NONE) {
+            lastId.compareAndSet(id, NONE);
+            id = lastId.incrementAndGet();
+        }
+        return id;
+    }
+
+    public static String unitKey(String format, String adUnitId) {
+        return format + "|" + adUnitId;
+    }
+
+    public static String placementKey(String placementId) {
+        return "placement|" + placementId;
+    }
+
+    /**
+     * Wait for the next load result under the key
+     */
+    public void waitForLoad(String key, Request request) {
+        List<Request> waiters = loadWaiters.get(key);
+        if (waiters == null) {
+            waiters = new ArrayList<>(2);
+            loadWaiters.put(key, waiters);
+        }
+        waiters.add(request);
+    }
+
+    /**
+     * Remove and return the requests waiting under the key
+     * @return The waiting requests, or null if there are none
+     */
+    public List<Request> takeLoadWaiters(String key) {
+        return loadWaiters.isEmpty() ? null : loadWaiters.remove(key);
+    }
+
+    public void clear() {
+        loadWaiters.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Immutable retry settings: exponential backoff with jitter and a no-fill circuit breaker
+ */
+public final class RetryPolicy {
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy(2000, 60000, 5, 0.2, 3, 300000);
+
+    public final long baseDelayMs;
+    public final long maxDelayMs;
+    public final int maxAttempts;
+    public final double jitter;
+    public final int noFillThreshold;
+    public final long breakerCooldownMs;
+
+    /**
+     * @param baseDelayMs Delay before the first retry
+     * @param maxDelayMs Upper bound for the backoff delay
+     * @param maxAttempts Retries allowed before giving up (0 disables retries)
+     * @param jitter Random spread applied to each delay, as a fraction (0-1)
+     * @param noFillThreshold Consecutive no-fill errors that open the circuit breaker
+     * @param breakerCooldownMs How long the circuit stays open
+     */
+    public RetryPolicy(long baseDelayMs, long maxDelayMs, int maxAttempts, double jitter,
+                int noFillThreshold, long breakerCooldownMs) {
+        this.baseDelayMs = Math.max(0, baseDelayMs);
+        this.maxDelayMs = Math.max(this.baseDelayMs, maxDelayMs);
+        this.maxAttempts = Math.max(0, maxAttempts);
+        this.jitter = Math.max(0.0, Math.min(1.0, jitter));
+        this.noFillThreshold = Math.max(1, noFillThreshold);
+        this.breakerCooldownMs = Math.max(0, breakerCooldownMs);
+    }
+
+    /**
+     * @param attempt 1-based retry attempt
+     * @param random Uniform random value in [0, 1)
+     * @return Delay in milliseconds before the attempt
+     */
+    public long delayForAttempt(int attempt, double random) {
+        long delay = baseDelayMs;
+        for (int i = 1; i < attempt && delay < maxDelayMs; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, maxDelayMs);
+        double factor = 1.0 - jitter + (2.0 * jitter * random);
+        return Math.round(delay * factor);
+    }
+}
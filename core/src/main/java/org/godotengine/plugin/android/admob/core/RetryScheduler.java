@@ -0,0 +1,206 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schedules automatic load retries per ad unit. Mutating calls must happen on the
+ * scheduler's thread; state snapshots may be read from any thread.
+ */
+public class RetryScheduler {
+
+    public static final class State {
+        public volatile int attempts;
+        public volatile int consecutiveNoFills;
+        public volatile long circuitOpenUntil;
+        public volatile long nextRetryAt = -1;
+        Scheduler.Task pending;
+        Runnable pendingRetry;
+        long suspendedDelay = -1;
+    }
+
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private final Random random;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private volatile RetryPolicy policy;
+    private boolean suspended;
+
+    public RetryScheduler(RetryPolicy policy, Clock clock, Scheduler scheduler, Random random) {
+        this.policy = policy;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.random = random;
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(RetryPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Record a failed load and schedule a retry if the policy allows it
+     * @param isNoFill Whether the failure was a no-fill
+     * @param retry Runnable issuing the retry load
+     * @return Delay of the scheduled retry in milliseconds, or -1 if none was scheduled
+     */
+    public long onFailure(String key, boolean isNoFill, final Runnable retry) {
+        final State state = getOrCreate(key);
+        cancelPending(state);
+
+        long now = clock.now();
+        if (isNoFill) {
+            state.consecutiveNoFills++;
+            if (state.consecutiveNoFills >= policy.noFillThreshold) {
+                state.circuitOpenUntil = now + policy.breakerCooldownMs;
+            }
+        } else {
+            state.consecutiveNoFills = 0;
+        }
+
+        if (isCircuitOpen(state, now) || state.attempts >= policy.maxAttempts) {
+            return -1;
+        }
+
+        state.attempts++;
+        long delay = policy.delayForAttempt(state.attempts, random.nextDouble());
+        state.pendingRetry = retry;
+        if (suspended) {
+            state.suspendedDelay = delay;
+        } else {
+            schedule(state, delay);
+        }
+        return delay;
+    }
+
+    /**
+     * Reset the unit's backoff after a successful load
+     */
+    public void onSuccess(String key) {
+        State state = states.remove(key);
+        if (state != null) {
+            cancelPending(state);
+        }
+    }
+
+    /**
+     * Start a fresh retry cycle for an explicit load request. An open circuit stays open.
+     */
+    public void onRequested(String key) {
+        State state = states.get(key);
+        if (state != null) {
+            cancelPending(state);
+            state.attempts = 0;
+        }
+    }
+
+    /**
+     * Cancel every pending retry, keeping attempt counts and circuit state
+     */
+    public void cancelAll() {
+        for (State state : states.values()) {
+            cancelPending(state);
+        }
+    }
+
+    /**
+     * Hold every pending retry, remembering its remaining delay, until resume() is called.
+     * Retries scheduled while suspended are held as well.
+     */
+    public void suspend() {
+        if (suspended) {
+            return;
+        }
+        suspended = true;
+        long now = clock.now();
+        for (State state : states.values()) {
+            if (state.pending != null) {
+                long remaining = Math.max(0, state.nextRetryAt - now);
+                Runnable retry = state.pendingRetry;
+                cancelPending(state);
+                state.pendingRetry = retry;
+                state.suspendedDelay = remaining;
+            }
+        }
+    }
+
+    /**
+     * Reschedule retries held by suspend() with their remaining delay
+     */
+    public void resume() {
+        if (!suspended) {
+            return;
+        }
+        suspended = false;
+        for (State state : states.values()) {
+            if (state.suspendedDelay >= 0 && state.pendingRetry != null) {
+                long delay = state.suspendedDelay;
+                state.suspendedDelay = -1;
+                schedule(state, delay);
+            }
+        }
+    }
+
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    public boolean isCircuitOpen(String key) {
+        State state = states.get(key);
+        return state != null && isCircuitOpen(state, clock.now());
+    }
+
+    public State getState(String key) {
+        return states.get(key);
+    }
+
+    public long now() {
+        return clock.now();
+    }
+
+    public void clear() {
+        cancelAll();
+        states.clear();
+    }
+
+    private boolean isCircuitOpen(State state, long now) {
+        return state.circuitOpenUntil > now;
+    }
+
+    private State getOrCreate(String key) {
+        State state = states.get(key);
+        if (state == null) {
+            state = new State();
+            states.put(key, state);
+        }
+        return state;
+    }
+
+    private void schedule(final State state, long delay) {
+        final Runnable retry = state.pendingRetry;
+        state.nextRetryAt = clock.now() + delay;
+        state.pending = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                state.pending = null;
+                state.pendingRetry = null;
+                state.nextRetryAt = -1;
+                retry.run();
+            }
+        }, delay);
+    }
+
+    private void cancelPending(State state) {
+        if (state.pending != null) {
+            state.pending.cancel();
+            state.pending = null;
+        }
+        state.pendingRetry = null;
+        state.suspendedDelay = -1;
+        state.nextRetryAt = -1;
+    }
+}
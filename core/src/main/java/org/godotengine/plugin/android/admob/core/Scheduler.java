@@ -0,0 +1,13 @@
+package org.godotengine.plugin.android.admob.core;
+
+/**
+ * Runs delayed tasks on the plugin's callback thread. Replaceable with a fake scheduler in tests.
+ */
+public interface Scheduler {
+
+    interface Task {
+        void cancel();
+    }
+
+    Task schedule(Runnable runnable, long delayMs);
+}
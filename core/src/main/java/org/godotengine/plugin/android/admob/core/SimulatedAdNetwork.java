@@ -0,0 +1,226 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local ad network for tests and benchmarks. Loads complete after a latency drawn from a
+ * configurable distribution and fill or fail according to the configured fill rate and error
+ * codes. Loaded ads expire after a configurable time and fail to show once expired.
+ * Callbacks are delivered through the given Scheduler; use it from the scheduler's thread.
+ */
+public class SimulatedAdNetwork implements AdNetwork {
+
+    // Show error codes, matching the SDK values
+    public static final int ERROR_CODE_AD_REUSED = 1;
+    public static final int ERROR_CODE_NOT_READY = 2;
+
+    public static final String REWARD_TYPE = "coins";
+    public static final int REWARD_AMOUNT = 10;
+
+    /**
+     * Draws a latency in milliseconds
+     */
+    public interface LatencyModel {
+        long sample(Random random);
+    }
+
+    public static LatencyModel fixed(final long ms) {
+        return new LatencyModel() {
+            @Override
+            public long sample(Random random) {
+                return ms;
+            }
+        };
+    }
+
+    public static LatencyModel uniform(final long minMs, final long maxMs) {
+        return new LatencyModel() {
+            @Override
+            public long sample(Random random) {
+                return minMs + (long) (random.nextDouble() * (maxMs - minMs));
+            }
+        };
+    }
+
+    /**
+     * Log-normal latency, the usual shape of network round trips: most loads close to the
+     * median with a long tail
+     * @param sigma Spread of the underlying normal distribution (0.5 is a moderate tail)
+     */
+    public static LatencyModel logNormal(final long medianMs, final double sigma) {
+        return new LatencyModel() {
+            @Override
+            public long sample(Random random) {
+                return Math.round(medianMs * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+    }
+
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private final Random random;
+
+    private volatile LatencyModel loadLatency = logNormal(800, 0.5);
+    private volatile LatencyModel showLatency = fixed(50);
+    private volatile long showDurationMs = 5000;
+    private volatile double fillRate = 1.0;
+    private final ConcurrentHashMap<String, Double> unitFillRates = new ConcurrentHashMap<>();
+    private volatile int[] errorCodes = {ERROR_CODE_NO_FILL};
+    private volatile long expiryMs = 60 * 60 * 1000;
+    private volatile boolean canShow = true;
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong fills = new AtomicLong();
+    private final AtomicLong shows = new AtomicLong();
+
+    public SimulatedAdNetwork(Clock clock, Scheduler scheduler, Random random) {
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.random = random;
+    }
+
+    public SimulatedAdNetwork setLoadLatency(LatencyModel latency) {
+        this.loadLatency = latency;
+        return this;
+    }
+
+    /**
+     * @param latency Time from show() until the ad is on screen
+     */
+    public SimulatedAdNetwork setShowLatency(LatencyModel latency) {
+        this.showLatency = latency;
+        return this;
+    }
+
+    /**
+     * @param durationMs How long an ad stays on screen before it is dismissed
+     */
+    public SimulatedAdNetwork setShowDuration(long durationMs) {
+        this.showDurationMs = Math.max(0, durationMs);
+        return this;
+    }
+
+    /**
+     * @param fillRate Probability (0-1) that a load returns an ad
+     */
+    public SimulatedAdNetwork setFillRate(double fillRate) {
+        this.fillRate = Math.max(0.0, Math.min(1.0, fillRate));
+        return this;
+    }
+
+    /**
+     * Override the fill rate of one ad unit, e.g. to make one tier of a placement come back empty
+     * @param fillRate Probability (0-1) that a load of this unit returns an ad
+     */
+    public SimulatedAdNetwork setFillRate(String adUnitId, double fillRate) {
+        unitFillRates.put(adUnitId, Math.max(0.0, Math.min(1.0, fillRate)));
+        return this;
+    }
+
+    /**
+     * @param codes Error codes of unfilled loads, picked uniformly. Repeat a code to weight it.
+     */
+    public SimulatedAdNetwork setErrorCodes(int... codes) {
+        this.errorCodes = codes.length > 0 ? codes.clone() : new int[]{ERROR_CODE_NO_FILL};
+        return this;
+    }
+
+    /**
+     * @param expiryMs Time after loading at which an ad can no longer be shown
+     */
+    public SimulatedAdNetwork setExpiry(long expiryMs) {
+        this.expiryMs = expiryMs;
+        return this;
+    }
+
+    /**
+     * Simulate whether an activity is available to show ads on
+     */
+    public SimulatedAdNetwork setCanShow(boolean canShow) {
+        this.canShow = canShow;
+        return this;
+    }
+
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    public long getFillCount() {
+        return fills.get();
+    }
+
+    public long getShowCount() {
+        return shows.get();
+    }
+
+    @Override
+    public void load(final String format, final String adUnitId, final LoadCallback callback) {
+        loads.incrementAndGet();
+        Double unitFillRate = unitFillRates.get(adUnitId);
+        final boolean filled = random.nextDouble() < (unitFillRate != null ? unitFillRate : fillRate);
+        final int[] codes = errorCodes;
+        final int errorCode = codes[random.nextInt(codes.length)];
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (filled) {
+                    fills.incrementAndGet();
+                    callback.onLoaded(new SimulatedAd(format, clock.now() + expiryMs));
+                } else {
+                    callback.onFailed(errorCode, errorCode == ERROR_CODE_NO_FILL
+                            ? "No fill" : "Simulated error " + errorCode);
+                }
+            }
+        }, Math.max(0, loadLatency.sample(random)));
+    }
+
+    @Override
+    public boolean canShow() {
+        return canShow;
+    }
+
+    private final class SimulatedAd implements FullScreenAd {
+        private final boolean isRewarded;
+        private final long expiresAt;
+        private boolean shown;
+
+        SimulatedAd(String format, long expiresAt) {
+            this.isRewarded = PlacementRegistry.FORMAT_REWARDED.equals(format);
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public void show(final Listener listener) {
+            if (shown) {
+                listener.onFailedToShow(ERROR_CODE_AD_REUSED, "Ad already shown");
+                return;
+            }
+            shown = true;
+            if (clock.now() >= expiresAt) {
+                listener.onFailedToShow(ERROR_CODE_NOT_READY, "Ad expired");
+                return;
+            }
+
+            shows.incrementAndGet();
+            long showDelay = Math.max(0, showLatency.sample(random));
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onShowed();
+                    listener.onImpression();
+                }
+            }, showDelay);
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (isRewarded) {
+                        listener.onRewarded(REWARD_TYPE, REWARD_AMOUNT);
+                    }
+                    listener.onDismissed();
+                }
+            }, showDelay + showDurationMs);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.PriorityQueue;
+
+/**
+ * Single-threaded virtual-time Clock and Scheduler. Tasks only run when time is advanced,
+ * so simulations are deterministic and run as fast as the CPU allows. Not thread-safe.
+ */
+public class SimulatedScheduler implements Clock, Scheduler {
+
+    private static final class ScheduledTask implements Task, Comparable<ScheduledTask> {
+        final long runAt;
+        final long sequence;
+        final Runnable runnable;
+        boolean cancelled;
+
+        ScheduledTask(long runAt, long sequence, Runnable runnable) {
+            this.runAt = runAt;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            if (runAt != other.runAt) {
+                return runAt < other.runAt ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public Task schedule(Runnable runnable, long delayMs) {
+        ScheduledTask task = new ScheduledTask(now + Math.max(0, delayMs), sequence++, runnable);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Advance virtual time, running every task due on the way in order
+     * @return Number of tasks run
+     */
+    public int advanceBy(long ms) {
+        long target = now + Math.max(0, ms);
+        int run = 0;
+        ScheduledTask task;
+        while ((task = tasks.peek()) != null && task.runAt <= target) {
+            tasks.poll();
+            now = task.runAt;
+            if (!task.cancelled) {
+                task.runnable.run();
+                run++;
+            }
+        }
+        now = target;
+        return run;
+    }
+
+    /**
+     * Run tasks until none are left, jumping virtual time to each one
+     * @param maxTasks Upper bound guarding against tasks that keep rescheduling themselves
+     * @return Number of tasks run
+     */
+    public int runUntilIdle(int maxTasks) {
+        int run = 0;
+        ScheduledTask task;
+        while (run < maxTasks && (task = tasks.poll()) != null) {
+            now = Math.max(now, task.runAt);
+            if (!task.cancelled) {
+                task.runnable.run();
+                run++;
+            }
+        }
+        return run;
+    }
+
+    /**
+     * @return Number of scheduled tasks, including cancelled ones not yet reached
+     */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+}
@@ -0,0 +1,60 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records when each startup phase completed, relative to the start of the pipeline.
+ * Each phase is recorded once. Safe to use from any thread.
+ */
+public class StartupTimeline {
+
+    public static final String PHASE_CONSENT = "consent";
+    public static final String PHASE_CONSENT_FAILED = "consent_failed";
+    public static final String PHASE_CONSENT_FORM = "consent_form";
+    public static final String PHASE_INIT = "init";
+    public static final String PHASE_PRELOAD = "preload";
+    public static final String PHASE_FIRST_AD = "first_ad";
+    // Every mediation adapter finished; may come after preload in "wait_for" mode
+    public static final String PHASE_ADAPTERS = "adapters";
+
+    private final Clock clock;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private long startedAt = -1;
+
+    public StartupTimeline(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Start a new timeline, forgetting any previous one
+     */
+    public synchronized void start() {
+        phases.clear();
+        startedAt = clock.now();
+    }
+
+    public synchronized boolean isStarted() {
+        return startedAt >= 0;
+    }
+
+    /**
+     * Record the completion of a phase
+     * @return Milliseconds since start, or -1 if not started or the phase was already recorded
+     */
+    public synchronized long mark(String phase) {
+        if (startedAt < 0 || phases.containsKey(phase)) {
+            return -1;
+        }
+        long elapsed = clock.now() - startedAt;
+        phases.put(phase, elapsed);
+        return elapsed;
+    }
+
+    /**
+     * @return Phase name -> milliseconds since start, in completion order
+     */
+    public synchronized Map<String, Object> snapshot() {
+        return new LinkedHashMap<String, Object>(phases);
+    }
+}
@@ -0,0 +1,121 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring buffer of the most recent trace records (type, placement, code, timestamp),
+ * kept for dumping on demand. Records are stored in preallocated parallel arrays and the
+ * oldest record is overwritten when the buffer is full, so recording never blocks nor
+ * allocates. Safe to record from any thread; a record overwritten while it is being dumped
+ * is skipped.
+ */
+public class TraceBuffer {
+
+    public static final int RECORD_STRIDE = 4;
+
+    // Trace-only record types, numbered after the AdEvent types
+    public static final int LOAD_STARTED = 100;
+    public static final int SHOW_STARTED = 101;
+
+    private final int capacity;
+    private final int mask;
+    // Position + 1 of the record held by each entry, 0 while it is being written
+    private final AtomicLongArray sequences;
+    private final int[] types;
+    private final String[] placements;
+    private final int[] codes;
+    private final long[] timestamps;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity Number of records kept, rounded up to a power of two
+     */
+    public TraceBuffer(int capacity) {
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.types = new int[size];
+        this.placements = new String[size];
+        this.codes = new int[size];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * @param type An AdEvent type, LOAD_STARTED or SHOW_STARTED
+     * @param placement Placement or ad unit ID, or null
+     */
+    public void record(int type, String placement, int code, long timestamp) {
+        long position = tail.getAndIncrement();
+        int index = (int) (position & mask);
+        sequences.set(index, 0);
+        types[index] = type;
+        placements[index] = placement;
+        codes[index] = code;
+        timestamps[index] = timestamp;
+        sequences.set(index, position + 1);
+    }
+
+    /**
+     * Copy the buffered records, oldest first, without removing them
+     * @return Flat array of RECORD_STRIDE values per record: type name, placement, code, timestamp
+     */
+    public Object[] dump() {
+        long end = tail.get();
+        long start = Math.max(0, end - capacity);
+        Object[] result = new Object[(int) (end - start) * RECORD_STRIDE];
+        int count = 0;
+        for (long position = start; position < end; position++) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                continue;
+            }
+            int type = types[index];
+            String placement = placements[index];
+            int code = codes[index];
+            long timestamp = timestamps[index];
+            if (sequences.get(index) != position + 1) {
+                continue;
+            }
+            int offset = count * RECORD_STRIDE;
+            result[offset] = typeName(type);
+            result[offset + 1] = placement != null ? placement : "";
+            result[offset + 2] = code;
+            result[offset + 3] = timestamp;
+            count++;
+        }
+        return count * RECORD_STRIDE == result.length ? result : Arrays.copyOf(result, count * RECORD_STRIDE);
+    }
+
+    /**
+     * Forget every record. Records made while clearing may survive.
+     */
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, 0);
+            placements[i] = null;
+        }
+    }
+
+    /**
+     * @return The signal name of an event type, "request_" followed by the event of a REQUEST_* type,
+     *         "load_started" or "show_started"
+     */
+    public static String typeName(int type) {
+        if (type == LOAD_STARTED) {
+            return "load_started";
+        }
+        if (type == SHOW_STARTED) {
+            return "show_started";
+        }
+        if (type >= AdEvent.REQUEST_LOADED && type <= AdEvent.REQUEST_CLOSED) {
+            return "request_" + AdEvent.requestEventName(type);
+        }
+        return type >= 0 && type < AdEvent.SIGNAL_NAMES.length ? AdEvent.SIGNAL_NAMES[type] : "unknown";
+    }
+}
@@ -0,0 +1,282 @@
+package org.godotengine.plugin.android.admob.core;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Collects the UI thread work requested from the game thread into one batch that is applied by
+ * a single post, so a frame of plugin calls costs one message on the UI thread.
+ * Banner commands are coalesced as they arrive: a remove cancels a pending load, move and
+ * visibility change, a load cancels pending moves and visibility changes, and only the last
+ * move and the last show or hide are kept. They are applied in the order remove, load, move,
+ * visibility, followed by the other commands in the order they were posted.
+ * Tracked loads dropped this way are reported to the target as cancelled before the batch.
+ * Banner commands are written into preallocated records, so enqueueing them does not allocate.
+ */
+public class UiCommandQueue {
+
+    /**
+     * Applies coalesced banner commands on the UI thread
+     */
+    public interface Target {
+        /**
+         * @param requestId ID reported with the load result, or RequestTracker.NONE
+         */
+        void load(String adUnitId, String position, String size, int requestId);
+
+        /**
+         * A tracked load was superseded before it was applied
+         */
+        void cancelled(int requestId);
+
+        void move(String position, int offsetX, int offsetY);
+
+        void setVisible(boolean visible);
+
+        void remove();
+    }
+
+    private static final int VISIBILITY_UNCHANGED = 0;
+    private static final int VISIBILITY_VISIBLE = 1;
+    private static final int VISIBILITY_HIDDEN = 2;
+
+    private static final class Batch {
+        boolean remove;
+        boolean load;
+        int loadRequestId;
+        String adUnitId;
+        String loadPosition;
+        String size;
+        boolean move;
+        String movePosition;
+        int offsetX;
+        int offsetY;
+        int visibility;
+        // IDs of tracked loads superseded within this batch
+        int[] cancelled = new int[4];
+        int cancelledCount;
+        // Other commands, in the order they were posted
+        Runnable[] commands = new Runnable[8];
+        int commandCount;
+
+        void reset() {
+            remove = false;
+            load = false;
+            loadRequestId = RequestTracker.NONE;
+            cancelledCount = 0;
+            adUnitId = null;
+            loadPosition = null;
+            size = null;
+            move = false;
+            movePosition = null;
+            offsetX = 0;
+            offsetY = 0;
+            visibility = VISIBILITY_UNCHANGED;
+            Arrays.fill(commands, 0, commandCount, null);
+            commandCount = 0;
+        }
+    }
+
+    private final Executor uiExecutor;
+    private final Target target;
+    private Batch pending = new Batch();
+    private Batch applying = new Batch();
+    private boolean drainPosted;
+    private long submittedCount;
+    private long appliedCount;
+    private long batchCount;
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    /**
+     * @param uiExecutor Posts a Runnable to the UI thread
+     * @param target Applies the banner commands on the UI thread
+     */
+    public UiCommandQueue(Executor uiExecutor, Target target) {
+        this.uiExecutor = uiExecutor;
+        this.target = target;
+    }
+
+    public void load(String adUnitId, String position, String size) {
+        load(adUnitId, position, size, RequestTracker.NONE);
+    }
+
+    public void load(String adUnitId, String position, String size, int requestId) {
+        synchronized (this) {
+            Batch batch = pending;
+            cancelPendingLoad(batch);
+            batch.load = true;
+            batch.loadRequestId = requestId;
+            batch.adUnitId = adUnitId;
+            batch.loadPosition = position;
+            batch.size = size;
+            // Loading replaces the current banner and shows the new one at its position
+            batch.remove = false;
+            batch.move = false;
+            batch.movePosition = null;
+            batch.visibility = VISIBILITY_UNCHANGED;
+            if (!submit()) {
+                return;
+            }
+        }
+        uiExecutor.execute(drainTask);
+    }
+
+    public void move(String position, int offsetX, int offsetY) {
+        synchronized (this) {
+            Batch batch = pending;
+            batch.move = true;
+            batch.movePosition = position;
+            batch.offsetX = offsetX;
+            batch.offsetY = offsetY;
+            if (!submit()) {
+                return;
+            }
+        }
+        uiExecutor.execute(drainTask);
+    }
+
+    public void setVisible(boolean visible) {
+        synchronized (this) {
+            Batch batch = pending;
+            batch.visibility = visible ? VISIBILITY_VISIBLE : VISIBILITY_HIDDEN;
+            if (!submit()) {
+                return;
+            }
+        }
+        uiExecutor.execute(drainTask);
+    }
+
+    public void remove() {
+        synchronized (this) {
+            Batch batch = pending;
+            cancelPendingLoad(batch);
+            batch.remove = true;
+            batch.load = false;
+            batch.adUnitId = null;
+            batch.loadPosition = null;
+            batch.size = null;
+            batch.move = false;
+            batch.movePosition = null;
+            batch.visibility = VISIBILITY_UNCHANGED;
+            if (!submit()) {
+                return;
+            }
+        }
+        uiExecutor.execute(drainTask);
+    }
+
+    /**
+     * Run a command on the UI thread with the next batch
+     */
+    public void post(Runnable command) {
+        synchronized (this) {
+            Batch batch = pending;
+            if (batch.commandCount == batch.commands.length) {
+                batch.commands = Arrays.copyOf(batch.commands, batch.commands.length * 2);
+            }
+            batch.commands[batch.commandCount++] = command;
+            if (!submit()) {
+                return;
+            }
+        }
+        uiExecutor.execute(drainTask);
+    }
+
+    /**
+     * Drop every command not applied yet
+     */
+    public synchronized void clear() {
+        pending.reset();
+    }
+
+    /**
+     * @return Number of commands enqueued since creation
+     */
+    public synchronized long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    /**
+     * @return Number of commands actually applied after coalescing
+     */
+    public synchronized long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * @return Number of batches posted to the UI thread
+     */
+    public synchronized long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Record the pending load of the batch, if it is tracked, as cancelled
+     */
+    private static void cancelPendingLoad(Batch batch) {
+        if (!batch.load || batch.loadRequestId == RequestTracker.NONE) {
+            return;
+        }
+        if (batch.cancelledCount == batch.cancelled.length) {
+            batch.cancelled = Arrays.copyOf(batch.cancelled, batch.cancelled.length * 2);
+        }
+        batch.cancelled[batch.cancelledCount++] = batch.loadRequestId;
+        batch.loadRequestId = RequestTracker.NONE;
+    }
+
+    /**
+     * Count a command written into the pending batch
+     * @return true if the batch was empty and the caller must post the drain task
+     */
+    private boolean submit() {
+        submittedCount++;
+        if (drainPosted) {
+            return false;
+        }
+        drainPosted = true;
+        batchCount++;
+        return true;
+    }
+
+    /**
+     * Apply the pending batch. Runs on the UI thread.
+     */
+    private void drain() {
+        Batch batch;
+        synchronized (this) {
+            batch = pending;
+            pending = applying;
+            applying = batch;
+            drainPosted = false;
+            int applied = (batch.remove ? 1 : 0) + (batch.load ? 1 : 0) + (batch.move ? 1 : 0)
+                    + (batch.visibility != VISIBILITY_UNCHANGED ? 1 : 0) + batch.commandCount;
+            appliedCount += applied;
+        }
+
+        for (int i = 0; i < batch.cancelledCount; i++) {
+            target.cancelled(batch.cancelled[i]);
+        }
+        if (batch.remove) {
+            target.remove();
+        }
+        if (batch.load) {
+            target.load(batch.adUnitId, batch.loadPosition, batch.size, batch.loadRequestId);
+        }
+        if (batch.move) {
+            target.move(batch.movePosition, batch.offsetX, batch.offsetY);
+        }
+        if (batch.visibility != VISIBILITY_UNCHANGED) {
+            target.setVisible(batch.visibility == VISIBILITY_VISIBLE);
+        }
+        for (int i = 0; i < batch.commandCount; i++) {
+            batch.commands[i].run();
+        }
+        batch.reset();
+    }
+}
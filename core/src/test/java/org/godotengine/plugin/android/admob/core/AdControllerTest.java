@@ -0,0 +1,593 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives AdController against SimulatedAdNetwork on a SimulatedScheduler, so every scenario
+ * runs on virtual time. Tests time out instead of hanging if a timer keeps rescheduling itself.
+ */
+public class AdControllerTest {
+
+    private static final long TIMEOUT_MS = 5000;
+    private static final String UNIT = "unit";
+
+    private static final class Event {
+        final int type;
+        final String placement;
+        final int code;
+        final Object[] args;
+
+        Event(int type, String placement, int code, Object[] args) {
+            this.type = type;
+            this.placement = placement;
+            this.code = code;
+            this.args = args;
+        }
+    }
+
+    private final List<Event> events = new ArrayList<>();
+    private SimulatedScheduler scheduler;
+    private SimulatedAdNetwork network;
+    private AdController controller;
+
+    @Before
+    public void setUp() {
+        scheduler = new SimulatedScheduler();
+        network = new SimulatedAdNetwork(scheduler, scheduler, new Random(1))
+                .setLoadLatency(SimulatedAdNetwork.fixed(100))
+                .setShowLatency(SimulatedAdNetwork.fixed(50))
+                .setShowDuration(1000);
+        controller = newController();
+        // No jitter, so retry delays are exact
+        controller.getRetryScheduler().setPolicy(new RetryPolicy(1000, 8000, 3, 0, 100, 60000));
+        controller.onInitialized();
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void loadShowConsume() {
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        assertTrue(controller.isInterstitialLoaded());
+        assertEquals(1, count(AdEvent.INTERSTITIAL_LOADED));
+
+        controller.showInterstitial();
+        // The shown ad left the pool and its replacement is loading
+        assertFalse(controller.isInterstitialLoaded());
+        scheduler.advanceBy(50);
+        assertEquals(1, count(AdEvent.AD_OPENED));
+        scheduler.advanceBy(1000);
+        assertEquals(1, count(AdEvent.AD_CLOSED));
+        assertTrue(controller.isInterstitialLoaded());
+        assertEquals(2, network.getLoadCount());
+
+        // The next show uses the replacement, not the consumed ad
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        assertEquals(2, count(AdEvent.AD_OPENED));
+        assertEquals(2, network.getShowCount());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void rewardedShowReportsTheReward() {
+        controller.loadRewarded(UNIT);
+        scheduler.advanceBy(100);
+        assertTrue(controller.isRewardedLoaded());
+
+        controller.showRewarded();
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.REWARDED));
+        assertEquals(SimulatedAdNetwork.REWARD_AMOUNT, events.get(indexOf(AdEvent.REWARDED)).code);
+        assertEquals(1, count(AdEvent.AD_CLOSED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void showWithoutAnAdFails() {
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        assertEquals(0, count(AdEvent.AD_OPENED));
+        assertEquals(0, network.getShowCount());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void expiredAdIsReplacedBeforeItExpires() {
+        controller.setAdExpiry(10000, 2000);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        assertEquals(1, network.getLoadCount());
+
+        // The replacement load starts at TTL minus the refresh lead
+        scheduler.advanceBy(7999);
+        assertEquals(1, network.getLoadCount());
+        scheduler.advanceBy(1);
+        assertEquals(2, network.getLoadCount());
+
+        scheduler.advanceBy(2000);
+        assertEquals(1L, unitMetrics().get("expired"));
+        assertTrue(controller.isInterstitialLoaded());
+
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.AD_OPENED));
+        assertEquals(0, count(AdEvent.AD_FAILED_TO_LOAD));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void shownAdsLeaveNoTimersBehind() {
+        network.setLoadLatency(SimulatedAdNetwork.fixed(0))
+                .setShowLatency(SimulatedAdNetwork.fixed(0))
+                .setShowDuration(0);
+        controller.registerPlacement("level_end", PlacementRegistry.FORMAT_REWARDED, UNIT);
+        controller.loadPlacement("level_end");
+        scheduler.advanceBy(0);
+        for (int i = 0; i < 1000; i++) {
+            controller.showPlacement("level_end");
+            scheduler.advanceBy(0);
+        }
+        assertEquals(1000, count(AdEvent.PLACEMENT_REWARDED));
+        assertTrue(controller.isPlacementLoaded("level_end"));
+
+        // Nothing keeps rescheduling itself once the controller is destroyed
+        controller.destroy();
+        assertEquals(0, scheduler.runUntilIdle(1000));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void requestIdsCorrelateEvents() {
+        int loadId = controller.newRequestId();
+        controller.loadInterstitial(UNIT, loadId);
+        scheduler.advanceBy(100);
+        assertEquals(List.of(AdEvent.REQUEST_LOADED), requestEvents(loadId));
+
+        int showId = controller.newRequestId();
+        controller.showInterstitial(showId);
+        scheduler.advanceBy(1050);
+        assertEquals(List.of(AdEvent.REQUEST_OPENED, AdEvent.REQUEST_IMPRESSION, AdEvent.REQUEST_CLOSED),
+                requestEvents(showId));
+        // The load request finished with its first result
+        assertEquals(List.of(AdEvent.REQUEST_LOADED), requestEvents(loadId));
+
+        network.setFillRate("empty", 0);
+        int failedId = controller.newRequestId();
+        controller.loadRewarded("empty", failedId);
+        scheduler.advanceBy(100);
+        assertEquals(List.of(AdEvent.REQUEST_FAILED_TO_LOAD), requestEvents(failedId));
+        Event failed = events.get(indexOf(AdEvent.REQUEST_FAILED_TO_LOAD));
+        assertEquals(failedId, failed.args[0]);
+        assertEquals("failed_to_load", failed.args[1]);
+        assertEquals(PlacementRegistry.FORMAT_REWARDED, failed.args[2]);
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void loadOfAnAlreadyReadyUnitCompletesAtOnce() {
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        int loadId = controller.newRequestId();
+        controller.loadInterstitial(UNIT, loadId);
+        assertEquals(List.of(AdEvent.REQUEST_LOADED), requestEvents(loadId));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void renderingIsSuspendedForTheWholeShow() {
+        controller.setPauseRenderingDuringAds(true);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+
+        controller.showInterstitial();
+        // Suspended by the show call, before the ad covers the game
+        assertEquals(1, count(AdEvent.RENDERING_SUSPENDED));
+        assertEquals(0, count(AdEvent.AD_OPENED));
+        scheduler.advanceBy(1049);
+        assertEquals(0, count(AdEvent.RENDERING_RESUMED));
+        scheduler.advanceBy(1);
+        assertEquals(1, count(AdEvent.AD_CLOSED));
+        assertEquals(1050, events.get(indexOf(AdEvent.RENDERING_RESUMED)).code);
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void renderingIsNotSuspendedWithoutAnAdOrWhenDisabled() {
+        controller.setPauseRenderingDuringAds(true);
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        assertEquals(0, count(AdEvent.RENDERING_SUSPENDED));
+
+        controller.setPauseRenderingDuringAds(false);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.AD_CLOSED));
+        assertEquals(0, count(AdEvent.RENDERING_SUSPENDED));
+        assertEquals(0, count(AdEvent.RENDERING_RESUMED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void traceRecordsLoadsAndShows() {
+        TraceBuffer trace = new TraceBuffer(64);
+        controller.setTraceBuffer(trace);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+
+        List<Object> types = new ArrayList<>();
+        Object[] records = trace.dump();
+        for (int i = 0; i < records.length; i += TraceBuffer.RECORD_STRIDE) {
+            types.add(records[i]);
+        }
+        // The initial load, then the show and the refill it starts
+        assertEquals(3, types.size());
+        assertEquals("load_started", types.get(0));
+        assertTrue(types.contains("show_started"));
+        assertEquals(UNIT, records[1]);
+        assertEquals(100L, records[records.length - 1]);
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void failedLoadsRetryWithExponentialBackoff() {
+        network.setFillRate(0);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        assertEquals(1, network.getLoadCount());
+
+        scheduler.advanceBy(999);
+        assertEquals(1, network.getLoadCount());
+        scheduler.advanceBy(1);
+        assertEquals(2, network.getLoadCount());
+
+        scheduler.advanceBy(100 + 2000);
+        assertEquals(3, network.getLoadCount());
+        scheduler.advanceBy(100 + 4000);
+        assertEquals(4, network.getLoadCount());
+
+        // maxAttempts reached
+        scheduler.advanceBy(60000);
+        assertEquals(4, network.getLoadCount());
+        List<Integer> delays = new ArrayList<>();
+        for (Event event : events) {
+            if (event.type == AdEvent.LOAD_RETRY_SCHEDULED) {
+                delays.add(event.code);
+            }
+        }
+        assertEquals(List.of(1000, 2000, 4000), delays);
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void successfulRetryResetsTheBackoff() {
+        network.setFillRate(0);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        network.setFillRate(1);
+        scheduler.advanceBy(1100);
+        assertTrue(controller.isInterstitialLoaded());
+        assertNull(controller.getRetryScheduler().getState(UNIT));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void pausedAppHoldsRetriesAndRefills() {
+        network.setFillRate(0);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        scheduler.advanceBy(400);
+        controller.pause();
+        controller.loadRewarded("other");
+        scheduler.advanceBy(10000);
+        assertEquals(1, network.getLoadCount());
+
+        // The retry keeps its remaining 600ms and the held refill starts at once
+        network.setFillRate(1);
+        controller.resume();
+        assertEquals(2, network.getLoadCount());
+        scheduler.advanceBy(599);
+        assertEquals(2, network.getLoadCount());
+        scheduler.advanceBy(1);
+        assertEquals(3, network.getLoadCount());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void memoryPressureReleasesReadyAdsInSteps() {
+        controller.setPreloadDepth(2);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        assertEquals(2, controller.getReadyCount(UNIT));
+
+        controller.onMemoryPressure(AdController.MEMORY_MODERATE);
+        assertEquals(1, controller.getReadyCount(UNIT));
+        controller.onMemoryPressure(AdController.MEMORY_CRITICAL);
+        assertFalse(controller.isInterstitialLoaded());
+        assertEquals(2L, unitMetrics().get("evicted"));
+        scheduler.advanceBy(1000);
+        assertEquals(2, network.getLoadCount());
+
+        // One step down to moderate refills one ad, the next step back to the full depth
+        scheduler.advanceBy(AdController.MEMORY_RECOVERY_STEP_MS - 1000);
+        assertEquals(AdController.MEMORY_MODERATE, controller.getMemoryPressure());
+        scheduler.advanceBy(100);
+        assertEquals(1, controller.getReadyCount(UNIT));
+        scheduler.advanceBy(AdController.MEMORY_RECOVERY_STEP_MS);
+        assertEquals(2, controller.getReadyCount(UNIT));
+        assertEquals(4, count(AdEvent.MEMORY_PRESSURE_CHANGED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void explicitLoadsFetchOneAdUnderCriticalPressure() {
+        controller.onMemoryPressure(AdController.MEMORY_CRITICAL);
+        int loadId = controller.newRequestId();
+        controller.loadInterstitial(UNIT, loadId);
+        controller.registerPlacement("level_end", PlacementRegistry.FORMAT_REWARDED, "other");
+        int placementId = controller.newRequestId();
+        controller.loadPlacement("level_end", placementId);
+        scheduler.advanceBy(100);
+        assertEquals(List.of(AdEvent.REQUEST_LOADED), requestEvents(loadId));
+        assertEquals(List.of(AdEvent.REQUEST_LOADED), requestEvents(placementId));
+        assertEquals(1, controller.getReadyCount(UNIT));
+        assertEquals(2, network.getLoadCount());
+
+        // Showing it does not start an automatic refill
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.AD_CLOSED));
+        assertEquals(2, network.getLoadCount());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void offlineHoldsLoadsUntilTheNetworkReturns() {
+        controller.onNetworkChanged(AdController.NETWORK_NONE, false);
+        controller.loadInterstitial(UNIT);
+        controller.loadRewarded("other");
+        scheduler.advanceBy(10000);
+        assertEquals(0, network.getLoadCount());
+
+        controller.onNetworkChanged(AdController.NETWORK_WIFI, false);
+        assertEquals(2, network.getLoadCount());
+        scheduler.advanceBy(100);
+        assertTrue(controller.isInterstitialLoaded());
+        assertTrue(controller.isRewardedLoaded());
+        assertEquals(2, count(AdEvent.NETWORK_CHANGED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void meteredNetworksPreloadLessAndKeepLoadedAds() {
+        controller.setPreloadDepth(3);
+        controller.loadInterstitial(UNIT);
+        scheduler.advanceBy(100);
+        assertEquals(3, controller.getReadyCount(UNIT));
+
+        controller.onNetworkChanged(AdController.NETWORK_CELLULAR, true);
+        assertEquals(3, controller.getReadyCount(UNIT));
+        controller.showInterstitial();
+        scheduler.advanceBy(1050);
+        // Two ads are still ready, above the metered depth, so nothing is refilled
+        assertEquals(3, network.getLoadCount());
+
+        controller.onNetworkChanged(AdController.NETWORK_WIFI, false);
+        assertEquals(4, network.getLoadCount());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void placementsSharingAnAdUnitShareItsAds() {
+        controller.registerPlacement("menu", PlacementRegistry.FORMAT_INTERSTITIAL, UNIT);
+        controller.registerPlacement("pause", PlacementRegistry.FORMAT_INTERSTITIAL, UNIT);
+        controller.loadPlacement("menu");
+        controller.loadPlacement("pause");
+        scheduler.advanceBy(100);
+        assertEquals(1, network.getLoadCount());
+        assertTrue(controller.isPlacementLoaded("menu"));
+        assertTrue(controller.isPlacementLoaded("pause"));
+        assertEquals(2, count(AdEvent.PLACEMENT_LOADED));
+
+        controller.showPlacement("pause");
+        scheduler.advanceBy(50);
+        assertEquals(1, count(AdEvent.PLACEMENT_OPENED));
+        assertEquals("pause", events.get(indexOf(AdEvent.PLACEMENT_OPENED)).placement);
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void unknownPlacementsFailAtOnce() {
+        controller.showPlacement("missing");
+        controller.loadPlacement("missing");
+        assertEquals(1, count(AdEvent.PLACEMENT_FAILED_TO_SHOW));
+        assertEquals(1, count(AdEvent.PLACEMENT_FAILED_TO_LOAD));
+        assertEquals(0, network.getLoadCount());
+        assertFalse(controller.registerPlacement("top", "banner", UNIT));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void waterfallFallsThroughToTheNextTierOnNoFill() {
+        network.setFillRate("tier0", 0);
+        controller.registerPlacement("level_end", PlacementRegistry.FORMAT_INTERSTITIAL,
+                new String[]{"tier0", "tier1"}, PlacementRegistry.MODE_WATERFALL, 1);
+        controller.loadPlacement("level_end");
+        scheduler.advanceBy(100);
+        assertFalse(controller.isPlacementLoaded("level_end"));
+        scheduler.advanceBy(100);
+        assertTrue(controller.isPlacementLoaded("level_end"));
+        assertEquals(1, count(AdEvent.PLACEMENT_LOADED));
+        assertEquals(0, count(AdEvent.PLACEMENT_FAILED_TO_LOAD));
+
+        controller.showPlacement("level_end");
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.PLACEMENT_OPENED));
+        assertEquals(1, count(AdEvent.PLACEMENT_CLOSED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void lateRetryFailuresOfEarlierTiersAreNotReported() {
+        network.setFillRate("tier0", 0);
+        // tier0 fails at 100, tier1 takes 10s, and the tier0 retries keep failing meanwhile
+        network.setLoadLatency(sequence(100, 10000, 100));
+        controller.registerPlacement("level_end", PlacementRegistry.FORMAT_INTERSTITIAL,
+                new String[]{"tier0", "tier1"}, PlacementRegistry.MODE_WATERFALL, 1);
+        controller.loadPlacement("level_end");
+        scheduler.advanceBy(10099);
+        assertTrue(count(AdEvent.INTERSTITIAL_FAILED_TO_LOAD) > 1);
+        assertEquals(0, count(AdEvent.PLACEMENT_FAILED_TO_LOAD));
+
+        scheduler.advanceBy(1);
+        assertEquals(1, count(AdEvent.PLACEMENT_LOADED));
+        scheduler.advanceBy(60000);
+        assertEquals(0, count(AdEvent.PLACEMENT_FAILED_TO_LOAD));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void hedgedPlacementShowsTheBestRankedFill() {
+        // tier0 answers after tier1
+        network.setLoadLatency(sequence(500, 100));
+        controller.registerPlacement("level_end", PlacementRegistry.FORMAT_INTERSTITIAL,
+                new String[]{"tier0", "tier1"}, PlacementRegistry.MODE_HEDGED, 2);
+        controller.loadPlacement("level_end");
+        assertEquals(2, network.getLoadCount());
+        scheduler.advanceBy(100);
+        assertTrue(controller.isPlacementLoaded("level_end"));
+        scheduler.advanceBy(400);
+
+        controller.showPlacement("level_end");
+        List<Map<String, Object>> tiers = controller.getPlacementTiers("level_end");
+        assertEquals(0, tiers.get(0).get("ready"));
+        assertEquals(1, tiers.get(1).get("ready"));
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.PLACEMENT_CLOSED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void launchWaitShowsAnAppOpenAdThatLoadsWithinTheBudget() {
+        network.setLoadLatency(SimulatedAdNetwork.fixed(1000));
+        controller.loadAppOpen(UNIT);
+        controller.showAppOpenWithin(0);
+        scheduler.advanceBy(1050);
+        assertEquals(1, count(AdEvent.APP_OPEN_SHOWN));
+        assertEquals(0, count(AdEvent.APP_OPEN_SKIPPED));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void launchWaitIsSkippedAfterTheBudget() {
+        network.setLoadLatency(SimulatedAdNetwork.fixed(60000));
+        controller.loadAppOpen(UNIT);
+        controller.showAppOpenWithin(0);
+        scheduler.advanceBy(AdController.DEFAULT_APP_OPEN_BUDGET_MS - 1);
+        assertEquals(0, count(AdEvent.APP_OPEN_SKIPPED));
+        scheduler.advanceBy(1);
+        Event skip = events.get(indexOf(AdEvent.APP_OPEN_SKIPPED));
+        assertEquals(AdController.SKIP_TIMEOUT, skip.args[0]);
+        assertEquals(AdController.DEFAULT_APP_OPEN_BUDGET_MS, skip.code);
+
+        scheduler.advanceBy(60000);
+        assertEquals(1, count(AdEvent.APP_OPEN_SKIPPED));
+        assertEquals(0, count(AdEvent.APP_OPEN_SHOWN));
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void supersededLaunchWaitIsReportedAsSkipped() {
+        network.setLoadLatency(SimulatedAdNetwork.fixed(60000));
+        controller.loadAppOpen(UNIT);
+        int waitId = controller.newRequestId();
+        controller.showAppOpenWithin(0, waitId);
+        scheduler.advanceBy(500);
+
+        controller.showAppOpen();
+        assertEquals(2, count(AdEvent.APP_OPEN_SKIPPED));
+        assertEquals(List.of(AdEvent.REQUEST_FAILED_TO_SHOW), requestEvents(waitId));
+        Event skip = events.get(indexOf(AdEvent.APP_OPEN_SKIPPED));
+        assertEquals(AdController.SKIP_REJECTED, skip.args[0]);
+        assertEquals(500, skip.code);
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void loadsBeforeInitializationAreQueuedAndMerged() {
+        AdController pending = newController();
+        pending.loadInterstitial(UNIT);
+        pending.loadInterstitial(UNIT);
+        pending.loadRewarded("other");
+        scheduler.advanceBy(1000);
+        assertEquals(0, network.getLoadCount());
+
+        pending.onInitialized();
+        scheduler.advanceBy(100);
+        assertEquals(2, network.getLoadCount());
+        assertTrue(pending.isInterstitialLoaded());
+        assertTrue(pending.isRewardedLoaded());
+    }
+
+    @Test(timeout = TIMEOUT_MS)
+    public void queuedLoadsFailWhenInitializationTimesOut() {
+        AdController pending = newController();
+        pending.setInitQueueTimeout(5000);
+        pending.loadInterstitial(UNIT);
+        scheduler.advanceBy(4999);
+        assertEquals(0, count(AdEvent.INTERSTITIAL_FAILED_TO_LOAD));
+        scheduler.advanceBy(1);
+        assertEquals(1, count(AdEvent.INTERSTITIAL_FAILED_TO_LOAD));
+
+        pending.onInitialized();
+        scheduler.advanceBy(100);
+        assertEquals(0, network.getLoadCount());
+    }
+
+    private static SimulatedAdNetwork.LatencyModel sequence(final long... latenciesMs) {
+        return new SimulatedAdNetwork.LatencyModel() {
+            private int next;
+
+            @Override
+            public long sample(Random random) {
+                return latenciesMs[Math.min(next++, latenciesMs.length - 1)];
+            }
+        };
+    }
+
+    private AdController newController() {
+        return new AdController(network, scheduler, scheduler, new Random(2), new AdMetrics(),
+                new AdEventListener() {
+                    @Override
+                    public void onAdEvent(int type, String placement, int code, Object... signalArgs) {
+                        events.add(new Event(type, placement, code, signalArgs));
+                    }
+                }, AdLogger.NONE);
+    }
+
+    private int count(int type) {
+        int count = 0;
+        for (Event event : events) {
+            if (event.type == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int indexOf(int type) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).type == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> unitMetrics() {
+        Map<String, Object> formats = controller.getMetrics().snapshot();
+        return (Map<String, Object>) ((Map<String, Object>) formats.get("interstitial")).get(UNIT);
+    }
+
+    private List<Integer> requestEvents(int requestId) {
+        List<Integer> types = new ArrayList<>();
+        for (Event event : events) {
+            if (event.type >= AdEvent.REQUEST_LOADED && event.type <= AdEvent.REQUEST_CLOSED
+                    && event.code == requestId) {
+                types.add(event.type);
+            }
+        }
+        return types;
+    }
+}
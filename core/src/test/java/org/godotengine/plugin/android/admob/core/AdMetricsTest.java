@@ -0,0 +1,70 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AdMetricsTest {
+
+    private final AdMetrics metrics = new AdMetrics();
+
+    @Test
+    public void countersAndFillRateAreKeptPerUnit() {
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, "unit");
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, "unit");
+        metrics.recordFill(AdMetrics.FORMAT_INTERSTITIAL, "unit", 400);
+        metrics.recordFailure(AdMetrics.FORMAT_INTERSTITIAL, "unit", AdNetwork.ERROR_CODE_NO_FILL, true, 900);
+        metrics.recordShow(AdMetrics.FORMAT_INTERSTITIAL, "unit", 60, 5000);
+
+        Map<String, Object> unit = metrics.snapshot(AdMetrics.FORMAT_INTERSTITIAL, "unit");
+        assertEquals(2L, unit.get("requests"));
+        assertEquals(1L, unit.get("fills"));
+        assertEquals(1L, unit.get("no_fills"));
+        assertEquals(0L, unit.get("errors"));
+        assertEquals(1L, unit.get("shows"));
+        assertEquals(0.5, (Double) unit.get("fill_rate"), 0.0);
+        assertEquals(Map.of("3", 1L), unit.get("error_codes"));
+        assertEquals(2L, ((Map<?, ?>) unit.get("load_latency_ms")).get("count"));
+        assertNull(metrics.snapshot(AdMetrics.FORMAT_REWARDED, "unit"));
+    }
+
+    @Test
+    public void unknownErrorCodesAreCountedAsOther() {
+        metrics.recordFailure(AdMetrics.FORMAT_REWARDED, "unit", 99, false, -1);
+        metrics.recordFailure(AdMetrics.FORMAT_REWARDED, "unit", -5, false, -1);
+        Map<String, Object> unit = metrics.snapshot(AdMetrics.FORMAT_REWARDED, "unit");
+        assertEquals(Map.of("other", 2L), unit.get("error_codes"));
+        assertEquals(2L, unit.get("errors"));
+    }
+
+    @Test
+    public void snapshotGroupsUnitsByFormat() {
+        metrics.recordRequest(AdMetrics.FORMAT_BANNER, "banner unit");
+        metrics.recordRequest(AdMetrics.FORMAT_APP_OPEN, "app open unit");
+        Map<String, Object> snapshot = metrics.snapshot();
+        assertEquals(4, snapshot.size());
+        assertEquals(1, ((Map<?, ?>) snapshot.get("banner")).size());
+        assertEquals(1, ((Map<?, ?>) snapshot.get("app_open")).size());
+        assertEquals(0, ((Map<?, ?>) snapshot.get("rewarded")).size());
+        assertEquals(AdMetrics.FORMAT_APP_OPEN, AdMetrics.formatFor(PlacementRegistry.FORMAT_APP_OPEN));
+    }
+
+    @Test
+    public void resetZeroesMetricsInPlace() {
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, "unit");
+        metrics.recordFailure(AdMetrics.FORMAT_INTERSTITIAL, "unit", 0, false, 100);
+        metrics.reset();
+
+        Map<String, Object> unit = metrics.snapshot(AdMetrics.FORMAT_INTERSTITIAL, "unit");
+        assertEquals(0L, unit.get("requests"));
+        assertEquals(0L, unit.get("errors"));
+        assertEquals(0, ((Map<?, ?>) unit.get("error_codes")).size());
+        assertEquals(0L, ((Map<?, ?>) unit.get("load_latency_ms")).get("count"));
+
+        metrics.recordRequest(AdMetrics.FORMAT_INTERSTITIAL, "unit");
+        assertEquals(1L, metrics.snapshot(AdMetrics.FORMAT_INTERSTITIAL, "unit").get("requests"));
+    }
+}
@@ -0,0 +1,152 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AdPoolTest {
+
+    private final List<AdSlot<String>> loads = new ArrayList<>();
+    private SimulatedScheduler clock;
+    private AdPool<String> pool;
+
+    @Before
+    public void setUp() {
+        clock = new SimulatedScheduler();
+        pool = new AdPool<>(2, clock, new AdPool.Loader<String>() {
+            @Override
+            public void load(AdSlot<String> slot) {
+                loads.add(slot);
+            }
+        });
+    }
+
+    @Test
+    public void fillLoadsUpToTheDepth() {
+        pool.fill("unit");
+        assertEquals(2, loads.size());
+        // Loads in flight count toward the depth
+        pool.fill("unit");
+        assertEquals(2, loads.size());
+        assertArrayEquals(new int[]{AdSlot.LOADING, AdSlot.LOADING}, pool.getSlotStates("unit"));
+    }
+
+    @Test
+    public void takeHandsOutAReadyAdAndRefills() {
+        pool.fill("unit");
+        pool.onLoaded(loads.get(0), "first");
+        assertEquals(1, pool.getReadyCount("unit"));
+
+        AdSlot<String> slot = pool.take("unit");
+        assertSame("first", slot.getAd());
+        assertEquals(AdSlot.SHOWING, slot.getState());
+        assertEquals(0, pool.getReadyCount("unit"));
+        // The second load is still in flight, so one new load brings the unit back to depth
+        assertEquals(3, loads.size());
+        assertNull(pool.take("unit"));
+    }
+
+    @Test
+    public void releasedSlotsAreReused() {
+        pool.setDepth(1);
+        pool.fill("unit");
+        pool.onLoaded(loads.get(0), "first");
+        AdSlot<String> slot = pool.take("unit");
+        pool.onLoaded(loads.get(1), "second");
+
+        pool.release(slot);
+        assertEquals(AdSlot.IDLE, slot.getState());
+        assertNull(slot.getAd());
+        assertEquals(2, pool.getSlotStates("unit").length);
+
+        pool.take("unit");
+        assertSame(slot, loads.get(2));
+        assertEquals(2, pool.getSlotStates("unit").length);
+    }
+
+    @Test
+    public void failedLoadsFreeTheirSlot() {
+        pool.fill("unit");
+        pool.onFailed(loads.get(0));
+        assertEquals(AdSlot.IDLE, loads.get(0).getState());
+        pool.fill("unit");
+        assertEquals(3, loads.size());
+        assertSame(loads.get(0), loads.get(2));
+    }
+
+    @Test
+    public void unitsAreIndependent() {
+        pool.fill("a");
+        pool.fill("b");
+        pool.onLoaded(loads.get(0), "a1");
+        assertEquals(1, pool.getReadyCount("a"));
+        assertEquals(0, pool.getReadyCount("b"));
+        assertNull(pool.take("b"));
+        assertSame("a1", pool.take("a").getAd());
+    }
+
+    @Test
+    public void discardedUnitsIgnoreLoadsInFlight() {
+        pool.fill("unit");
+        pool.discard("unit");
+        assertFalse(pool.onLoaded(loads.get(0), "late"));
+        assertFalse(pool.contains("unit"));
+        assertEquals(0, pool.getReadyCount("unit"));
+    }
+
+    @Test
+    public void suspendedPoolsDeferFillsUntilResumed() {
+        pool.setSuspended(true);
+        pool.fill("unit");
+        assertEquals(0, loads.size());
+        pool.setSuspended(false);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    public void adsNearExpiryAreReplacedAndExpiredAdsAreNotTaken() {
+        pool.setDepth(1);
+        pool.setExpiry(1000, 200);
+        pool.fill("unit");
+        pool.onLoaded(loads.get(0), "first");
+
+        clock.advanceBy(799);
+        pool.fill("unit");
+        assertEquals(1, loads.size());
+        // Within the refresh lead the ready ad no longer counts toward the depth
+        clock.advanceBy(1);
+        pool.fill("unit");
+        assertEquals(2, loads.size());
+
+        clock.advanceBy(200);
+        assertNull(pool.take("unit"));
+        assertEquals(1, pool.expire("unit"));
+        assertEquals(AdSlot.EXPIRED, loads.get(0).getState());
+        assertEquals(0, pool.getReadyCount("unit"));
+    }
+
+    @Test
+    public void minDepthLoadsWhileTheDepthIsZero() {
+        pool.setDepth(0);
+        pool.fill("unit");
+        assertEquals(0, loads.size());
+        pool.fill("unit", 1);
+        assertEquals(1, loads.size());
+
+        // A suspended pool remembers the larger request
+        pool.onFailed(loads.get(0));
+        pool.setSuspended(true);
+        pool.fill("unit", 1);
+        pool.fill("unit");
+        pool.setSuspended(false);
+        assertEquals(2, loads.size());
+    }
+}
@@ -0,0 +1,88 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AdSlotTest {
+
+    @Test
+    public void slotsFollowTheLifecycle() {
+        AdSlot<String> slot = new AdSlot<>("unit");
+        assertTrue(slot.transition(AdSlot.IDLE, AdSlot.LOADING));
+        assertTrue(slot.markReady("ad"));
+        assertEquals("ad", slot.getAd());
+        assertTrue(slot.transition(AdSlot.READY, AdSlot.SHOWING));
+        assertTrue(slot.transition(AdSlot.SHOWING, AdSlot.CONSUMED));
+        assertTrue(slot.recycle());
+        assertEquals(AdSlot.IDLE, slot.getState());
+        assertNull(slot.getAd());
+    }
+
+    @Test
+    public void illegalTransitionsAreRejected() {
+        AdSlot<String> slot = new AdSlot<>("unit");
+        assertFalse(slot.transition(AdSlot.IDLE, AdSlot.READY));
+        assertFalse(slot.transition(AdSlot.IDLE, AdSlot.SHOWING));
+        assertFalse(slot.markReady("ad"));
+        assertNull(slot.getAd());
+        assertFalse(slot.recycle());
+
+        slot.transition(AdSlot.IDLE, AdSlot.LOADING);
+        // The expected state must match the current one
+        assertFalse(slot.transition(AdSlot.READY, AdSlot.SHOWING));
+        assertFalse(slot.markExpired());
+        assertEquals(AdSlot.LOADING, slot.getState());
+    }
+
+    @Test
+    public void expiredSlotsReleaseTheirAd() {
+        AdSlot<String> slot = new AdSlot<>("unit");
+        slot.transition(AdSlot.IDLE, AdSlot.LOADING);
+        slot.markReady("ad");
+        assertTrue(slot.markExpired());
+        assertEquals("expired", AdSlot.stateName(slot.getState()));
+        assertNull(slot.getAd());
+        assertFalse(slot.transition(AdSlot.EXPIRED, AdSlot.SHOWING));
+        assertTrue(slot.recycle());
+    }
+
+    @Test(timeout = 10000)
+    public void exactlyOneThreadWinsAContendedTake() throws InterruptedException {
+        for (int round = 0; round < 1000; round++) {
+            final AdSlot<String> slot = new AdSlot<>("unit");
+            slot.transition(AdSlot.IDLE, AdSlot.LOADING);
+            slot.markReady("ad");
+            final AtomicInteger winners = new AtomicInteger();
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        if (slot.transition(AdSlot.READY, AdSlot.SHOWING)) {
+                            winners.incrementAndGet();
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(1, winners.get());
+        }
+    }
+}
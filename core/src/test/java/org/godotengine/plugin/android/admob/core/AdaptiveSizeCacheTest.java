@@ -0,0 +1,31 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AdaptiveSizeCacheTest {
+
+    @Test
+    public void widthsAreRoundedDownToTheirBucket() {
+        assertEquals(368, AdaptiveSizeCache.bucketWidth(368));
+        assertEquals(368, AdaptiveSizeCache.bucketWidth(383));
+        assertEquals(352, AdaptiveSizeCache.bucketWidth(367));
+        assertEquals(AdaptiveSizeCache.WIDTH_BUCKET_DP, AdaptiveSizeCache.bucketWidth(0));
+        assertEquals(AdaptiveSizeCache.WIDTH_BUCKET_DP, AdaptiveSizeCache.bucketWidth(5));
+    }
+
+    @Test
+    public void sizesAreCachedPerOrientationAndBucket() {
+        AdaptiveSizeCache<String> cache = new AdaptiveSizeCache<>();
+        cache.put(1, AdaptiveSizeCache.bucketWidth(368), "portrait");
+        cache.put(2, AdaptiveSizeCache.bucketWidth(360), "landscape");
+        assertEquals("portrait", cache.get(1, AdaptiveSizeCache.bucketWidth(380)));
+        assertEquals("landscape", cache.get(2, AdaptiveSizeCache.bucketWidth(360)));
+        assertNull(cache.get(1, AdaptiveSizeCache.bucketWidth(400)));
+
+        cache.clear();
+        assertNull(cache.get(1, AdaptiveSizeCache.bucketWidth(360)));
+    }
+}
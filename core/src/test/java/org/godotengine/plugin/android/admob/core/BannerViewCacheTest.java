@@ -0,0 +1,52 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BannerViewCacheTest {
+
+    @Test
+    public void takeRemovesTheCachedView() {
+        BannerViewCache<String> cache = new BannerViewCache<>(2);
+        cache.put(BannerViewCache.key("unit", "banner"), "view");
+        assertEquals("view", cache.take(BannerViewCache.key("unit", "banner")));
+        assertNull(cache.take(BannerViewCache.key("unit", "banner")));
+        assertNull(cache.take(BannerViewCache.key("unit", "large_banner")));
+    }
+
+    @Test
+    public void leastRecentlyUsedViewsAreEvicted() {
+        BannerViewCache<String> cache = new BannerViewCache<>(2);
+        cache.put("a", "view a");
+        cache.put("b", "view b");
+        // Reparking a view makes it the most recently used
+        cache.put("a", cache.take("a"));
+        List<String> evicted = cache.put("c", "view c");
+        assertEquals(List.of("view b"), evicted);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void replacedAndTrimmedViewsAreHandedBack() {
+        BannerViewCache<String> cache = new BannerViewCache<>(3);
+        cache.put("a", "old a");
+        assertEquals(List.of("old a"), cache.put("a", "view a"));
+
+        cache.put("b", "view b");
+        cache.put("c", "view c");
+        assertEquals(List.of("view a", "view b"), cache.setCapacity(1));
+        assertEquals(List.of("view c"), cache.clear());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void zeroCapacityRejectsParkedViews() {
+        BannerViewCache<String> cache = new BannerViewCache<>(0);
+        assertEquals(List.of("view"), cache.put("a", "view"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,33 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConsentSnapshotTest {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    @Test
+    public void recentSnapshotAllowsAFastStart() {
+        ConsentSnapshot snapshot = new ConsentSnapshot(ConsentSnapshot.STATUS_OBTAINED, true, true, 1000);
+        assertEquals(DAY_MS, snapshot.getAgeMs(1000 + DAY_MS));
+        assertTrue(snapshot.allowsFastStart(1000 + DAY_MS, ConsentSnapshot.DEFAULT_MAX_AGE_MS));
+        assertTrue(snapshot.allowsFastStart(1000 + ConsentSnapshot.DEFAULT_MAX_AGE_MS,
+                ConsentSnapshot.DEFAULT_MAX_AGE_MS));
+    }
+
+    @Test
+    public void staleFutureOrRestrictiveSnapshotsAreNotTrusted() {
+        ConsentSnapshot snapshot = new ConsentSnapshot(ConsentSnapshot.STATUS_OBTAINED, false, true, 1000);
+        assertFalse(snapshot.allowsFastStart(1001 + ConsentSnapshot.DEFAULT_MAX_AGE_MS,
+                ConsentSnapshot.DEFAULT_MAX_AGE_MS));
+        // Clock moved backwards since the snapshot was taken
+        assertFalse(snapshot.allowsFastStart(999, ConsentSnapshot.DEFAULT_MAX_AGE_MS));
+
+        ConsentSnapshot required = new ConsentSnapshot(ConsentSnapshot.STATUS_REQUIRED, false, false, 1000);
+        assertFalse(required.allowsFastStart(1000, ConsentSnapshot.DEFAULT_MAX_AGE_MS));
+    }
+}
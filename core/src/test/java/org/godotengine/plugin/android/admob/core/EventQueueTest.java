@@ -0,0 +1,102 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventQueueTest {
+
+    @Test
+    public void drainReturnsRecordsInOrder() {
+        EventQueue queue = new EventQueue(8);
+        queue.offer(AdEvent.AD_LOADED, "a", 0, 10);
+        queue.offer(AdEvent.AD_FAILED_TO_LOAD, null, 3, 20);
+        assertArrayEquals(new Object[]{AdEvent.AD_LOADED, "a", 0, 10L, AdEvent.AD_FAILED_TO_LOAD, null, 3, 20L},
+                queue.drain());
+        assertEquals(0, queue.drain().length);
+    }
+
+    @Test
+    public void fullQueueDropsAndCountsNewRecords() {
+        EventQueue queue = new EventQueue(3);
+        // Capacity is rounded up to 4
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(AdEvent.AD_CLICKED, null, i, i));
+        }
+        assertFalse(queue.offer(AdEvent.AD_CLICKED, null, 4, 4));
+        assertFalse(queue.offer(AdEvent.AD_CLICKED, null, 5, 5));
+        assertEquals(2, queue.getDroppedCount());
+
+        Object[] records = queue.drain();
+        assertEquals(4 * EventQueue.RECORD_STRIDE, records.length);
+        // The oldest records are kept
+        assertEquals(0, records[2]);
+        assertEquals(3, records[records.length - 2]);
+        assertTrue(queue.offer(AdEvent.AD_CLICKED, null, 6, 6));
+    }
+
+    @Test
+    public void positionsWrapAroundTheBuffer() {
+        EventQueue queue = new EventQueue(4);
+        for (int round = 0; round < 100; round++) {
+            assertTrue(queue.offer(AdEvent.AD_IMPRESSION, "p", round, round));
+            assertTrue(queue.offer(AdEvent.AD_CLOSED, "p", round, round));
+            if (round % 2 == 1) {
+                assertTrue(queue.offer(AdEvent.AD_OPENED, "p", round, round));
+            }
+            Object[] records = queue.drain();
+            assertEquals((round % 2 == 1 ? 3 : 2) * EventQueue.RECORD_STRIDE, records.length);
+            assertEquals(AdEvent.AD_IMPRESSION, records[0]);
+            assertEquals(round, records[2]);
+        }
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test(timeout = 10000)
+    public void concurrentProducersLoseNoRecords() throws InterruptedException {
+        final EventQueue queue = new EventQueue(1 << 16);
+        final int producers = 4;
+        final int perProducer = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.offer(AdEvent.AD_IMPRESSION, null, producer, i);
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        start.countDown();
+
+        long[] counts = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            Object[] records = queue.drain();
+            for (int i = 0; i < records.length; i += EventQueue.RECORD_STRIDE) {
+                int producer = (Integer) records[i + 2];
+                // Records of one producer arrive in the order it offered them
+                assertEquals(counts[producer]++, records[i + 3]);
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, queue.getDroppedCount());
+    }
+}
@@ -0,0 +1,129 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class FrequencyCapTest {
+
+    private static final String PLACEMENT = "menu";
+
+    private SimulatedScheduler clock;
+    private FrequencyCap cap;
+
+    @Before
+    public void setUp() {
+        clock = new SimulatedScheduler();
+        cap = new FrequencyCap(clock);
+    }
+
+    @Test
+    public void placementsWithoutRulesAlwaysShow() {
+        assertTrue(cap.canShow(PLACEMENT));
+        cap.recordShow(PLACEMENT);
+        assertTrue(cap.canShow(PLACEMENT));
+        assertEquals(0, cap.getWaitMs(PLACEMENT));
+    }
+
+    @Test
+    public void slidingWindowLimitsShows() {
+        cap.setRules(PLACEMENT, new FrequencyCap.Rules(2, 10000, 0, 0));
+        cap.recordShow(PLACEMENT);
+        clock.advanceBy(3000);
+        cap.recordShow(PLACEMENT);
+        assertEquals(FrequencyCap.REASON_WINDOW, cap.check(PLACEMENT));
+        assertEquals(7000, cap.getWaitMs(PLACEMENT));
+
+        // The oldest show leaves the window, the second one still counts
+        clock.advanceBy(7000);
+        assertTrue(cap.canShow(PLACEMENT));
+        cap.recordShow(PLACEMENT);
+        assertEquals(FrequencyCap.REASON_WINDOW, cap.check(PLACEMENT));
+        assertEquals(3000, cap.getWaitMs(PLACEMENT));
+    }
+
+    @Test
+    public void minIntervalPacesConsecutiveShows() {
+        cap.setRules(PLACEMENT, new FrequencyCap.Rules(0, 0, 5000, 0));
+        cap.recordShow(PLACEMENT);
+        clock.advanceBy(4999);
+        assertEquals(FrequencyCap.REASON_MIN_INTERVAL, cap.check(PLACEMENT));
+        assertEquals(1, cap.getWaitMs(PLACEMENT));
+        clock.advanceBy(1);
+        assertTrue(cap.canShow(PLACEMENT));
+    }
+
+    @Test
+    public void sessionGraceBlocksEarlyShowsAndRestarts() {
+        cap.setRules(PLACEMENT, new FrequencyCap.Rules(0, 0, 0, 30000));
+        assertEquals(FrequencyCap.REASON_SESSION_START, cap.check(PLACEMENT));
+        assertEquals(30000, cap.getWaitMs(PLACEMENT));
+        clock.advanceBy(30000);
+        assertTrue(cap.canShow(PLACEMENT));
+
+        cap.startSession();
+        assertEquals(FrequencyCap.REASON_SESSION_START, cap.check(PLACEMENT));
+        assertEquals("session_start", FrequencyCap.reasonName(cap.check(PLACEMENT)));
+    }
+
+    @Test
+    public void waitCoversEveryBlockingRule() {
+        cap.setRules(PLACEMENT, new FrequencyCap.Rules(1, 60000, 5000, 1000));
+        clock.advanceBy(1000);
+        cap.recordShow(PLACEMENT);
+        assertEquals(FrequencyCap.REASON_MIN_INTERVAL, cap.check(PLACEMENT));
+        assertEquals(60000, cap.getWaitMs(PLACEMENT));
+        clock.advanceBy(5000);
+        assertEquals(FrequencyCap.REASON_WINDOW, cap.check(PLACEMENT));
+        assertEquals(55000, cap.getWaitMs(PLACEMENT));
+    }
+
+    @Test
+    public void historySurvivesEncodeAndRestore() {
+        final List<String> changed = new ArrayList<>();
+        cap.setHistoryListener(new FrequencyCap.HistoryListener() {
+            @Override
+            public void onHistoryChanged(String placementId) {
+                changed.add(placementId);
+            }
+        });
+        clock.advanceBy(1000);
+        cap.recordShow(PLACEMENT);
+        clock.advanceBy(2000);
+        cap.recordShow(PLACEMENT);
+        assertEquals(List.of(PLACEMENT, PLACEMENT), changed);
+        String encoded = cap.encodeHistory(PLACEMENT);
+        assertEquals(Long.toString(1000, 36) + "," + Long.toString(2000, 36), encoded);
+
+        FrequencyCap restored = new FrequencyCap(clock);
+        restored.restoreHistory(PLACEMENT, encoded);
+        restored.setRules(PLACEMENT, new FrequencyCap.Rules(2, 10000, 0, 0));
+        assertEquals(encoded, restored.encodeHistory(PLACEMENT));
+        assertEquals(FrequencyCap.REASON_WINDOW, restored.check(PLACEMENT));
+
+        restored.restoreHistory("other", "not,base36!");
+        assertEquals("", restored.encodeHistory("other"));
+    }
+
+    @Test
+    public void historyKeepsTheMostRecentShows() {
+        for (int i = 0; i < FrequencyCap.MIN_HISTORY_SIZE + 2; i++) {
+            clock.advanceBy(10);
+            cap.recordShow(PLACEMENT);
+        }
+        assertEquals(FrequencyCap.MIN_HISTORY_SIZE, cap.encodeHistory(PLACEMENT).split(",").length);
+        assertTrue(cap.encodeHistory(PLACEMENT).startsWith(Long.toString(30, 36) + ","));
+
+        cap.clearHistory();
+        assertEquals("", cap.encodeHistory(PLACEMENT));
+        cap.setRules(PLACEMENT, new FrequencyCap.Rules(1, 10000, 0, 0));
+        assertNotNull(cap.getRules(PLACEMENT));
+        assertTrue(cap.canShow(PLACEMENT));
+    }
+}
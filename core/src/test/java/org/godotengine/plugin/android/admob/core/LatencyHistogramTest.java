@@ -0,0 +1,51 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsNoPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(-1, histogram.percentile(0.5));
+        assertEquals(-1L, histogram.snapshot().get("max"));
+        assertEquals(0L, histogram.snapshot().get("count"));
+    }
+
+    @Test
+    public void percentilesReportTheBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(80);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(900);
+        }
+        histogram.record(12000);
+        assertEquals(100, histogram.percentile(0.50));
+        assertEquals(100, histogram.percentile(0.90));
+        assertEquals(1000, histogram.percentile(0.99));
+        // Capped at the largest latency recorded
+        assertEquals(12000, histogram.percentile(1.0));
+        assertEquals(100, histogram.getCount());
+    }
+
+    @Test
+    public void negativeLatenciesAreIgnored() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    public void resetEmptiesTheHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        histogram.record(7);
+        assertEquals(7, histogram.percentile(1.0));
+    }
+}
@@ -0,0 +1,89 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MediationStartupTest {
+
+    private static final String APPLOVIN = "com.google.ads.mediation.applovin.AppLovinMediationAdapter";
+    private static final String UNITY = "com.google.ads.mediation.unity.UnityMediationAdapter";
+
+    private SimulatedScheduler clock;
+    private MediationStartup startup;
+
+    @Before
+    public void setUp() {
+        clock = new SimulatedScheduler();
+        startup = new MediationStartup(clock);
+    }
+
+    @Test
+    public void modeNamesRoundTrip() {
+        assertEquals(MediationStartup.MODE_WAIT_FOR, MediationStartup.parseMode("WAIT_FOR"));
+        assertEquals(MediationStartup.MODE_AFTER_FIRST_FRAME, MediationStartup.parseMode("after_first_frame"));
+        assertEquals(-1, MediationStartup.parseMode("selected"));
+        for (int mode = MediationStartup.MODE_ALL; mode <= MediationStartup.MODE_NONE; mode++) {
+            assertEquals(mode, MediationStartup.parseMode(MediationStartup.modeName(mode)));
+        }
+        assertEquals("unknown", MediationStartup.modeName(-1));
+    }
+
+    @Test
+    public void waitForModeWaitsOnlyForTheListedAdapters() {
+        startup.setMode(MediationStartup.MODE_WAIT_FOR, new String[]{"applovin"});
+        startup.start();
+        startup.update(APPLOVIN, true, 150, "");
+        assertFalse(startup.isWaitedForReady());
+
+        startup.update(MediationStartup.GOOGLE_ADAPTER, true, 20, "");
+        startup.update(UNITY, false, 0, "");
+        assertTrue(startup.isWaitedForReady());
+        assertTrue(startup.isWaitedFor(APPLOVIN));
+        assertFalse(startup.isWaitedFor(UNITY));
+    }
+
+    @Test
+    public void otherModesOnlyCheckTheSdk() {
+        startup.setMode(MediationStartup.MODE_ALL, new String[]{"applovin"});
+        startup.start();
+        startup.update(MediationStartup.GOOGLE_ADAPTER, true, 20, "");
+        startup.update(APPLOVIN, false, 0, "");
+        assertTrue(startup.isWaitedForReady());
+        assertFalse(startup.isWaitedFor(APPLOVIN));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void snapshotReportsTimesRelativeToStart() {
+        startup.setMode(MediationStartup.MODE_WAIT_FOR, new String[]{"unity"});
+        assertEquals(-1, startup.markReady());
+        clock.advanceBy(1000);
+        startup.start();
+        startup.update(UNITY, true, 150, "ok");
+        clock.advanceBy(180);
+        assertEquals(180, startup.markReady());
+        assertEquals(-1, startup.markReady());
+        clock.advanceBy(2120);
+        assertEquals(2300, startup.markCompleted());
+
+        Map<String, Object> snapshot = startup.snapshot();
+        assertEquals("wait_for", snapshot.get("mode"));
+        assertEquals(180L, snapshot.get("ready_ms"));
+        assertEquals(2300L, snapshot.get("completed_ms"));
+        Map<String, Object> unity = (Map<String, Object>) ((Map<String, Object>) snapshot.get("adapters")).get(UNITY);
+        assertEquals("ready", unity.get("state"));
+        assertEquals(150L, unity.get("latency_ms"));
+        assertEquals(true, unity.get("waited_for"));
+
+        // A new start forgets the previous statuses and times
+        startup.start();
+        assertEquals(-1L, startup.snapshot().get("ready_ms"));
+        assertTrue(((Map<String, Object>) startup.snapshot().get("adapters")).isEmpty());
+    }
+}
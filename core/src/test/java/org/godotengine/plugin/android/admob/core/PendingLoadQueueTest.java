@@ -0,0 +1,56 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PendingLoadQueueTest {
+
+    private final PendingLoadQueue queue = new PendingLoadQueue();
+    private final List<String> runs = new ArrayList<>();
+
+    @Test
+    public void requestsForTheSameKeyAreMerged() {
+        assertFalse(queue.enqueue("a", action("a1"), action("timeout"), 100));
+        assertFalse(queue.enqueue("b", action("b1"), action("timeout"), 200));
+        assertTrue(queue.enqueue("a", action("a2"), action("timeout"), 300));
+        assertEquals(2, queue.size());
+
+        // The merged request keeps its place with the latest action
+        for (PendingLoadQueue.Request request : queue.drain()) {
+            request.action.run();
+        }
+        assertEquals(List.of("a2", "b1"), runs);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void expireRemovesOnlyRequestsPastTheirDeadline() {
+        queue.enqueue("a", action("a"), action("a timeout"), 100);
+        queue.enqueue("b", action("b"), action("b timeout"), 200);
+        assertEquals(100, queue.nextDeadline());
+
+        assertEquals(0, queue.expire(99).size());
+        List<PendingLoadQueue.Request> expired = queue.expire(100);
+        assertEquals(1, expired.size());
+        assertEquals("a", expired.get(0).key);
+        assertEquals(200, queue.nextDeadline());
+
+        queue.clear();
+        assertEquals(-1, queue.nextDeadline());
+    }
+
+    private Runnable action(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                runs.add(name);
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PlacementRegistryTest {
+
+    private final PlacementRegistry registry = new PlacementRegistry();
+
+    @Test
+    public void registerReplacesAndRemovesPlacements() {
+        assertNull(registry.register("menu", PlacementRegistry.FORMAT_INTERSTITIAL, "a"));
+        PlacementRegistry.Placement first = registry.get("menu");
+        assertSame(first, registry.register("menu", PlacementRegistry.FORMAT_REWARDED, "b"));
+        assertEquals("b", registry.get("menu").adUnitId);
+
+        registry.remove("menu");
+        assertNull(registry.get("menu"));
+        assertNull(registry.get(null));
+    }
+
+    @Test
+    public void parseSkipsMalformedEntries() {
+        List<PlacementRegistry.Placement> placements = PlacementRegistry.parse(
+                "level_end:rewarded:unit/1; menu:Interstitial:unit/2\nbanner:banner:unit/3,broken,:rewarded:unit/4");
+        assertEquals(2, placements.size());
+        assertEquals("level_end", placements.get(0).id);
+        assertEquals(PlacementRegistry.FORMAT_REWARDED, placements.get(0).format);
+        assertEquals("menu", placements.get(1).id);
+        assertEquals(PlacementRegistry.FORMAT_INTERSTITIAL, placements.get(1).format);
+        assertEquals("unit/2", placements.get(1).adUnitId);
+        assertEquals(0, PlacementRegistry.parse(null).size());
+    }
+
+    @Test
+    public void requestedForListsOnlyPlacementsThatRequestedALoad() {
+        registry.register("menu", PlacementRegistry.FORMAT_INTERSTITIAL, "shared");
+        registry.register("pause", PlacementRegistry.FORMAT_INTERSTITIAL, "shared");
+        registry.register("bonus", PlacementRegistry.FORMAT_REWARDED, "shared");
+        registry.get("menu").loadRequested = true;
+        registry.get("bonus").loadRequested = true;
+
+        List<PlacementRegistry.Placement> requested =
+                registry.requestedFor(PlacementRegistry.FORMAT_INTERSTITIAL, "shared");
+        assertEquals(1, requested.size());
+        assertEquals("menu", requested.get(0).id);
+        assertTrue(registry.isAdUnitInUse("shared"));
+        assertFalse(registry.isAdUnitInUse("other"));
+    }
+}
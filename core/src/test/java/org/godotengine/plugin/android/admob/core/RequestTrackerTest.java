@@ -0,0 +1,49 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTrackerTest {
+
+    @Test
+    public void idsArePositiveAndIncreasing() {
+        RequestTracker tracker = new RequestTracker();
+        int first = tracker.nextId();
+        assertTrue(first > RequestTracker.NONE);
+        assertEquals(first + 1, tracker.nextId());
+    }
+
+    @Test
+    public void loadWaitersAreTakenOncePerKey() {
+        RequestTracker tracker = new RequestTracker();
+        String unit = RequestTracker.unitKey(PlacementRegistry.FORMAT_INTERSTITIAL, "unit");
+        tracker.waitForLoad(unit, new RequestTracker.Request(1, PlacementRegistry.FORMAT_INTERSTITIAL, null, "unit"));
+        tracker.waitForLoad(unit, new RequestTracker.Request(2, PlacementRegistry.FORMAT_INTERSTITIAL, null, "unit"));
+        tracker.waitForLoad(RequestTracker.placementKey("unit"),
+                new RequestTracker.Request(3, PlacementRegistry.FORMAT_INTERSTITIAL, "unit", null));
+
+        List<RequestTracker.Request> waiting = tracker.takeLoadWaiters(unit);
+        assertEquals(2, waiting.size());
+        assertEquals(1, waiting.get(0).id);
+        assertEquals(2, waiting.get(1).id);
+        assertNull(tracker.takeLoadWaiters(unit));
+        assertNull(tracker.takeLoadWaiters(RequestTracker.unitKey(PlacementRegistry.FORMAT_REWARDED, "unit")));
+
+        tracker.clear();
+        assertNull(tracker.takeLoadWaiters(RequestTracker.placementKey("unit")));
+    }
+
+    @Test
+    public void unitAndPlacementKeysDoNotCollide() {
+        assertNotEquals(RequestTracker.unitKey(PlacementRegistry.FORMAT_INTERSTITIAL, "a"),
+                RequestTracker.unitKey(PlacementRegistry.FORMAT_REWARDED, "a"));
+        assertNotEquals(RequestTracker.unitKey(PlacementRegistry.FORMAT_INTERSTITIAL, "a"),
+                RequestTracker.placementKey("a"));
+    }
+}
@@ -0,0 +1,38 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void delaysDoubleUpToTheMaximum() {
+        RetryPolicy policy = new RetryPolicy(1000, 5000, 10, 0, 3, 60000);
+        assertEquals(1000, policy.delayForAttempt(1, 0.5));
+        assertEquals(2000, policy.delayForAttempt(2, 0.5));
+        assertEquals(4000, policy.delayForAttempt(3, 0.5));
+        assertEquals(5000, policy.delayForAttempt(4, 0.5));
+        assertEquals(5000, policy.delayForAttempt(60, 0.5));
+    }
+
+    @Test
+    public void jitterSpreadsDelaysAroundTheBackoff() {
+        RetryPolicy policy = new RetryPolicy(1000, 60000, 5, 0.2, 3, 60000);
+        assertEquals(800, policy.delayForAttempt(1, 0.0));
+        assertEquals(1000, policy.delayForAttempt(1, 0.5));
+        assertTrue(policy.delayForAttempt(1, 0.999) <= 1200);
+    }
+
+    @Test
+    public void invalidValuesAreClamped() {
+        RetryPolicy policy = new RetryPolicy(-1, -1, -1, 2.0, 0, -1);
+        assertEquals(0, policy.baseDelayMs);
+        assertEquals(0, policy.maxDelayMs);
+        assertEquals(0, policy.maxAttempts);
+        assertEquals(1.0, policy.jitter, 0.0);
+        assertEquals(1, policy.noFillThreshold);
+        assertEquals(0, policy.breakerCooldownMs);
+    }
+}
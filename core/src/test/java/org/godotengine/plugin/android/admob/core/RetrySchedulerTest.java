@@ -0,0 +1,131 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the retry scheduler on a SimulatedScheduler, so backoff delays are checked on virtual time
+ */
+public class RetrySchedulerTest {
+
+    private static final String UNIT = "unit";
+
+    private SimulatedScheduler scheduler;
+    private RetryScheduler retries;
+    private int retryCount;
+
+    private final Runnable retry = new Runnable() {
+        @Override
+        public void run() {
+            retryCount++;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        scheduler = new SimulatedScheduler();
+        // No jitter, so delays are exact
+        retries = new RetryScheduler(new RetryPolicy(1000, 4000, 4, 0, 3, 30000),
+                scheduler, scheduler, new Random(1));
+    }
+
+    @Test
+    public void retriesBackOffExponentially() {
+        assertEquals(1000, retries.onFailure(UNIT, false, retry));
+        scheduler.advanceBy(999);
+        assertEquals(0, retryCount);
+        scheduler.advanceBy(1);
+        assertEquals(1, retryCount);
+
+        assertEquals(2000, retries.onFailure(UNIT, false, retry));
+        assertEquals(4000, retries.onFailure(UNIT, false, retry));
+        // A new failure replaces the pending retry
+        scheduler.advanceBy(3999);
+        assertEquals(1, retryCount);
+        scheduler.advanceBy(1);
+        assertEquals(2, retryCount);
+        assertEquals(4000, retries.onFailure(UNIT, false, retry));
+    }
+
+    @Test
+    public void retriesStopAfterMaxAttempts() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(retries.onFailure(UNIT, false, retry) >= 0);
+        }
+        assertEquals(-1, retries.onFailure(UNIT, false, retry));
+        assertEquals(4, retries.getState(UNIT).attempts);
+    }
+
+    @Test
+    public void successAndExplicitRequestsResetTheBackoff() {
+        retries.onFailure(UNIT, false, retry);
+        retries.onFailure(UNIT, false, retry);
+        retries.onSuccess(UNIT);
+        assertNull(retries.getState(UNIT));
+        scheduler.advanceBy(10000);
+        assertEquals(0, retryCount);
+        assertEquals(1000, retries.onFailure(UNIT, false, retry));
+
+        retries.onRequested(UNIT);
+        assertEquals(0, retries.getState(UNIT).attempts);
+        assertEquals(1000, retries.onFailure(UNIT, false, retry));
+    }
+
+    @Test
+    public void repeatedNoFillsOpenTheCircuitUntilTheCooldown() {
+        retries.onFailure(UNIT, true, retry);
+        retries.onFailure(UNIT, true, retry);
+        assertEquals(-1, retries.onFailure(UNIT, true, retry));
+        assertTrue(retries.isCircuitOpen(UNIT));
+
+        // Explicit requests do not close the circuit
+        retries.onRequested(UNIT);
+        assertTrue(retries.isCircuitOpen(UNIT));
+        scheduler.advanceBy(29999);
+        assertTrue(retries.isCircuitOpen(UNIT));
+        scheduler.advanceBy(1);
+        assertFalse(retries.isCircuitOpen(UNIT));
+        assertEquals(0, retryCount);
+    }
+
+    @Test
+    public void otherErrorsResetTheNoFillCount() {
+        retries.onFailure(UNIT, true, retry);
+        retries.onFailure(UNIT, true, retry);
+        retries.onFailure(UNIT, false, retry);
+        assertEquals(0, retries.getState(UNIT).consecutiveNoFills);
+        assertFalse(retries.isCircuitOpen(UNIT));
+    }
+
+    @Test
+    public void suspendedRetriesKeepTheirRemainingDelay() {
+        retries.onFailure(UNIT, false, retry);
+        scheduler.advanceBy(400);
+        retries.suspend();
+        scheduler.advanceBy(10000);
+        assertEquals(0, retryCount);
+
+        retries.resume();
+        scheduler.advanceBy(599);
+        assertEquals(0, retryCount);
+        scheduler.advanceBy(1);
+        assertEquals(1, retryCount);
+    }
+
+    @Test
+    public void cancelAllDropsPendingRetries() {
+        retries.onFailure(UNIT, false, retry);
+        retries.onFailure("other", false, retry);
+        retries.cancelAll();
+        scheduler.advanceBy(10000);
+        assertEquals(0, retryCount);
+        assertEquals(1, retries.getState(UNIT).attempts);
+    }
+}
@@ -0,0 +1,146 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SimulatedAdNetworkTest {
+
+    private SimulatedScheduler scheduler;
+    private SimulatedAdNetwork network;
+
+    private static final class Result implements AdNetwork.LoadCallback {
+        FullScreenAd ad;
+        int errorCode = -1;
+
+        @Override
+        public void onLoaded(FullScreenAd ad) {
+            this.ad = ad;
+        }
+
+        @Override
+        public void onFailed(int errorCode, String message) {
+            this.errorCode = errorCode;
+        }
+    }
+
+    private static final class ShowLog implements FullScreenAd.Listener {
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void onShowed() {
+            calls.add("showed");
+        }
+
+        @Override
+        public void onFailedToShow(int errorCode, String message) {
+            calls.add("failed:" + errorCode);
+        }
+
+        @Override
+        public void onDismissed() {
+            calls.add("dismissed");
+        }
+
+        @Override
+        public void onImpression() {
+            calls.add("impression");
+        }
+
+        @Override
+        public void onClicked() {
+            calls.add("clicked");
+        }
+
+        @Override
+        public void onRewarded(String type, int amount) {
+            calls.add("rewarded:" + amount + " " + type);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        scheduler = new SimulatedScheduler();
+        network = new SimulatedAdNetwork(scheduler, scheduler, new Random(1))
+                .setLoadLatency(SimulatedAdNetwork.fixed(100))
+                .setShowLatency(SimulatedAdNetwork.fixed(50))
+                .setShowDuration(1000);
+    }
+
+    @Test
+    public void loadCompletesAfterTheLatency() {
+        Result result = load(PlacementRegistry.FORMAT_INTERSTITIAL, "unit");
+        scheduler.advanceBy(99);
+        assertNull(result.ad);
+        scheduler.advanceBy(1);
+        assertNotNull(result.ad);
+        assertEquals(1, network.getLoadCount());
+        assertEquals(1, network.getFillCount());
+    }
+
+    @Test
+    public void unfilledLoadsFailWithTheConfiguredErrorCodes() {
+        network.setFillRate(0).setErrorCodes(0);
+        Result result = load(PlacementRegistry.FORMAT_INTERSTITIAL, "unit");
+        scheduler.advanceBy(100);
+        assertNull(result.ad);
+        assertEquals(0, result.errorCode);
+        assertEquals(0, network.getFillCount());
+    }
+
+    @Test
+    public void unitFillRateOverridesTheDefault() {
+        network.setFillRate("empty", 0);
+        Result empty = load(PlacementRegistry.FORMAT_INTERSTITIAL, "empty");
+        Result filled = load(PlacementRegistry.FORMAT_INTERSTITIAL, "unit");
+        scheduler.advanceBy(100);
+        assertEquals(AdNetwork.ERROR_CODE_NO_FILL, empty.errorCode);
+        assertNotNull(filled.ad);
+    }
+
+    @Test
+    public void rewardedShowRunsTheFullCallbackSequence() {
+        Result result = load(PlacementRegistry.FORMAT_REWARDED, "unit");
+        scheduler.advanceBy(100);
+        ShowLog log = new ShowLog();
+        result.ad.show(log);
+        scheduler.advanceBy(50);
+        assertEquals(List.of("showed", "impression"), log.calls);
+        scheduler.advanceBy(1000);
+        assertEquals(List.of("showed", "impression",
+                "rewarded:" + SimulatedAdNetwork.REWARD_AMOUNT + " " + SimulatedAdNetwork.REWARD_TYPE,
+                "dismissed"), log.calls);
+        assertEquals(1, network.getShowCount());
+    }
+
+    @Test
+    public void adsShowOnlyOnceAndNotAfterExpiry() {
+        network.setExpiry(5000);
+        Result first = load(PlacementRegistry.FORMAT_INTERSTITIAL, "unit");
+        Result second = load(PlacementRegistry.FORMAT_INTERSTITIAL, "unit");
+        scheduler.advanceBy(100);
+
+        ShowLog reused = new ShowLog();
+        first.ad.show(new ShowLog());
+        first.ad.show(reused);
+        assertEquals(List.of("failed:" + SimulatedAdNetwork.ERROR_CODE_AD_REUSED), reused.calls);
+
+        scheduler.advanceBy(5000);
+        ShowLog expired = new ShowLog();
+        second.ad.show(expired);
+        assertEquals(List.of("failed:" + SimulatedAdNetwork.ERROR_CODE_NOT_READY), expired.calls);
+    }
+
+    private Result load(String format, String adUnitId) {
+        Result result = new Result();
+        network.load(format, adUnitId, result);
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StartupTimelineTest {
+
+    private final SimulatedScheduler clock = new SimulatedScheduler();
+    private final StartupTimeline timeline = new StartupTimeline(clock);
+
+    @Test
+    public void phasesAreRecordedOnceRelativeToTheStart() {
+        assertEquals(-1, timeline.mark(StartupTimeline.PHASE_CONSENT));
+        assertFalse(timeline.isStarted());
+
+        clock.advanceBy(500);
+        timeline.start();
+        clock.advanceBy(120);
+        assertEquals(120, timeline.mark(StartupTimeline.PHASE_CONSENT));
+        clock.advanceBy(300);
+        assertEquals(420, timeline.mark(StartupTimeline.PHASE_INIT));
+        assertEquals(-1, timeline.mark(StartupTimeline.PHASE_CONSENT));
+        assertTrue(timeline.isStarted());
+
+        Map<String, Object> snapshot = timeline.snapshot();
+        assertEquals(List.of(StartupTimeline.PHASE_CONSENT, StartupTimeline.PHASE_INIT),
+                new ArrayList<>(snapshot.keySet()));
+        assertEquals(420L, snapshot.get(StartupTimeline.PHASE_INIT));
+    }
+
+    @Test
+    public void startForgetsThePreviousTimeline() {
+        timeline.start();
+        timeline.mark(StartupTimeline.PHASE_INIT);
+        clock.advanceBy(1000);
+        timeline.start();
+        assertEquals(0, timeline.snapshot().size());
+        assertEquals(0, timeline.mark(StartupTimeline.PHASE_INIT));
+    }
+}
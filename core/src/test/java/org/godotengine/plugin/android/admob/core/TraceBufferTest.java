@@ -0,0 +1,51 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TraceBufferTest {
+
+    @Test
+    public void dumpListsRecordsOldestFirst() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        buffer.record(TraceBuffer.LOAD_STARTED, "unit", 0, 10);
+        buffer.record(AdEvent.INTERSTITIAL_LOADED, null, 0, 20);
+        assertArrayEquals(new Object[]{"load_started", "unit", 0, 10L, "interstitial_loaded", "", 0, 20L},
+                buffer.dump());
+        // Dumping does not remove records
+        assertEquals(2 * TraceBuffer.RECORD_STRIDE, buffer.dump().length);
+    }
+
+    @Test
+    public void fullBufferOverwritesTheOldestRecords() {
+        // Rounded up to 4
+        TraceBuffer buffer = new TraceBuffer(3);
+        for (int i = 0; i < 6; i++) {
+            buffer.record(TraceBuffer.SHOW_STARTED, "unit", i, i);
+        }
+        Object[] records = buffer.dump();
+        assertEquals(4 * TraceBuffer.RECORD_STRIDE, records.length);
+        assertEquals(2, records[2]);
+        assertEquals(5, records[records.length - 2]);
+    }
+
+    @Test
+    public void clearForgetsEveryRecord() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        buffer.record(TraceBuffer.LOAD_STARTED, "unit", 0, 10);
+        buffer.clear();
+        assertEquals(0, buffer.dump().length);
+        buffer.record(TraceBuffer.SHOW_STARTED, "unit", 0, 20);
+        assertArrayEquals(new Object[]{"show_started", "unit", 0, 20L}, buffer.dump());
+    }
+
+    @Test
+    public void typeNamesCoverSignalsRequestsAndTraceTypes() {
+        assertEquals("load_started", TraceBuffer.typeName(TraceBuffer.LOAD_STARTED));
+        assertEquals(AdEvent.SIGNAL_NAMES[AdEvent.AD_CLOSED], TraceBuffer.typeName(AdEvent.AD_CLOSED));
+        assertEquals("request_loaded", TraceBuffer.typeName(AdEvent.REQUEST_LOADED));
+        assertEquals("unknown", TraceBuffer.typeName(-1));
+    }
+}
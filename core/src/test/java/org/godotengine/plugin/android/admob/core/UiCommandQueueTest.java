@@ -0,0 +1,126 @@
+package org.godotengine.plugin.android.admob.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+public class UiCommandQueueTest {
+
+    private final List<Runnable> posted = new ArrayList<>();
+    private final List<String> applied = new ArrayList<>();
+    private UiCommandQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new UiCommandQueue(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                posted.add(command);
+            }
+        }, new UiCommandQueue.Target() {
+            @Override
+            public void load(String adUnitId, String position, String size, int requestId) {
+                applied.add("load " + adUnitId + " " + requestId);
+            }
+
+            @Override
+            public void cancelled(int requestId) {
+                applied.add("cancelled " + requestId);
+            }
+
+            @Override
+            public void move(String position, int offsetX, int offsetY) {
+                applied.add("move " + position + " " + offsetX);
+            }
+
+            @Override
+            public void setVisible(boolean visible) {
+                applied.add(visible ? "show" : "hide");
+            }
+
+            @Override
+            public void remove() {
+                applied.add("remove");
+            }
+        });
+    }
+
+    @Test
+    public void onlyTheLastVisibilityAndMoveAreApplied() {
+        queue.setVisible(true);
+        queue.move("top", 1, 0);
+        queue.setVisible(false);
+        queue.move("bottom", 2, 0);
+        assertEquals(1, posted.size());
+        drain();
+        assertEquals(List.of("move bottom 2", "hide"), applied);
+        assertEquals(4, queue.getSubmittedCount());
+        assertEquals(2, queue.getAppliedCount());
+    }
+
+    @Test
+    public void removeSupersedesAPendingLoad() {
+        queue.load("unit", "bottom", "banner", 7);
+        queue.move("top", 0, 0);
+        queue.remove();
+        drain();
+        assertEquals(List.of("cancelled 7", "remove"), applied);
+    }
+
+    @Test
+    public void loadReplacesEarlierCommandsAndReportsTheSupersededLoad() {
+        queue.load("first", "bottom", "banner", 1);
+        queue.setVisible(false);
+        queue.load("second", "top", "banner", 2);
+        drain();
+        assertEquals(List.of("cancelled 1", "load second 2"), applied);
+    }
+
+    @Test
+    public void postedCommandsRunInOrderAfterTheBannerCommands() {
+        queue.post(new Runnable() {
+            @Override
+            public void run() {
+                applied.add("first");
+            }
+        });
+        queue.setVisible(true);
+        for (int i = 0; i < 20; i++) {
+            final int index = i;
+            queue.post(new Runnable() {
+                @Override
+                public void run() {
+                    applied.add("command " + index);
+                }
+            });
+        }
+        assertEquals(1, posted.size());
+        drain();
+        assertEquals(22, applied.size());
+        assertEquals(List.of("show", "first", "command 0"), applied.subList(0, 3));
+        assertEquals("command 19", applied.get(21));
+        assertEquals(22, queue.getAppliedCount());
+    }
+
+    @Test
+    public void eachDrainStartsANewBatch() {
+        queue.setVisible(false);
+        drain();
+        queue.setVisible(true);
+        queue.clear();
+        queue.move("top", 3, 0);
+        assertEquals(2, posted.size());
+        drain();
+        assertEquals(List.of("hide", "move top 3"), applied);
+        assertEquals(2, queue.getBatchCount());
+    }
+
+    private void drain() {
+        posted.get(posted.size() - 1).run();
+    }
+}
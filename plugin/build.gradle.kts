@@ -41,6 +41,14 @@ android {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
+
+    // Compile the pure-Java core into the AAR: a project dependency would not be bundled
+    // in it, and Godot only loads the plugin AAR plus the dependencies listed in export_plugin.gd
+    sourceSets {
+        getByName("main") {
+            java.srcDir("../core/src/main/java")
+        }
+    }
 }
 
 dependencies {
@@ -3,10 +3,68 @@ class_name AdMob extends Object
 ## GDScript interface for the DroidAdMob Android plugin
 ##
 ## This class provides a convenient way to access AdMob functionality in Godot.
-## It supports banner ads, interstitial ads, and rewarded video ads.
+## It supports banner ads, interstitial ads, rewarded video ads and app-open ads.
+
+## Event types returned by drain_events() in batched mode
+enum EventType {
+	AD_LOADED,
+	AD_FAILED_TO_LOAD,
+	AD_OPENED,
+	AD_CLOSED,
+	AD_IMPRESSION,
+	AD_CLICKED,
+	REWARDED,
+	INTERSTITIAL_LOADED,
+	INTERSTITIAL_FAILED_TO_LOAD,
+	REWARDED_AD_LOADED,
+	REWARDED_AD_FAILED_TO_LOAD,
+	LOAD_RETRY_SCHEDULED,
+	PLACEMENT_LOADED,
+	PLACEMENT_FAILED_TO_LOAD,
+	PLACEMENT_OPENED,
+	PLACEMENT_CLOSED,
+	PLACEMENT_FAILED_TO_SHOW,
+	PLACEMENT_IMPRESSION,
+	PLACEMENT_CLICKED,
+	PLACEMENT_REWARDED,
+	PLACEMENT_CAPPED,
+	APP_OPEN_LOADED,
+	APP_OPEN_FAILED_TO_LOAD,
+	APP_OPEN_SHOWN,
+	APP_OPEN_SKIPPED,
+	MEMORY_PRESSURE_CHANGED,
+	NETWORK_CHANGED,
+	REQUEST_LOADED,
+	REQUEST_FAILED_TO_LOAD,
+	REQUEST_OPENED,
+	REQUEST_FAILED_TO_SHOW,
+	REQUEST_IMPRESSION,
+	REQUEST_CLICKED,
+	REQUEST_REWARDED,
+	REQUEST_CLOSED,
+	RENDERING_SUSPENDED,
+	RENDERING_RESUMED,
+}
+
+## Number of values per event in the array returned by drain_events()
+const EVENT_STRIDE = 4
+
+## Finished request results kept until wait_for_request() claims them
+const MAX_REQUEST_RESULTS = 64
+## IDs of dropped unclaimed results remembered, so a late wait_for_request() reports "dropped"
+const MAX_DROPPED_REQUEST_IDS = 1024
+const _FINAL_REQUEST_EVENTS = ["loaded", "failed_to_load", "closed", "failed_to_show"]
+
+## Frame interval, in microseconds, while the game is suspended behind a full-screen ad
+const SUSPENDED_SLEEP_USEC = 100000
 
 var _plugin_name = "DroidAdMob"
 var _plugin_singleton
+var _request_results = {}
+var _dropped_request_ids = {}
+var _batched_events = false
+# Engine settings to restore after a full-screen ad, empty while not suspended
+var _suspended_state = {}
 
 # Signals - connect to these in your game
 signal ad_loaded
@@ -20,6 +78,30 @@ signal interstitial_loaded
 signal interstitial_failed_to_load(error_message: String)
 signal rewarded_ad_loaded
 signal rewarded_ad_failed_to_load(error_message: String)
+signal load_retry_scheduled(ad_unit_id: String, attempt: int, delay_ms: int)
+signal placement_loaded(placement_id: String)
+signal placement_failed_to_load(placement_id: String, error_message: String)
+signal placement_opened(placement_id: String)
+signal placement_closed(placement_id: String)
+signal placement_failed_to_show(placement_id: String, error_message: String)
+signal placement_impression(placement_id: String)
+signal placement_clicked(placement_id: String)
+signal placement_rewarded(placement_id: String, type: String, amount: int)
+signal placement_capped(placement_id: String, reason: String, wait_ms: int)
+signal app_open_loaded
+signal app_open_failed_to_load(error_message: String)
+signal app_open_shown(elapsed_ms: int)
+signal app_open_skipped(reason: String, elapsed_ms: int)
+signal memory_pressure_changed(level: String)
+signal network_changed(type: String, metered: bool)
+signal request_event(request_id: int, event: String, format: String, placement_id: String, ad_unit_id: String, code: int, message: String)
+signal request_finished(result: Dictionary)
+signal rendering_suspended
+signal rendering_resumed(suspended_ms: int)
+signal banner_size_changed(width: int, height: int)
+signal startup_phase(phase: String, elapsed_ms: int)
+signal startup_completed(elapsed_ms: int)
+signal mediation_initialized(elapsed_ms: int)
 signal consent_info_updated
 signal consent_info_update_failed(error_message: String)
 signal consent_form_dismissed
@@ -47,6 +129,29 @@ func _connect_signals():
 		_plugin_singleton.connect("interstitial_failed_to_load", _on_interstitial_failed_to_load)
 		_plugin_singleton.connect("rewarded_ad_loaded", _on_rewarded_ad_loaded)
 		_plugin_singleton.connect("rewarded_ad_failed_to_load", _on_rewarded_ad_failed_to_load)
+		_plugin_singleton.connect("load_retry_scheduled", _on_load_retry_scheduled)
+		_plugin_singleton.connect("placement_loaded", _on_placement_loaded)
+		_plugin_singleton.connect("placement_failed_to_load", _on_placement_failed_to_load)
+		_plugin_singleton.connect("placement_opened", _on_placement_opened)
+		_plugin_singleton.connect("placement_closed", _on_placement_closed)
+		_plugin_singleton.connect("placement_failed_to_show", _on_placement_failed_to_show)
+		_plugin_singleton.connect("placement_impression", _on_placement_impression)
+		_plugin_singleton.connect("placement_clicked", _on_placement_clicked)
+		_plugin_singleton.connect("placement_rewarded", _on_placement_rewarded)
+		_plugin_singleton.connect("placement_capped", _on_placement_capped)
+		_plugin_singleton.connect("app_open_loaded", _on_app_open_loaded)
+		_plugin_singleton.connect("app_open_failed_to_load", _on_app_open_failed_to_load)
+		_plugin_singleton.connect("app_open_shown", _on_app_open_shown)
+		_plugin_singleton.connect("app_open_skipped", _on_app_open_skipped)
+		_plugin_singleton.connect("memory_pressure_changed", _on_memory_pressure_changed)
+		_plugin_singleton.connect("network_changed", _on_network_changed)
+		_plugin_singleton.connect("request_event", _on_request_event)
+		_plugin_singleton.connect("rendering_suspended", _on_rendering_suspended)
+		_plugin_singleton.connect("rendering_resumed", _on_rendering_resumed)
+		_plugin_singleton.connect("banner_size_changed", _on_banner_size_changed)
+		_plugin_singleton.connect("startup_phase", _on_startup_phase)
+		_plugin_singleton.connect("startup_completed", _on_startup_completed)
+		_plugin_singleton.connect("mediation_initialized", _on_mediation_initialized)
 		_plugin_singleton.connect("consent_info_updated", _on_consent_info_updated)
 		_plugin_singleton.connect("consent_info_update_failed", _on_consent_info_update_failed)
 		_plugin_singleton.connect("consent_form_dismissed", _on_consent_form_dismissed)
@@ -87,6 +192,115 @@ func _on_rewarded_ad_loaded():
 func _on_rewarded_ad_failed_to_load(error_message: String):
 	rewarded_ad_failed_to_load.emit(error_message)
 
+func _on_load_retry_scheduled(ad_unit_id: String, attempt: int, delay_ms: int):
+	load_retry_scheduled.emit(ad_unit_id, attempt, delay_ms)
+
+func _on_placement_loaded(placement_id: String):
+	placement_loaded.emit(placement_id)
+
+func _on_placement_failed_to_load(placement_id: String, error_message: String):
+	placement_failed_to_load.emit(placement_id, error_message)
+
+func _on_placement_opened(placement_id: String):
+	placement_opened.emit(placement_id)
+
+func _on_placement_closed(placement_id: String):
+	placement_closed.emit(placement_id)
+
+func _on_placement_failed_to_show(placement_id: String, error_message: String):
+	placement_failed_to_show.emit(placement_id, error_message)
+
+func _on_placement_impression(placement_id: String):
+	placement_impression.emit(placement_id)
+
+func _on_placement_clicked(placement_id: String):
+	placement_clicked.emit(placement_id)
+
+func _on_placement_rewarded(placement_id: String, type: String, amount: int):
+	placement_rewarded.emit(placement_id, type, amount)
+
+func _on_placement_capped(placement_id: String, reason: String, wait_ms: int):
+	placement_capped.emit(placement_id, reason, wait_ms)
+
+func _on_app_open_loaded():
+	app_open_loaded.emit()
+
+func _on_app_open_failed_to_load(error_message: String):
+	app_open_failed_to_load.emit(error_message)
+
+func _on_app_open_shown(elapsed_ms: int):
+	app_open_shown.emit(elapsed_ms)
+
+func _on_app_open_skipped(reason: String, elapsed_ms: int):
+	app_open_skipped.emit(reason, elapsed_ms)
+
+func _on_memory_pressure_changed(level: String):
+	memory_pressure_changed.emit(level)
+
+func _on_network_changed(type: String, metered: bool):
+	network_changed.emit(type, metered)
+
+func _on_rendering_suspended():
+	if _suspended_state.is_empty():
+		var tree = Engine.get_main_loop() as SceneTree
+		_suspended_state = {
+			"tree_paused": tree.paused if tree else false,
+			"low_processor": OS.low_processor_usage_mode,
+			"sleep_usec": OS.low_processor_usage_mode_sleep_usec,
+			"muted": AudioServer.is_bus_mute(0),
+		}
+		if tree:
+			tree.paused = true
+		OS.low_processor_usage_mode = true
+		OS.low_processor_usage_mode_sleep_usec = SUSPENDED_SLEEP_USEC
+		AudioServer.set_bus_mute(0, true)
+	rendering_suspended.emit()
+
+func _on_rendering_resumed(suspended_ms: int):
+	if not _suspended_state.is_empty():
+		var tree = Engine.get_main_loop() as SceneTree
+		if tree:
+			tree.paused = _suspended_state["tree_paused"]
+		OS.low_processor_usage_mode = _suspended_state["low_processor"]
+		OS.low_processor_usage_mode_sleep_usec = _suspended_state["sleep_usec"]
+		AudioServer.set_bus_mute(0, _suspended_state["muted"])
+		_suspended_state = {}
+	rendering_resumed.emit(suspended_ms)
+
+func _on_request_event(request_id: int, event: String, format: String, placement_id: String, ad_unit_id: String, code: int, message: String):
+	request_event.emit(request_id, event, format, placement_id, ad_unit_id, code, message)
+	if event in _FINAL_REQUEST_EVENTS:
+		var result = {
+			"request_id": request_id,
+			"success": event == "loaded" or event == "closed",
+			"event": event,
+			"format": format,
+			"placement_id": placement_id,
+			"ad_unit_id": ad_unit_id,
+			"code": code,
+			"message": message,
+		}
+		_request_results[request_id] = result
+		if _request_results.size() > MAX_REQUEST_RESULTS:
+			var dropped_id = _request_results.keys()[0]
+			_request_results.erase(dropped_id)
+			_dropped_request_ids[dropped_id] = true
+			if _dropped_request_ids.size() > MAX_DROPPED_REQUEST_IDS:
+				_dropped_request_ids.erase(_dropped_request_ids.keys()[0])
+		request_finished.emit(result)
+
+func _on_banner_size_changed(width: int, height: int):
+	banner_size_changed.emit(width, height)
+
+func _on_startup_phase(phase: String, elapsed_ms: int):
+	startup_phase.emit(phase, elapsed_ms)
+
+func _on_startup_completed(elapsed_ms: int):
+	startup_completed.emit(elapsed_ms)
+
+func _on_mediation_initialized(elapsed_ms: int):
+	mediation_initialized.emit(elapsed_ms)
+
 func _on_consent_info_updated():
 	consent_info_updated.emit()
 
@@ -110,6 +324,57 @@ func initialize(is_test_mode: bool = true) -> void:
 	else:
 		printerr("AdMob plugin not available")
 
+## Run consent, SDK initialization and placement preloading in one call
+## Consent refresh and initialization run in parallel when the cached consent allows it,
+## and the consent form is shown automatically when required.
+## Placements come from the "droid_admob/startup_placements" export option and the config.
+## @param config: Optional keys: test_mode (bool), test_device_id (String),
+##                show_consent_form (bool, default true), preload_depth (int),
+##                mediation_init (String) and mediation_adapters (Array) as in set_mediation_init_mode,
+##                placements (Array of { "id", "format", "ad_unit_id" } or "id:format:ad_unit_id";
+##                tiered placements use "ad_unit_ids", "mode" and "parallel" as in register_placement_tiers)
+func startup(config: Dictionary = {}) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.startup(config)
+	else:
+		printerr("AdMob plugin not available")
+
+## Get the phase timings of the last startup() call
+## Returns a Dictionary: phase -> milliseconds since startup() was called
+func get_startup_timings() -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getStartupTimings()
+	return {}
+
+## Choose when the SDK is initialized and how long ads wait for mediation adapters;
+## call before initialize() or startup()
+## @param mode: "all" (default) waits for every adapter before ads load,
+##              "wait_for" lets ads load once the listed adapters are ready,
+##              "after_first_frame" initializes the SDK, with every adapter, after the next frame,
+##              "none" does not initialize mediation adapters
+## @param adapters: Adapters waited for in "wait_for" mode, matched against the adapter class name, e.g. "applovin"
+## The SDK always starts every linked adapter together; "wait_for" only stops waiting for the others
+func set_mediation_init_mode(mode: String, adapters: PackedStringArray = PackedStringArray()) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setMediationInitMode(mode, adapters)
+	else:
+		printerr("AdMob plugin not available")
+
+## Get the initialization status of the mediation adapters
+## Returns { mode, ready_ms, completed_ms, adapters: { class: { state, latency_ms, description, selected } } }
+func get_mediation_status() -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getMediationStatus()
+	return {}
+
+## Set how long load requests made before initialization completes are kept queued
+## @param timeout_ms: Timeout in milliseconds (default: 10000)
+func set_init_queue_timeout(timeout_ms: int) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setInitQueueTimeout(timeout_ms)
+	else:
+		printerr("AdMob plugin not available")
+
 ## Get the test banner ad unit ID (for testing purposes)
 func get_test_banner_ad_unit() -> String:
 	if _plugin_singleton:
@@ -128,13 +393,44 @@ func get_test_rewarded_ad_unit() -> String:
 		return _plugin_singleton.getTestRewardedAdUnit()
 	return ""
 
+## Get the test app-open ad unit ID (for testing purposes)
+func get_test_app_open_ad_unit() -> String:
+	if _plugin_singleton:
+		return _plugin_singleton.getTestAppOpenAdUnit()
+	return ""
+
 ## Load and display a banner ad
 ## @param ad_unit_id: Your AdMob ad unit ID
 ## @param position: "top" or "bottom" (default: "bottom")
-## @param size: "banner", "large_banner", "medium_rectangle", "full_banner", or "leaderboard" (default: "banner")
-func load_banner(ad_unit_id: String, position: String = "bottom", size: String = "banner") -> void:
+## @param size: "banner", "large_banner", "medium_rectangle", "full_banner", "leaderboard" or "adaptive" (default: "banner")
+## Returns a request ID for wait_for_request() and request_event
+func load_banner(ad_unit_id: String, position: String = "bottom", size: String = "banner") -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.loadBanner(ad_unit_id, position, size)
+	printerr("AdMob plugin not available")
+	return 0
+
+## Get the anchored adaptive banner size for the current window width and orientation
+## Returns a Dictionary with width and height in dp and width_px and height_px in pixels
+func get_adaptive_banner_size() -> Dictionary:
 	if _plugin_singleton:
-		_plugin_singleton.loadBanner(ad_unit_id, position, size)
+		return _plugin_singleton.getAdaptiveBannerSize()
+	return {}
+
+## Move the current banner without reloading it
+## @param position: "top", "bottom", "top_left", "top_right", "bottom_left", "bottom_right" or "center"
+## @param offset_x: Horizontal offset in pixels
+## @param offset_y: Vertical offset in pixels, away from the anchored edge
+func move_banner(position: String, offset_x: int = 0, offset_y: int = 0) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.moveBanner(position, offset_x, offset_y)
+	else:
+		printerr("AdMob plugin not available")
+
+## Set how many removed banners are kept for reuse (default: 1, 0 destroys them immediately)
+func set_banner_cache_size(size: int) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setBannerCacheSize(size)
 	else:
 		printerr("AdMob plugin not available")
 
@@ -161,18 +457,20 @@ func show_banner() -> void:
 
 ## Load an interstitial ad
 ## @param ad_unit_id: Your AdMob ad unit ID
-func load_interstitial(ad_unit_id: String) -> void:
+## Returns a request ID for wait_for_request() and request_event
+func load_interstitial(ad_unit_id: String) -> int:
 	if _plugin_singleton:
-		_plugin_singleton.loadInterstitial(ad_unit_id)
-	else:
-		printerr("AdMob plugin not available")
+		return _plugin_singleton.loadInterstitial(ad_unit_id)
+	printerr("AdMob plugin not available")
+	return 0
 
 ## Show the loaded interstitial ad
-func show_interstitial() -> void:
+## Returns a request ID for wait_for_request() and request_event
+func show_interstitial() -> int:
 	if _plugin_singleton:
-		_plugin_singleton.showInterstitial()
-	else:
-		printerr("AdMob plugin not available")
+		return _plugin_singleton.showInterstitial()
+	printerr("AdMob plugin not available")
+	return 0
 
 ## Check if an interstitial ad is loaded and ready to show
 func is_interstitial_loaded() -> bool:
@@ -180,27 +478,355 @@ func is_interstitial_loaded() -> bool:
 		return _plugin_singleton.isInterstitialLoaded()
 	return false
 
-## Load a rewarded video ad
-## @param ad_unit_id: Your AdMob ad unit ID
-func load_rewarded(ad_unit_id: String) -> void:
+## Set how many interstitial and rewarded ads are kept preloaded per ad unit
+## @param depth: Number of ready ads to keep (1-5, default: 1)
+func set_preload_depth(depth: int) -> void:
 	if _plugin_singleton:
-		_plugin_singleton.loadRewarded(ad_unit_id)
+		_plugin_singleton.setPreloadDepth(depth)
 	else:
 		printerr("AdMob plugin not available")
 
-## Show the loaded rewarded video ad
-func show_rewarded() -> void:
+## Set how long loaded interstitial and rewarded ads stay valid
+## Expired ads no longer count as loaded; a replacement is loaded shortly before expiry.
+## @param ttl_ms: Time after loading at which an ad expires (default 55 minutes, 0 to disable)
+## @param refresh_lead_ms: How long before expiry the replacement load starts (default 60 seconds)
+func set_ad_expiry(ttl_ms: int, refresh_lead_ms: int = 60000) -> void:
 	if _plugin_singleton:
-		_plugin_singleton.showRewarded()
+		_plugin_singleton.setAdExpiry(ttl_ms, refresh_lead_ms)
 	else:
 		printerr("AdMob plugin not available")
 
+## Get the number of preloaded ads ready to show for an ad unit
+func get_ready_count(ad_unit_id: String) -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.getReadyCount(ad_unit_id)
+	return 0
+
+## Load a rewarded video ad
+## @param ad_unit_id: Your AdMob ad unit ID
+## Returns a request ID for wait_for_request() and request_event
+func load_rewarded(ad_unit_id: String) -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.loadRewarded(ad_unit_id)
+	printerr("AdMob plugin not available")
+	return 0
+
+## Show the loaded rewarded video ad
+## Returns a request ID for wait_for_request() and request_event
+func show_rewarded() -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.showRewarded()
+	printerr("AdMob plugin not available")
+	return 0
+
 ## Check if a rewarded ad is loaded and ready to show
 func is_rewarded_loaded() -> bool:
 	if _plugin_singleton:
 		return _plugin_singleton.isRewardedLoaded()
 	return false
 
+## Preload an app-open ad, kept cached across background and foreground transitions
+## @param ad_unit_id: Your AdMob app-open ad unit ID
+## Returns a request ID for wait_for_request() and request_event
+func load_app_open(ad_unit_id: String) -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.loadAppOpen(ad_unit_id)
+	printerr("AdMob plugin not available")
+	return 0
+
+## Show the cached app-open ad now
+## Emits app_open_shown, or app_open_skipped if no ad is ready
+## Returns a request ID for wait_for_request() and request_event
+func show_app_open() -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.showAppOpen()
+	printerr("AdMob plugin not available")
+	return 0
+
+## Show an app-open ad for the cold start, only if one is ready within the budget
+## Emits app_open_shown or app_open_skipped with the time it cost
+## Returns a request ID for wait_for_request() and request_event
+func show_app_open_at_launch() -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.showAppOpenAtLaunch()
+	printerr("AdMob plugin not available")
+	return 0
+
+## Check if an app-open ad is loaded and ready to show
+func is_app_open_loaded() -> bool:
+	if _plugin_singleton:
+		return _plugin_singleton.isAppOpenLoaded()
+	return false
+
+## Set how long after a launch or return to the foreground an app-open ad may still be shown
+## @param budget_ms: Budget in milliseconds (default: 3000)
+func set_app_open_budget(budget_ms: int) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setAppOpenBudget(budget_ms)
+	else:
+		printerr("AdMob plugin not available")
+
+## Show an app-open ad within the budget each time the app returns to the foreground
+## Returning from a full-screen ad is ignored
+func set_app_open_on_foreground(enabled: bool) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setAppOpenOnForeground(enabled)
+	else:
+		printerr("AdMob plugin not available")
+
+## Suspend the game while an interstitial, rewarded or app-open ad is on screen
+## From the show call until the ad is dismissed or fails to show, the scene tree is paused,
+## the master bus is muted and frames are only drawn on demand; the previous settings are
+## then restored. The time spent suspended is reported as suspended_ms in get_metrics().
+func set_pause_rendering_during_ads(enabled: bool) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setPauseRenderingDuringAds(enabled)
+	else:
+		printerr("AdMob plugin not available")
+
+## Get the state of each preload slot of an ad unit
+## Each entry is one of "idle", "loading", "ready", "showing", "consumed" or "expired"
+func get_ad_slot_states(ad_unit_id: String) -> PackedStringArray:
+	if _plugin_singleton:
+		return _plugin_singleton.getAdSlotStates(ad_unit_id)
+	return PackedStringArray()
+
+## Configure automatic retries for failed interstitial and rewarded loads
+## @param policy: Dictionary with optional keys base_delay_ms, max_delay_ms, max_attempts,
+##   jitter (0-1), no_fill_threshold and breaker_cooldown_ms
+func set_retry_policy(policy: Dictionary) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setRetryPolicy(policy)
+	else:
+		printerr("AdMob plugin not available")
+
+## Get the automatic retry state of an ad unit
+## Returns a Dictionary with attempts, consecutive_no_fills, circuit_open, retry_pending and next_retry_ms
+func get_retry_state(ad_unit_id: String) -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getRetryState(ad_unit_id)
+	return {}
+
+# Metrics
+
+## Get load and show performance metrics
+## Returns a Dictionary: format -> ad unit ID -> { requests, fills, no_fills, errors, shows,
+## expired, fill_rate, error_codes, load_latency_ms, time_to_show_ms, ready_to_show_ms }
+## Latency entries hold count, p50, p90, p99 and max in milliseconds.
+func get_metrics() -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getMetrics()
+	return {}
+
+## Reset all performance metrics
+func reset_metrics() -> void:
+	if _plugin_singleton:
+		_plugin_singleton.resetMetrics()
+	else:
+		printerr("AdMob plugin not available")
+
+## Get the memory pressure level the plugin is currently reacting to
+## Returns "normal", "moderate" or "critical"
+func get_memory_pressure() -> String:
+	if _plugin_singleton:
+		return _plugin_singleton.getMemoryPressure()
+	return "normal"
+
+## Get the network the plugin is currently preloading on
+## Returns { connected, type, metered }; type is "none", "wifi", "cellular", "ethernet" or "other"
+func get_network_state() -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getNetworkState()
+	return {}
+
+# Batched Events
+
+## Enable or disable batched event delivery
+## When enabled, ad signals are not emitted; call drain_events() once per frame instead.
+## Consent and banner_size_changed signals are always emitted.
+func set_batched_events(enabled: bool) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setBatchedEvents(enabled)
+		_batched_events = enabled
+	else:
+		printerr("AdMob plugin not available")
+
+## Remove all buffered ad events
+## Returns a flat Array with EVENT_STRIDE values per event:
+## [type: EventType, placement: String, code: int, timestamp_ms: int, ...]
+## placement holds the ad unit ID for events not tied to a placement, and code holds the
+## error code, reward amount, retry delay or cap wait depending on the event type.
+func drain_events() -> Array:
+	if _plugin_singleton:
+		return _plugin_singleton.drainEvents()
+	return []
+
+## Get the number of batched events dropped because the queue was full
+func get_dropped_event_count() -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.getDroppedEventCount()
+	return 0
+
+# Logging and tracing
+
+## Set the logcat level: "debug", "warn", "error" or "none"
+## Defaults to "debug" in debuggable builds and "warn" in release builds
+func set_log_level(level: String) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setLogLevel(level)
+	else:
+		printerr("AdMob plugin not available")
+
+func get_log_level() -> String:
+	if _plugin_singleton:
+		return _plugin_singleton.getLogLevel()
+	return ""
+
+## Get the most recent trace records (up to 256), oldest first, as a flat array of
+## EVENT_STRIDE values per record: [event: String, placement: String, code: int, timestamp_ms: int, ...]
+## event is a signal name, "request_" followed by the request event, "load_started" or "show_started"
+func dump_trace() -> Array:
+	if _plugin_singleton:
+		return _plugin_singleton.dumpTrace()
+	return []
+
+func clear_trace() -> void:
+	if _plugin_singleton:
+		_plugin_singleton.clearTrace()
+	else:
+		printerr("AdMob plugin not available")
+
+## Wrap ad loads and shows in android.os.Trace sections for system trace profiling
+func set_system_trace_enabled(enabled: bool) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setSystemTraceEnabled(enabled)
+	else:
+		printerr("AdMob plugin not available")
+
+# Placements
+
+## Register a named placement bound to a full-screen ad format and ad unit
+## @param placement_id: Name used to address the placement (e.g. "level_end")
+## @param format: "interstitial" or "rewarded"
+## @param ad_unit_id: Your AdMob ad unit ID
+func register_placement(placement_id: String, format: String, ad_unit_id: String) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.registerPlacement(placement_id, format, ad_unit_id)
+	else:
+		printerr("AdMob plugin not available")
+
+## Register a placement backed by several ad units, best ranked first (e.g. high floor to low floor)
+## Every fill is kept and shows use the best ranked tier that has an ad ready.
+## @param mode: "waterfall" requests one tier at a time and falls through on no-fill,
+##              "hedged" requests `parallel` tiers at once
+func register_placement_tiers(placement_id: String, format: String, ad_unit_ids: PackedStringArray, mode: String = "waterfall", parallel: int = 2) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.registerPlacementTiers(placement_id, format, ad_unit_ids, mode, parallel)
+	else:
+		printerr("AdMob plugin not available")
+
+## Get the state of each tier of a placement, best ranked first
+## @return: Array of Dictionaries with tier, ad_unit_id, ready and the ad unit's metrics
+##          (requests, fills, no_fills, load_latency_ms, ...)
+func get_placement_tiers(placement_id: String) -> Array:
+	if _plugin_singleton:
+		return _plugin_singleton.getPlacementTiers(placement_id)
+	return []
+
+## Start preloading ads for a registered placement
+## Returns a request ID for wait_for_request() and request_event
+func load_placement(placement_id: String) -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.loadPlacement(placement_id)
+	printerr("AdMob plugin not available")
+	return 0
+
+## Show a preloaded ad for a registered placement
+## Returns a request ID for wait_for_request() and request_event
+func show_placement(placement_id: String) -> int:
+	if _plugin_singleton:
+		return _plugin_singleton.showPlacement(placement_id)
+	printerr("AdMob plugin not available")
+	return 0
+
+## Wait for the outcome of a load or show call, e.g.
+## var result = await admob.wait_for_request(admob.load_interstitial(ad_unit_id))
+## Loads finish with "loaded" or "failed_to_load", shows with "closed" or "failed_to_show".
+## Returns { request_id, success, event, format, placement_id, ad_unit_id, code, message }
+## Requires signal delivery: in batched mode it fails at once with event "not_tracked".
+## Only the latest MAX_REQUEST_RESULTS unclaimed results are kept; waiting for an older one
+## fails at once with event "dropped".
+func wait_for_request(request_id: int) -> Dictionary:
+	if request_id <= 0:
+		return _failed_request_result(request_id, "", "AdMob plugin not available")
+	if _batched_events:
+		return _failed_request_result(request_id, "not_tracked", "Request events are not emitted in batched mode")
+	while not _request_results.has(request_id):
+		if _dropped_request_ids.has(request_id):
+			_dropped_request_ids.erase(request_id)
+			return _failed_request_result(request_id, "dropped",
+				"Result dropped after more than %d unclaimed results" % MAX_REQUEST_RESULTS)
+		await request_finished
+	var result = _request_results[request_id]
+	_request_results.erase(request_id)
+	return result
+
+func _failed_request_result(request_id: int, event: String, message: String) -> Dictionary:
+	return {"request_id": request_id, "success": false, "event": event, "format": "", "placement_id": "",
+		"ad_unit_id": "", "code": -1, "message": message}
+
+## Check if a placement has an ad ready to show
+func is_placement_loaded(placement_id: String) -> bool:
+	if _plugin_singleton:
+		return _plugin_singleton.isPlacementLoaded(placement_id)
+	return false
+
+## Unregister a placement and release its preloaded ads
+func destroy_placement(placement_id: String) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.destroyPlacement(placement_id)
+	else:
+		printerr("AdMob plugin not available")
+
+# Frequency Capping
+
+## Set frequency cap and pacing rules for a placement
+## Use "interstitial" or "rewarded" to cap show_interstitial() and show_rewarded().
+## @param rules: Dictionary with optional keys max_shows and window_ms (at most max_shows per
+##               sliding window), min_interval_ms and session_grace_ms
+func set_frequency_cap(placement_id: String, rules: Dictionary) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.setFrequencyCap(placement_id, rules)
+	else:
+		printerr("AdMob plugin not available")
+
+## Remove the frequency cap rules of a placement
+func clear_frequency_cap(placement_id: String) -> void:
+	if _plugin_singleton:
+		_plugin_singleton.clearFrequencyCap(placement_id)
+	else:
+		printerr("AdMob plugin not available")
+
+## Check if the frequency cap allows a placement to show an ad now (cheap, safe every frame)
+func can_show_placement(placement_id: String) -> bool:
+	if _plugin_singleton:
+		return _plugin_singleton.canShowPlacement(placement_id)
+	return false
+
+## Get the frequency cap state of a placement
+## @return: Dictionary with can_show, reason and wait_ms
+func get_frequency_cap_state(placement_id: String) -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getFrequencyCapState(placement_id)
+	return {}
+
+## Forget the persisted show history of every placement (for testing)
+func reset_frequency_cap_history() -> void:
+	if _plugin_singleton:
+		_plugin_singleton.resetFrequencyCapHistory()
+	else:
+		printerr("AdMob plugin not available")
+
 # Consent Management (GDPR/Privacy)
 
 ## Request consent information update
@@ -243,6 +869,34 @@ func show_privacy_options_form() -> void:
 	else:
 		printerr("AdMob plugin not available")
 
+## Check from the persisted consent snapshot, without a network round-trip, whether ads can be requested
+## Safe to call at cold start before any other consent call
+func can_request_ads_fast() -> bool:
+	if _plugin_singleton:
+		return _plugin_singleton.canRequestAdsFast()
+	return false
+
+## Get the persisted consent snapshot
+## Returns a Dictionary with status, privacy_options_required, can_request_ads, updated_at (Unix ms)
+## and age_ms, or an empty Dictionary if consent was never recorded
+func get_consent_snapshot() -> Dictionary:
+	if _plugin_singleton:
+		return _plugin_singleton.getConsentSnapshot()
+	return {}
+
+## Start ads without waiting for the consent round-trip
+## Initializes right away if the persisted consent allows ads, otherwise as soon as the consent
+## refresh (or the consent form, if you show it on consent_info_updated) allows it.
+## Consent is always refreshed in the background. Loads called right after are queued until init completes.
+## @param is_test_mode: If true, uses test ads and consent debug settings
+## @param test_device_id: Test device ID for consent debugging (empty for production)
+## Returns true if initialization started immediately from the snapshot
+func fast_start(is_test_mode: bool = true, test_device_id: String = "") -> bool:
+	if _plugin_singleton:
+		return _plugin_singleton.fastStart(is_test_mode, test_device_id)
+	printerr("AdMob plugin not available")
+	return false
+
 ## Reset consent information (for testing)
 func reset_consent_information() -> void:
 	if _plugin_singleton:
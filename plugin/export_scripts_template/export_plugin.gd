@@ -19,6 +19,10 @@ func _exit_tree():
 class AndroidExportPlugin extends EditorExportPlugin:
 	var _plugin_name = "DroidAdMob"
 
+	# Placements preloaded by startup(), one "id:format:ad_unit_id" per line
+	const STARTUP_PLACEMENTS_OPTION = "droid_admob/startup_placements"
+	const STARTUP_PLACEMENTS_META_DATA = "org.godotengine.plugin.android.admob.STARTUP_PLACEMENTS"
+
 	func _supports_platform(platform):
 		# Support Android platform
 		return platform.get_os_name() == "Android"
@@ -35,5 +39,27 @@ class AndroidExportPlugin extends EditorExportPlugin:
 			"com.google.android.ump:user-messaging-platform:2.1.0"
 		])
 
+	func _get_export_options(platform):
+		if not _supports_platform(platform):
+			return []
+		return [{
+			"option": {
+				"name": STARTUP_PLACEMENTS_OPTION,
+				"type": TYPE_STRING,
+				"hint": PROPERTY_HINT_MULTILINE_TEXT,
+			},
+			"default_value": "",
+		}]
+
+	func _get_android_manifest_application_element_contents(platform, debug):
+		var entries = PackedStringArray()
+		for line in str(get_option(STARTUP_PLACEMENTS_OPTION)).split("\n", false):
+			var entry = line.strip_edges()
+			if not entry.is_empty():
+				entries.append(entry.xml_escape(true))
+		if entries.is_empty():
+			return ""
+		return "<meta-data android:name=\"%s\" android:value=\"%s\"/>\n" % [STARTUP_PLACEMENTS_META_DATA, ";".join(entries)]
+
 	func _get_name():
 		return _plugin_name
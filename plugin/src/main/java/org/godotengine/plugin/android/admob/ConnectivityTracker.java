@@ -0,0 +1,166 @@
+package org.godotengine.plugin.android.admob;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+import android.os.Build;
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+
+import org.godotengine.plugin.android.admob.core.AdController;
+import org.godotengine.plugin.android.admob.core.AdLogger;
+
+/**
+ * Follows the default network through a ConnectivityManager callback and reports its class
+ * and whether it is metered on the main thread. Before API 24 there is no default network
+ * callback, so any network change triggers a re-read of the active network.
+ */
+class ConnectivityTracker {
+
+    /**
+     * Receives network changes on the main thread
+     */
+    interface Listener {
+        void onNetworkChanged(int type, boolean metered);
+    }
+
+    private final ConnectivityManager connectivityManager;
+    private final Handler handler;
+    private final AdLogger logger;
+    private final Listener listener;
+    private boolean registered;
+    // Network the default network callback reported last, written on the callback thread
+    private volatile Network defaultNetwork;
+
+    private final ConnectivityManager.NetworkCallback callback = new ConnectivityManager.NetworkCallback() {
+        @Override
+        public void onAvailable(@NonNull Network network) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                defaultNetwork = network;
+            } else {
+                reportActiveNetwork();
+            }
+        }
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                defaultNetwork = network;
+                report(typeOf(capabilities),
+                        !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED));
+            } else {
+                reportActiveNetwork();
+            }
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                // A previous default network can be lost after the new one became available
+                if (!network.equals(defaultNetwork)) {
+                    return;
+                }
+                defaultNetwork = null;
+                report(AdController.NETWORK_NONE, false);
+            } else {
+                reportActiveNetwork();
+            }
+        }
+    };
+
+    ConnectivityTracker(Context context, Handler handler, AdLogger logger, Listener listener) {
+        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.handler = handler;
+        this.logger = logger;
+        this.listener = listener;
+    }
+
+    void start() {
+        if (registered || connectivityManager == null) {
+            return;
+        }
+        try {
+            reportActiveNetwork();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                connectivityManager.registerDefaultNetworkCallback(callback);
+            } else {
+                NetworkRequest request = new NetworkRequest.Builder()
+                        .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                        .build();
+                connectivityManager.registerNetworkCallback(request, callback);
+            }
+            registered = true;
+        } catch (RuntimeException e) {
+            // Missing ACCESS_NETWORK_STATE or too many callbacks: keep preloading as before
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Network callback not registered: " + e.getMessage());
+            }
+        }
+    }
+
+    void stop() {
+        if (!registered) {
+            return;
+        }
+        registered = false;
+        defaultNetwork = null;
+        try {
+            connectivityManager.unregisterNetworkCallback(callback);
+        } catch (RuntimeException e) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Network callback not unregistered: " + e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void reportActiveNetwork() {
+        NetworkInfo info = connectivityManager.getActiveNetworkInfo();
+        if (info == null || !info.isConnected()) {
+            report(AdController.NETWORK_NONE, false);
+            return;
+        }
+        int type;
+        switch (info.getType()) {
+            case ConnectivityManager.TYPE_WIFI:
+                type = AdController.NETWORK_WIFI;
+                break;
+            case ConnectivityManager.TYPE_MOBILE:
+                type = AdController.NETWORK_CELLULAR;
+                break;
+            case ConnectivityManager.TYPE_ETHERNET:
+                type = AdController.NETWORK_ETHERNET;
+                break;
+            default:
+                type = AdController.NETWORK_OTHER;
+                break;
+        }
+        report(type, connectivityManager.isActiveNetworkMetered());
+    }
+
+    private static int typeOf(NetworkCapabilities capabilities) {
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            return AdController.NETWORK_WIFI;
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            return AdController.NETWORK_CELLULAR;
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+            return AdController.NETWORK_ETHERNET;
+        }
+        return AdController.NETWORK_OTHER;
+    }
+
+    private void report(final int type, final boolean metered) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onNetworkChanged(type, metered);
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package org.godotengine.plugin.android.admob;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import org.godotengine.plugin.android.admob.core.ConsentSnapshot;
+
+/**
+ * Persists the last known ConsentSnapshot in SharedPreferences
+ */
+class ConsentStore {
+
+    private static final String PREFERENCES_NAME = "DroidAdMob.consent";
+    private static final String KEY_STATUS = "status";
+    private static final String KEY_PRIVACY_OPTIONS_REQUIRED = "privacy_options_required";
+    private static final String KEY_CAN_REQUEST_ADS = "can_request_ads";
+    private static final String KEY_UPDATED_AT = "updated_at";
+
+    private final SharedPreferences preferences;
+
+    ConsentStore(Context context) {
+        preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * @return the stored snapshot, or null if consent was never recorded
+     */
+    ConsentSnapshot load() {
+        long updatedAt = preferences.getLong(KEY_UPDATED_AT, -1);
+        if (updatedAt < 0) {
+            return null;
+        }
+        return new ConsentSnapshot(
+                preferences.getInt(KEY_STATUS, ConsentSnapshot.STATUS_UNKNOWN),
+                preferences.getBoolean(KEY_PRIVACY_OPTIONS_REQUIRED, false),
+                preferences.getBoolean(KEY_CAN_REQUEST_ADS, false),
+                updatedAt);
+    }
+
+    void save(ConsentSnapshot snapshot) {
+        preferences.edit()
+                .putInt(KEY_STATUS, snapshot.consentStatus)
+                .putBoolean(KEY_PRIVACY_OPTIONS_REQUIRED, snapshot.privacyOptionsRequired)
+                .putBoolean(KEY_CAN_REQUEST_ADS, snapshot.canRequestAds)
+                .putLong(KEY_UPDATED_AT, snapshot.updatedAt)
+                .apply();
+    }
+
+    void clear() {
+        preferences.edit()
+                .remove(KEY_STATUS)
+                .remove(KEY_PRIVACY_OPTIONS_REQUIRED)
+                .remove(KEY_CAN_REQUEST_ADS)
+                .remove(KEY_UPDATED_AT)
+                .apply();
+    }
+}
@@ -1,26 +1,30 @@
 package org.godotengine.plugin.android.admob;
 
 import android.app.Activity;
-import android.util.Log;
+import android.content.ComponentCallbacks2;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
+import android.view.Choreographer;
 import android.view.Gravity;
 import android.view.View;
 import android.widget.FrameLayout;
 
 import androidx.annotation.NonNull;
 
-import com.google.android.gms.ads.AdError;
 import com.google.android.gms.ads.AdListener;
 import com.google.android.gms.ads.AdRequest;
 import com.google.android.gms.ads.AdSize;
 import com.google.android.gms.ads.AdView;
-import com.google.android.gms.ads.FullScreenContentCallback;
 import com.google.android.gms.ads.LoadAdError;
 import com.google.android.gms.ads.MobileAds;
 import com.google.android.gms.ads.RequestConfiguration;
-import com.google.android.gms.ads.interstitial.InterstitialAd;
-import com.google.android.gms.ads.interstitial.InterstitialAdLoadCallback;
-import com.google.android.gms.ads.rewarded.RewardedAd;
-import com.google.android.gms.ads.rewarded.RewardedAdLoadCallback;
+import com.google.android.gms.ads.initialization.AdapterStatus;
+import com.google.android.gms.ads.initialization.InitializationStatus;
 import com.google.android.ump.ConsentDebugSettings;
 import com.google.android.ump.ConsentForm;
 import com.google.android.ump.ConsentInformation;
@@ -28,15 +32,39 @@ import com.google.android.ump.ConsentRequestParameters;
 import com.google.android.ump.FormError;
 import com.google.android.ump.UserMessagingPlatform;
 
+import org.godotengine.godot.Dictionary;
 import org.godotengine.godot.Godot;
 import org.godotengine.godot.plugin.GodotPlugin;
 import org.godotengine.godot.plugin.SignalInfo;
 import org.godotengine.godot.plugin.UsedByGodot;
-
+import org.godotengine.plugin.android.admob.core.AdController;
+import org.godotengine.plugin.android.admob.core.AdEvent;
+import org.godotengine.plugin.android.admob.core.AdLogger;
+import org.godotengine.plugin.android.admob.core.AdMetrics;
+import org.godotengine.plugin.android.admob.core.AdaptiveSizeCache;
+import org.godotengine.plugin.android.admob.core.UiCommandQueue;
+import org.godotengine.plugin.android.admob.core.BannerViewCache;
+import org.godotengine.plugin.android.admob.core.ConsentSnapshot;
+import org.godotengine.plugin.android.admob.core.EventQueue;
+import org.godotengine.plugin.android.admob.core.FrequencyCap;
+import org.godotengine.plugin.android.admob.core.MediationStartup;
+import org.godotengine.plugin.android.admob.core.PlacementRegistry;
+import org.godotengine.plugin.android.admob.core.RequestTracker;
+import org.godotengine.plugin.android.admob.core.RetryPolicy;
+import org.godotengine.plugin.android.admob.core.RetryScheduler;
+import org.godotengine.plugin.android.admob.core.StartupTimeline;
+import org.godotengine.plugin.android.admob.core.TraceBuffer;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 public class DroidAdMob extends GodotPlugin {
 
@@ -46,20 +74,124 @@ public class DroidAdMob extends GodotPlugin {
     public static final String TEST_BANNER_AD_UNIT = "ca-app-pub-3940256099942544/6300978111";
     public static final String TEST_INTERSTITIAL_AD_UNIT = "ca-app-pub-3940256099942544/1033173712";
     public static final String TEST_REWARDED_AD_UNIT = "ca-app-pub-3940256099942544/5224354917";
+    public static final String TEST_APP_OPEN_AD_UNIT = "ca-app-pub-3940256099942544/9257395921";
+
+    /**
+     * A banner view together with the key it is cached under and its load state
+     */
+    private static final class BannerSlot {
+        final String key;
+        final String adUnitId;
+        final AdView view;
+        final boolean adaptive;
+        boolean loaded;
+        long loadStartedAt;
+        // Async system trace section of the load, 0 if none
+        int traceCookie;
+
+        BannerSlot(String key, String adUnitId, AdView view, boolean adaptive) {
+            this.key = key;
+            this.adUnitId = adUnitId;
+            this.view = view;
+            this.adaptive = adaptive;
+        }
+    }
 
-    private AdView bannerAd;
-    private InterstitialAd interstitialAd;
-    private RewardedAd rewardedAd;
-    private boolean isInitialized = false;
-    private boolean testMode = false;
+    public static final int DEFAULT_BANNER_CACHE_SIZE = 1;
+    private static final String FORMAT_BANNER = "banner";
+    private static final String BANNER_CANCELLED_MESSAGE = "Cancelled by a later banner call";
+
+    public static final String SIZE_ADAPTIVE = "adaptive";
+
+    private BannerSlot banner;
+    // Tracked loadBanner call waiting for the current banner's first result
+    private int bannerRequestId = RequestTracker.NONE;
+    private String bannerRequestAdUnitId;
+    private final AdaptiveSizeCache<AdSize> adaptiveSizes = new AdaptiveSizeCache<>();
+    private volatile AdSize currentAdaptiveSize;
+    private boolean isAppPaused = false;
+    private final BannerViewCache<BannerSlot> bannerCache = new BannerViewCache<>(DEFAULT_BANNER_CACHE_SIZE);
+    // Requested cache size; the cache is emptied while memory is under pressure
+    private int bannerCacheSize = DEFAULT_BANNER_CACHE_SIZE;
+    // Ad calls from the game thread, applied together on the UI thread once per frame
+    private final UiCommandQueue uiCommands;
+    private volatile boolean testMode = false;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AdMetrics metrics = new AdMetrics();
+
+    // Logging and tracing
+    public static final int TRACE_CAPACITY = 256;
+    private final LogcatLogger logger = new LogcatLogger(TAG, AdLogger.LEVEL_DEBUG);
+    // Until set by the game, the level follows whether the app is debuggable
+    private volatile boolean logLevelSet = false;
+    private final TraceBuffer traceBuffer = new TraceBuffer(TRACE_CAPACITY);
+
+    // Batched event delivery
+    public static final int EVENT_QUEUE_CAPACITY = 256;
+    private final EventQueue eventQueue = new EventQueue(EVENT_QUEUE_CAPACITY);
+    private volatile boolean batchedEvents = false;
+
+    // Preloading, retries, placements and init queueing for full-screen ads
+    public static final int DEFAULT_PRELOAD_DEPTH = AdController.DEFAULT_PRELOAD_DEPTH;
+    public static final int MAX_PRELOAD_DEPTH = AdController.MAX_PRELOAD_DEPTH;
+    public static final int DEFAULT_INIT_QUEUE_TIMEOUT_MS = AdController.DEFAULT_INIT_QUEUE_TIMEOUT_MS;
+    public static final int DEFAULT_HEDGE_WIDTH = 2;
+    private final AdController adController = new AdController(new GoogleAdNetwork(this::getActivity),
+            SystemClock::elapsedRealtime, new HandlerScheduler(mainHandler), new Random(), metrics,
+            this::dispatchEvent, logger);
+
+    // Holds preloads while offline and lowers the preload depth on metered networks
+    private ConnectivityTracker connectivityTracker;
+
+    // Frequency capping, timed with the wall clock so persisted show history survives restarts
+    private final FrequencyCap frequencyCap = new FrequencyCap(System::currentTimeMillis);
+    private volatile FrequencyCapStore frequencyCapStore;
 
     // Consent management
-    private ConsentInformation consentInformation;
+    private volatile ConsentInformation consentInformation;
     private ConsentForm consentForm;
-    private boolean consentGathered = false;
+    private volatile boolean consentGathered = false;
+    private ConsentStore consentStore;
+    private volatile ConsentSnapshot consentSnapshot;
+    private volatile boolean initializeOnConsent = false;
+    private boolean isInitializing = false;
+
+    // Mediation adapter initialization
+    private static final int ADAPTER_POLL_MS = 50;
+    private final MediationStartup mediationStartup = new MediationStartup(SystemClock::elapsedRealtime);
+    private final Runnable adapterPoll = new Runnable() {
+        @Override
+        public void run() {
+            if (adController.isInitialized()) {
+                return;
+            }
+            InitializationStatus status = MobileAds.getInitializationStatus();
+            if (status != null) {
+                recordAdapterStatus(status);
+                if (mediationStartup.isWaitedForReady()) {
+                    onSdkReady();
+                    return;
+                }
+            }
+            mainHandler.postDelayed(this, ADAPTER_POLL_MS);
+        }
+    };
+
+    // One-call startup pipeline
+    private static final String STARTUP_PLACEMENTS_META_DATA = "org.godotengine.plugin.android.admob.STARTUP_PLACEMENTS";
+    private final StartupTimeline startupTimeline = new StartupTimeline(SystemClock::elapsedRealtime);
+    private final List<String> startupPlacementIds = new ArrayList<>();
+    private volatile boolean startupShowsConsentForm = false;
+
+    // Cold-start reference for the app-open show budget
+    private final long launchedAt = SystemClock.elapsedRealtime();
 
     public DroidAdMob(Godot godot) {
         super(godot);
+        uiCommands = new UiCommandQueue(nextFrameExecutor, bannerTarget);
+        frequencyCap.setHistoryListener(this::saveCapHistory);
+        adController.setFrequencyCap(frequencyCap);
+        adController.setTraceBuffer(traceBuffer);
     }
 
     @NonNull
@@ -83,6 +215,30 @@ public class DroidAdMob extends GodotPlugin {
         signals.add(new SignalInfo("interstitial_failed_to_load", String.class));
         signals.add(new SignalInfo("rewarded_ad_loaded"));
         signals.add(new SignalInfo("rewarded_ad_failed_to_load", String.class));
+        signals.add(new SignalInfo("load_retry_scheduled", String.class, Integer.class, Integer.class));
+        signals.add(new SignalInfo("placement_loaded", String.class));
+        signals.add(new SignalInfo("placement_failed_to_load", String.class, String.class));
+        signals.add(new SignalInfo("placement_opened", String.class));
+        signals.add(new SignalInfo("placement_closed", String.class));
+        signals.add(new SignalInfo("placement_failed_to_show", String.class, String.class));
+        signals.add(new SignalInfo("placement_impression", String.class));
+        signals.add(new SignalInfo("placement_clicked", String.class));
+        signals.add(new SignalInfo("placement_rewarded", String.class, String.class, Integer.class));
+        signals.add(new SignalInfo("placement_capped", String.class, String.class, Integer.class));
+        signals.add(new SignalInfo("app_open_loaded"));
+        signals.add(new SignalInfo("app_open_failed_to_load", String.class));
+        signals.add(new SignalInfo("app_open_shown", Integer.class));
+        signals.add(new SignalInfo("app_open_skipped", String.class, Integer.class));
+        signals.add(new SignalInfo("memory_pressure_changed", String.class));
+        signals.add(new SignalInfo("network_changed", String.class, Boolean.class));
+        signals.add(new SignalInfo("request_event", Integer.class, String.class, String.class, String.class,
+                String.class, Integer.class, String.class));
+        signals.add(new SignalInfo("rendering_suspended"));
+        signals.add(new SignalInfo("rendering_resumed", Integer.class));
+        signals.add(new SignalInfo("banner_size_changed", Integer.class, Integer.class));
+        signals.add(new SignalInfo("startup_phase", String.class, Integer.class));
+        signals.add(new SignalInfo("startup_completed", Integer.class));
+        signals.add(new SignalInfo("mediation_initialized", Integer.class));
         signals.add(new SignalInfo("consent_info_updated"));
         signals.add(new SignalInfo("consent_info_update_failed", String.class));
         signals.add(new SignalInfo("consent_form_dismissed"));
@@ -104,7 +260,7 @@ public class DroidAdMob extends GodotPlugin {
             public void run() {
                 Activity activity = getActivity();
                 if (activity == null) {
-                    Log.e(TAG, "Activity is null during consent request");
+                    logger.e("Activity is null during consent request");
                     emitSignal("consent_info_update_failed", "Activity is null");
                     return;
                 }
@@ -117,7 +273,9 @@ public class DroidAdMob extends GodotPlugin {
                             .addTestDeviceHashedId(testDeviceId)
                             .build();
                     paramsBuilder.setConsentDebugSettings(debugSettings);
-                    Log.d(TAG, "Consent debug mode enabled for device: " + testDeviceId);
+                    if (logger.isDebugEnabled()) {
+                        logger.d("Consent debug mode enabled for device: " + testDeviceId);
+                    }
                 }
 
                 ConsentRequestParameters params = paramsBuilder.build();
@@ -129,16 +287,36 @@ public class DroidAdMob extends GodotPlugin {
                     new ConsentInformation.OnConsentInfoUpdateSuccessListener() {
                         @Override
                         public void onConsentInfoUpdateSuccess() {
-                            Log.d(TAG, "Consent information updated. Status: " + consentInformation.getConsentStatus());
+                            if (logger.isDebugEnabled()) {
+                                logger.d("Consent information updated. Status: "
+                                        + consentInformation.getConsentStatus());
+                            }
+                            onConsentUpdated();
+                            emitStartupPhase(StartupTimeline.PHASE_CONSENT);
                             emitSignal("consent_info_updated");
                             emitSignal("consent_status_changed", consentInformation.getConsentStatus());
+
+                            if (startupShowsConsentForm && consentInformation.getConsentStatus()
+                                    == ConsentInformation.ConsentStatus.REQUIRED) {
+                                startupShowsConsentForm = false;
+                                loadConsentForm();
+                            }
                         }
                     },
                     new ConsentInformation.OnConsentInfoUpdateFailureListener() {
                         @Override
                         public void onConsentInfoUpdateFailure(@NonNull FormError formError) {
-                            Log.e(TAG, "Consent info update failed: " + formError.getMessage());
+                            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                                logger.e("Consent info update failed: " + formError.getMessage());
+                            }
+                            emitStartupPhase(StartupTimeline.PHASE_CONSENT_FAILED);
                             emitSignal("consent_info_update_failed", formError.getMessage());
+
+                            // Consent gathered in a previous session still applies
+                            if (initializeOnConsent && consentInformation.canRequestAds()) {
+                                initializeOnConsent = false;
+                                initialize(testMode);
+                            }
                         }
                     }
                 );
@@ -157,13 +335,13 @@ public class DroidAdMob extends GodotPlugin {
             public void run() {
                 Activity activity = getActivity();
                 if (activity == null) {
-                    Log.e(TAG, "Activity is null during consent form load");
+                    logger.e("Activity is null during consent form load");
                     emitSignal("consent_form_failed", "Activity is null");
                     return;
                 }
 
                 if (consentInformation == null) {
-                    Log.e(TAG, "Consent information not initialized. Call requestConsentInfoUpdate first");
+                    logger.e("Consent information not initialized. Call requestConsentInfoUpdate first");
                     emitSignal("consent_form_failed", "Consent information not initialized");
                     return;
                 }
@@ -174,14 +352,18 @@ public class DroidAdMob extends GodotPlugin {
                         @Override
                         public void onConsentFormLoadSuccess(@NonNull ConsentForm form) {
                             consentForm = form;
-                            Log.d(TAG, "Consent form loaded successfully");
+                            logger.d("Consent form loaded successfully");
 
                             // Show form if consent is required
                             if (consentInformation.getConsentStatus() == ConsentInformation.ConsentStatus.REQUIRED) {
                                 showConsentForm();
                             } else {
-                                Log.d(TAG, "Consent not required, status: " + consentInformation.getConsentStatus());
+                                if (logger.isDebugEnabled()) {
+                                    logger.d("Consent not required, status: "
+                                            + consentInformation.getConsentStatus());
+                                }
                                 consentGathered = true;
+                                onConsentUpdated();
                                 emitSignal("consent_form_dismissed");
                             }
                         }
@@ -189,7 +371,9 @@ public class DroidAdMob extends GodotPlugin {
                     new UserMessagingPlatform.OnConsentFormLoadFailureListener() {
                         @Override
                         public void onConsentFormLoadFailure(@NonNull FormError formError) {
-                            Log.e(TAG, "Consent form load failed: " + formError.getMessage());
+                            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                                logger.e("Consent form load failed: " + formError.getMessage());
+                            }
                             emitSignal("consent_form_failed", formError.getMessage());
                         }
                     }
@@ -211,11 +395,15 @@ public class DroidAdMob extends GodotPlugin {
             @Override
             public void onConsentFormDismissed(FormError formError) {
                 if (formError != null) {
-                    Log.e(TAG, "Consent form dismissed with error: " + formError.getMessage());
+                    if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                        logger.e("Consent form dismissed with error: " + formError.getMessage());
+                    }
                     emitSignal("consent_form_failed", formError.getMessage());
                 } else {
-                    Log.d(TAG, "Consent form dismissed by user");
+                    logger.d("Consent form dismissed by user");
                     consentGathered = true;
+                    onConsentUpdated();
+                    emitStartupPhase(StartupTimeline.PHASE_CONSENT_FORM);
                     emitSignal("consent_form_dismissed");
                     emitSignal("consent_status_changed", consentInformation.getConsentStatus());
                 }
@@ -233,7 +421,8 @@ public class DroidAdMob extends GodotPlugin {
     @UsedByGodot
     public int getConsentStatus() {
         if (consentInformation == null) {
-            return ConsentInformation.ConsentStatus.UNKNOWN;
+            ConsentSnapshot snapshot = consentSnapshot;
+            return snapshot != null ? snapshot.consentStatus : ConsentInformation.ConsentStatus.UNKNOWN;
         }
         return consentInformation.getConsentStatus();
     }
@@ -245,7 +434,8 @@ public class DroidAdMob extends GodotPlugin {
     @UsedByGodot
     public boolean isPrivacyOptionsRequired() {
         if (consentInformation == null) {
-            return false;
+            ConsentSnapshot snapshot = consentSnapshot;
+            return snapshot != null && snapshot.privacyOptionsRequired;
         }
         return consentInformation.getPrivacyOptionsRequirementStatus()
                 == ConsentInformation.PrivacyOptionsRequirementStatus.REQUIRED;
@@ -261,13 +451,13 @@ public class DroidAdMob extends GodotPlugin {
             public void run() {
                 Activity activity = getActivity();
                 if (activity == null) {
-                    Log.e(TAG, "Activity is null");
+                    logger.e("Activity is null");
                     emitSignal("consent_form_failed", "Activity is null");
                     return;
                 }
 
                 if (consentInformation == null) {
-                    Log.e(TAG, "Consent information not initialized");
+                    logger.e("Consent information not initialized");
                     emitSignal("consent_form_failed", "Consent information not initialized");
                     return;
                 }
@@ -276,10 +466,13 @@ public class DroidAdMob extends GodotPlugin {
                     @Override
                     public void onConsentFormDismissed(FormError formError) {
                         if (formError != null) {
-                            Log.e(TAG, "Privacy options form error: " + formError.getMessage());
+                            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                                logger.e("Privacy options form error: " + formError.getMessage());
+                            }
                             emitSignal("consent_form_failed", formError.getMessage());
                         } else {
-                            Log.d(TAG, "Privacy options form dismissed");
+                            logger.d("Privacy options form dismissed");
+                            onConsentUpdated();
                             emitSignal("consent_form_dismissed");
                             emitSignal("consent_status_changed", consentInformation.getConsentStatus());
                         }
@@ -300,399 +493,1544 @@ public class DroidAdMob extends GodotPlugin {
                 if (consentInformation != null) {
                     consentInformation.reset();
                     consentGathered = false;
-                    Log.d(TAG, "Consent information reset");
+                    logger.d("Consent information reset");
+                }
+                consentSnapshot = null;
+                if (consentStore != null) {
+                    consentStore.clear();
                 }
             }
         });
     }
 
     /**
-     * Initialize the Mobile Ads SDK
-     * @param isTestMode Whether to use test ads or not
+     * Check from the persisted consent snapshot, without a network round-trip, whether ads can
+     * be requested. Safe to call at cold start before any consent call.
+     * @return true if the last known consent allows ads and is less than 30 days old
      */
     @UsedByGodot
-    public void initialize(final boolean isTestMode) {
+    public boolean canRequestAdsFast() {
+        ConsentSnapshot snapshot = consentSnapshot;
+        return snapshot != null
+                && snapshot.allowsFastStart(System.currentTimeMillis(), ConsentSnapshot.DEFAULT_MAX_AGE_MS);
+    }
+
+    /**
+     * Get the persisted consent snapshot
+     * @return Dictionary with status, privacy_options_required, can_request_ads, updated_at (Unix ms)
+     *         and age_ms, or an empty Dictionary if consent was never recorded
+     */
+    @UsedByGodot
+    public Dictionary getConsentSnapshot() {
+        Dictionary result = new Dictionary();
+        ConsentSnapshot snapshot = consentSnapshot;
+        if (snapshot != null) {
+            result.put("status", snapshot.consentStatus);
+            result.put("privacy_options_required", snapshot.privacyOptionsRequired);
+            result.put("can_request_ads", snapshot.canRequestAds);
+            result.put("updated_at", snapshot.updatedAt);
+            result.put("age_ms", snapshot.getAgeMs(System.currentTimeMillis()));
+        }
+        return result;
+    }
+
+    /**
+     * Start ads without waiting for the consent round-trip. If the persisted consent snapshot
+     * allows ads, the SDK is initialized right away; otherwise it is initialized as soon as the
+     * consent refresh, or a consent form shown by the game, allows it. Consent is refreshed in
+     * the background either way and the usual consent signals are emitted.
+     * Load calls made right after this are queued until initialization completes.
+     * @param isTestMode Whether to use test ads and consent debug settings
+     * @param testDeviceId Optional test device ID for consent debugging (empty string for production)
+     * @return true if initialization started immediately from the snapshot
+     */
+    @UsedByGodot
+    public boolean fastStart(boolean isTestMode, String testDeviceId) {
+        testMode = isTestMode;
+        boolean canStartNow = canRequestAdsFast();
+        if (canStartNow) {
+            logger.d("Consent snapshot allows ads, initializing without waiting for consent");
+            initialize(isTestMode);
+        } else {
+            initializeOnConsent = true;
+        }
+        requestConsentInfoUpdate(isTestMode, testDeviceId);
+        return canStartNow;
+    }
+
+    /**
+     * Persist the current consent state and, after fastStart(), initialize once consent allows ads.
+     * Must be called on the UI thread.
+     */
+    private void onConsentUpdated() {
+        if (consentInformation == null) {
+            return;
+        }
+        ConsentSnapshot snapshot = new ConsentSnapshot(
+                consentInformation.getConsentStatus(),
+                consentInformation.getPrivacyOptionsRequirementStatus()
+                        == ConsentInformation.PrivacyOptionsRequirementStatus.REQUIRED,
+                consentInformation.canRequestAds(),
+                System.currentTimeMillis());
+        consentSnapshot = snapshot;
+        if (consentStore != null) {
+            consentStore.save(snapshot);
+        }
+
+        if (initializeOnConsent && snapshot.canRequestAds) {
+            initializeOnConsent = false;
+            initialize(testMode);
+        }
+    }
+
+    /**
+     * Run the whole ad startup in one call: consent refresh and SDK initialization (in parallel
+     * when the persisted consent allows it, see fastStart), the consent form if required, then
+     * preloading of the startup placements. Emits startup_phase(phase, elapsed_ms) as each phase
+     * completes and startup_completed(elapsed_ms) once preloads are issued.
+     * Startup placements come from the export settings (manifest meta-data) and the config.
+     * @param config Dictionary with optional keys: test_mode (bool), test_device_id (String),
+     *               show_consent_form (bool, default true), preload_depth (int),
+     *               mediation_init (String) and mediation_adapters (Array), see setMediationInitMode,
+     *               and placements:
+     *               Array of { id, format, ad_unit_id } Dictionaries or "id:format:ad_unit_id" Strings
+     */
+    @UsedByGodot
+    public void startup(final Dictionary config) {
+        final boolean isTestMode = getBoolean(config, "test_mode", false);
+        String testDeviceId = getString(config, "test_device_id", "");
+        startupShowsConsentForm = getBoolean(config, "show_consent_form", true);
+        Object mediationInit = config.get("mediation_init");
+        if (mediationInit instanceof String) {
+            setMediationInitMode((String) mediationInit, toStringArray(config.get("mediation_adapters")));
+        }
+
         runOnUiThread(new Runnable() {
             @Override
             public void run() {
-                if (isInitialized) {
-                    Log.w(TAG, "AdMob already initialized");
-                    return;
-                }
+                startupTimeline.start();
 
-                testMode = isTestMode;
+                Map<String, PlacementRegistry.Placement> placements = new LinkedHashMap<>();
+                for (PlacementRegistry.Placement placement : PlacementRegistry.parse(getManifestPlacements())) {
+                    placements.put(placement.id, placement);
+                }
+                for (PlacementRegistry.Placement placement : getConfigPlacements(config.get("placements"))) {
+                    placements.put(placement.id, placement);
+                }
 
-                if (testMode) {
-                    // Set test device IDs for testing
-                    RequestConfiguration configuration = new RequestConfiguration.Builder()
-                            .setTestDeviceIds(Collections.singletonList("EMULATOR"))
-                            .build();
-                    MobileAds.setRequestConfiguration(configuration);
-                    Log.d(TAG, "AdMob initialized in TEST mode");
+                startupPlacementIds.clear();
+                for (PlacementRegistry.Placement placement : placements.values()) {
+                    if (adController.registerPlacement(placement.id, placement.format, placement.adUnitIds,
+                            placement.mode, placement.hedgeWidth)) {
+                        startupPlacementIds.add(placement.id);
+                    }
+                }
+                if (config.get("preload_depth") instanceof Number) {
+                    adController.setPreloadDepth((int) getLong(config, "preload_depth", DEFAULT_PRELOAD_DEPTH));
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.d("Startup with " + startupPlacementIds.size() + " placements");
                 }
 
-                Activity activity = getActivity();
-                if (activity != null) {
-                    MobileAds.initialize(activity, initializationStatus -> {
-                        isInitialized = true;
-                        Log.d(TAG, "AdMob initialized: " + initializationStatus.getAdapterStatusMap());
-                    });
-                } else {
-                    Log.e(TAG, "Activity is null during MobileAds initialization");
+                // Already initialized, e.g. startup() called twice: only preload
+                if (adController.isInitialized()) {
+                    onStartupInitialized();
                 }
             }
         });
+
+        fastStart(isTestMode, testDeviceId);
     }
 
+    /**
+     * Get the timings of the last startup() run
+     * @return Dictionary: phase -> milliseconds since startup() was called, in completion order
+     */
     @UsedByGodot
-    public String getTestBannerAdUnit() {
-        return TEST_BANNER_AD_UNIT;
+    public Dictionary getStartupTimings() {
+        return toDictionary(startupTimeline.snapshot());
     }
 
-    @UsedByGodot
-    public String getTestInterstitialAdUnit() {
-        return TEST_INTERSTITIAL_AD_UNIT;
+    /**
+     * Preload the startup placements once the SDK is initialized. Must be called on the UI thread.
+     */
+    private void onStartupInitialized() {
+        if (!startupTimeline.isStarted()) {
+            return;
+        }
+        emitStartupPhase(StartupTimeline.PHASE_INIT);
+        for (String placementId : startupPlacementIds) {
+            adController.loadPlacement(placementId);
+        }
+        long elapsed = emitStartupPhase(StartupTimeline.PHASE_PRELOAD);
+        if (elapsed >= 0) {
+            emitSignal("startup_completed", (int) elapsed);
+        }
     }
 
-    @UsedByGodot
-    public String getTestRewardedAdUnit() {
-        return TEST_REWARDED_AD_UNIT;
+    /**
+     * @return Milliseconds since startup, or -1 if no startup is running or the phase was already reported
+     */
+    private long emitStartupPhase(String phase) {
+        long elapsed = startupTimeline.mark(phase);
+        if (elapsed >= 0) {
+            if (logger.isDebugEnabled()) {
+                logger.d("Startup phase " + phase + " after " + elapsed + "ms");
+            }
+            emitSignal("startup_phase", phase, (int) elapsed);
+        }
+        return elapsed;
     }
 
+    private String getManifestPlacements() {
+        Activity activity = getActivity();
+        if (activity == null) {
+            return null;
+        }
+        try {
+            ApplicationInfo info = activity.getPackageManager()
+                    .getApplicationInfo(activity.getPackageName(), PackageManager.GET_META_DATA);
+            return info.metaData != null ? info.metaData.getString(STARTUP_PLACEMENTS_META_DATA) : null;
+        } catch (PackageManager.NameNotFoundException e) {
+            logger.e("Could not read startup placements from the manifest");
+            return null;
+        }
+    }
+
+    private static String[] toStringArray(Object value) {
+        if (value instanceof String[]) {
+            return (String[]) value;
+        }
+        if (!(value instanceof Object[])) {
+            return new String[0];
+        }
+        List<String> strings = new ArrayList<>();
+        for (Object entry : (Object[]) value) {
+            if (entry instanceof String) {
+                strings.add((String) entry);
+            }
+        }
+        return strings.toArray(new String[0]);
+    }
+
+    private static List<PlacementRegistry.Placement> getConfigPlacements(Object value) {
+        List<PlacementRegistry.Placement> placements = new ArrayList<>();
+        if (!(value instanceof Object[])) {
+            return placements;
+        }
+        for (Object entry : (Object[]) value) {
+            if (entry instanceof String) {
+                placements.addAll(PlacementRegistry.parse((String) entry));
+            } else if (entry instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) entry;
+                Object id = map.get("id");
+                Object format = map.get("format");
+                Object adUnitId = map.get("ad_unit_id");
+                String[] adUnitIds = toStringArray(map.get("ad_unit_ids"));
+                if (!(id instanceof String) || !(format instanceof String)) {
+                    continue;
+                }
+                if (adUnitIds.length > 0) {
+                    Object mode = map.get("mode");
+                    Object parallel = map.get("parallel");
+                    placements.add(new PlacementRegistry.Placement((String) id, (String) format, adUnitIds,
+                            PlacementRegistry.parseMode(mode instanceof String ? (String) mode : null),
+                            parallel instanceof Number ? ((Number) parallel).intValue() : DEFAULT_HEDGE_WIDTH));
+                } else if (adUnitId instanceof String) {
+                    placements.add(new PlacementRegistry.Placement((String) id, (String) format, (String) adUnitId));
+                }
+            }
+        }
+        return placements;
+    }
+
+    /**
+     * Initialize the Mobile Ads SDK
+     * @param isTestMode Whether to use test ads or not
+     */
     @UsedByGodot
-    public void loadBanner(final String adUnitId, final String position, final String size) {
+    public void initialize(final boolean isTestMode) {
         runOnUiThread(new Runnable() {
             @Override
             public void run() {
-                if (!isInitialized) {
-                    Log.e(TAG, "AdMob not initialized. Call initialize() first");
-                    emitSignal("ad_failed_to_load", "AdMob not initialized");
+                if (adController.isInitialized() || isInitializing) {
+                    logger.w("AdMob already initialized");
                     return;
                 }
 
-                // Remove existing banner if any
-                removeBanner();
+                testMode = isTestMode;
 
-                Activity activity = getActivity();
-                if (activity == null) {
-                    Log.e(TAG, "Activity is null during banner load");
-                    return;
+                if (testMode) {
+                    // Set test device IDs for testing
+                    RequestConfiguration configuration = new RequestConfiguration.Builder()
+                            .setTestDeviceIds(Collections.singletonList("EMULATOR"))
+                            .build();
+                    MobileAds.setRequestConfiguration(configuration);
+                    logger.d("AdMob initialized in TEST mode");
                 }
 
-                // Create new banner
-                bannerAd = new AdView(activity);
-                bannerAd.setAdUnitId(adUnitId);
-                bannerAd.setAdSize(getAdSize(size));
-
-                // Set up ad listener
-                bannerAd.setAdListener(new AdListener() {
-                    @Override
-                    public void onAdLoaded() {
-                        Log.d(TAG, "Banner ad loaded");
-                        emitSignal("ad_loaded");
-                    }
-
-                    @Override
-                    public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
-                        Log.e(TAG, "Banner ad failed to load: " + loadAdError.getMessage());
-                        emitSignal("ad_failed_to_load", loadAdError.getMessage());
-                    }
-
-                    @Override
-                    public void onAdOpened() {
-                        Log.d(TAG, "Banner ad opened");
-                        emitSignal("ad_opened");
-                    }
-
-                    @Override
-                    public void onAdClosed() {
-                        Log.d(TAG, "Banner ad closed");
-                        emitSignal("ad_closed");
+                Activity activity = getActivity();
+                if (activity != null) {
+                    isInitializing = true;
+                    mediationStartup.start();
+                    int mode = mediationStartup.getMode();
+                    if (mode == MediationStartup.MODE_NONE) {
+                        MobileAds.disableMediationAdapterInitialization(activity);
                     }
-
-                    @Override
-                    public void onAdImpression() {
-                        Log.d(TAG, "Banner ad impression recorded");
-                        emitSignal("ad_impression");
+                    if (mode == MediationStartup.MODE_AFTER_FIRST_FRAME) {
+                        initializeAfterNextFrame();
+                    } else {
+                        initializeMobileAds(activity);
                     }
+                } else {
+                    logger.e("Activity is null during MobileAds initialization");
+                }
+            }
+        });
+    }
 
+    private void initializeAfterNextFrame() {
+        Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                // Run after the frame rather than inside it
+                mainHandler.post(new Runnable() {
                     @Override
-                    public void onAdClicked() {
-                        Log.d(TAG, "Banner ad clicked");
-                        emitSignal("ad_clicked");
+                    public void run() {
+                        Activity activity = getActivity();
+                        if (activity != null) {
+                            initializeMobileAds(activity);
+                        } else {
+                            isInitializing = false;
+                            logger.e("Activity is null during MobileAds initialization after the first frame");
+                        }
                     }
                 });
+            }
+        });
+    }
 
-                // Add banner to layout
-                FrameLayout layout = activity.findViewById(android.R.id.content);
-                FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(
-                        FrameLayout.LayoutParams.MATCH_PARENT,
-                        FrameLayout.LayoutParams.WRAP_CONTENT
-                );
-                params.gravity = position.toLowerCase().equals("top") ? Gravity.TOP : Gravity.BOTTOM;
-                layout.addView(bannerAd, params);
-
-                // Load the ad
-                bannerAd.loadAd(new AdRequest.Builder().build());
-                Log.d(TAG, "Loading banner ad with ID: " + adUnitId);
+    private void initializeMobileAds(Activity activity) {
+        MobileAds.initialize(activity, initializationStatus -> {
+            recordAdapterStatus(initializationStatus);
+            long elapsed = mediationStartup.markCompleted();
+            if (logger.isDebugEnabled()) {
+                logger.d("AdMob initialized after " + elapsed + "ms: " + initializationStatus.getAdapterStatusMap());
+            }
+            mainHandler.removeCallbacks(adapterPoll);
+            onSdkReady();
+            emitStartupPhase(StartupTimeline.PHASE_ADAPTERS);
+            if (elapsed >= 0) {
+                emitSignal("mediation_initialized", (int) elapsed);
             }
         });
+        if (mediationStartup.getMode() == MediationStartup.MODE_WAIT_FOR) {
+            mainHandler.postDelayed(adapterPoll, ADAPTER_POLL_MS);
+        }
     }
 
+    /**
+     * Let ads load, once either every adapter or the waited-for ones are ready. Runs on the UI thread.
+     */
+    private void onSdkReady() {
+        if (adController.isInitialized()) {
+            return;
+        }
+        long elapsed = mediationStartup.markReady();
+        if (logger.isDebugEnabled()) {
+            logger.d("Ads can load after " + elapsed + "ms");
+        }
+        adController.onInitialized();
+        onStartupInitialized();
+    }
+
+    private void recordAdapterStatus(InitializationStatus status) {
+        for (Map.Entry<String, AdapterStatus> entry : status.getAdapterStatusMap().entrySet()) {
+            AdapterStatus adapter = entry.getValue();
+            mediationStartup.update(entry.getKey(),
+                    adapter.getInitializationState() == AdapterStatus.State.READY,
+                    adapter.getLatency(), adapter.getDescription());
+        }
+    }
+
+    /**
+     * Choose when the SDK is initialized and how long ads wait for mediation adapters.
+     * Must be called before initialize(). The SDK always starts every linked adapter together,
+     * so no mode initializes some adapters before others.
+     * @param mode "all" (default): ads load once every adapter has finished;
+     *             "wait_for": ads load once the SDK and the listed adapters are ready, the
+     *             others finish in the background;
+     *             "after_first_frame": the SDK, with every adapter, is initialized after the next frame;
+     *             "none": mediation adapters are not initialized
+     * @param adapters Adapters waited for in "wait_for" mode. An entry matches every adapter
+     *                 whose class name contains it, ignoring case, e.g. "applovin".
+     */
     @UsedByGodot
-    public void removeBanner() {
+    public void setMediationInitMode(final String mode, final String[] adapters) {
         runOnUiThread(new Runnable() {
             @Override
             public void run() {
-                if (bannerAd != null) {
-                    Activity activity = getActivity();
-                    if (activity != null) {
-                        FrameLayout layout = activity.findViewById(android.R.id.content);
-                        layout.removeView(bannerAd);
+                int parsed = MediationStartup.parseMode(mode);
+                if (parsed < 0) {
+                    if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                        logger.e("Unknown mediation init mode: " + mode);
                     }
-                    bannerAd.destroy();
-                    bannerAd = null;
-                    Log.d(TAG, "Banner ad removed");
+                    return;
                 }
+                mediationStartup.setMode(parsed, adapters);
             }
         });
     }
 
+    /**
+     * Get the mediation adapter initialization status
+     * @return Dictionary: mode, ready_ms (ads allowed to load), completed_ms (every adapter done),
+     *         both -1 until reached and relative to initialize(), and adapters:
+     *         adapter class -> { state ("ready" or "not_ready"), latency_ms, description, waited_for }
+     */
     @UsedByGodot
-    public void hideBanner() {
-        runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-                if (bannerAd != null) {
-                    bannerAd.setVisibility(View.GONE);
-                    Log.d(TAG, "Banner ad hidden");
-                }
-            }
-        });
+    public Dictionary getMediationStatus() {
+        return toDictionary(mediationStartup.snapshot());
     }
 
+    /**
+     * Set how long load requests made before initialization completes are kept queued
+     * @param timeoutMs Timeout in milliseconds
+     */
     @UsedByGodot
-    public void showBanner() {
+    public void setInitQueueTimeout(final int timeoutMs) {
         runOnUiThread(new Runnable() {
             @Override
             public void run() {
-                if (bannerAd != null) {
-                    bannerAd.setVisibility(View.VISIBLE);
-                    Log.d(TAG, "Banner ad shown");
-                }
+                adController.setInitQueueTimeout(timeoutMs);
             }
         });
     }
 
     @UsedByGodot
-    public void loadInterstitial(final String adUnitId) {
-        runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-                if (!isInitialized) {
-                    Log.e(TAG, "AdMob not initialized. Call initialize() first");
-                    emitSignal("interstitial_failed_to_load", "AdMob not initialized");
-                    return;
-                }
-
-                Activity activity = getActivity();
-                if (activity == null) {
-                    Log.e(TAG, "Activity is null during interstitial load");
-                    return;
-                }
-
-                AdRequest adRequest = new AdRequest.Builder().build();
-
-                InterstitialAd.load(activity, adUnitId, adRequest, new InterstitialAdLoadCallback() {
-                    @Override
-                    public void onAdLoaded(@NonNull InterstitialAd ad) {
-                        interstitialAd = ad;
-                        Log.d(TAG, "Interstitial ad loaded");
-                        emitSignal("interstitial_loaded");
-
-                        interstitialAd.setFullScreenContentCallback(new FullScreenContentCallback() {
-                            @Override
-                            public void onAdDismissedFullScreenContent() {
-                                Log.d(TAG, "Interstitial ad dismissed");
-                                interstitialAd = null;
-                                emitSignal("ad_closed");
-                            }
-
-                            @Override
-                            public void onAdFailedToShowFullScreenContent(@NonNull AdError adError) {
-                                Log.e(TAG, "Interstitial ad failed to show: " + adError.getMessage());
-                                interstitialAd = null;
-                                emitSignal("ad_failed_to_load", adError.getMessage());
-                            }
+    public String getTestBannerAdUnit() {
+        return TEST_BANNER_AD_UNIT;
+    }
 
-                            @Override
-                            public void onAdShowedFullScreenContent() {
-                                Log.d(TAG, "Interstitial ad showed");
-                                emitSignal("ad_opened");
-                            }
+    @UsedByGodot
+    public String getTestInterstitialAdUnit() {
+        return TEST_INTERSTITIAL_AD_UNIT;
+    }
 
-                            @Override
-                            public void onAdImpression() {
-                                Log.d(TAG, "Interstitial ad impression recorded");
-                                emitSignal("ad_impression");
-                            }
+    @UsedByGodot
+    public String getTestRewardedAdUnit() {
+        return TEST_REWARDED_AD_UNIT;
+    }
 
-                            @Override
-                            public void onAdClicked() {
-                                Log.d(TAG, "Interstitial ad clicked");
-                                emitSignal("ad_clicked");
-                            }
-                        });
-                    }
+    @UsedByGodot
+    public String getTestAppOpenAdUnit() {
+        return TEST_APP_OPEN_AD_UNIT;
+    }
 
-                    @Override
-                    public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
-                        Log.e(TAG, "Interstitial ad failed to load: " + loadAdError.getMessage());
-                        interstitialAd = null;
-                        emitSignal("interstitial_failed_to_load", loadAdError.getMessage());
-                    }
-                });
+    /**
+     * @return Request ID reported by request_event with the banner's first load result
+     */
+    @UsedByGodot
+    public int loadBanner(String adUnitId, String position, String size) {
+        int requestId = adController.newRequestId();
+        uiCommands.load(adUnitId, position, size, requestId);
+        return requestId;
+    }
 
-                Log.d(TAG, "Loading interstitial ad with ID: " + adUnitId);
-            }
-        });
+    /**
+     * Move the current banner without reloading it
+     * @param position "top", "bottom", "top_left", "top_right", "bottom_left", "bottom_right" or "center"
+     * @param offsetX Horizontal offset in pixels
+     * @param offsetY Vertical offset in pixels, away from the anchored edge
+     */
+    @UsedByGodot
+    public void moveBanner(String position, int offsetX, int offsetY) {
+        uiCommands.move(position, offsetX, offsetY);
     }
 
+    /**
+     * Set how many removed banners are kept for reuse by a later loadBanner with the same
+     * ad unit and size. 0 destroys removed banners immediately.
+     */
     @UsedByGodot
-    public void showInterstitial() {
-        runOnUiThread(new Runnable() {
+    public void setBannerCacheSize(final int size) {
+        uiCommands.post(new Runnable() {
             @Override
             public void run() {
-                Activity activity = getActivity();
-                if (activity == null) {
-                    Log.e(TAG, "Activity is null during interstitial show");
-                    return;
-                }
-
-                if (interstitialAd != null) {
-                    interstitialAd.show(activity);
-                    Log.d(TAG, "Showing interstitial ad");
-                } else {
-                    Log.e(TAG, "Interstitial ad not ready");
-                    emitSignal("ad_failed_to_load", "Interstitial ad not loaded");
+                bannerCacheSize = Math.max(0, size);
+                if (adController.getMemoryPressure() == AdController.MEMORY_NORMAL) {
+                    destroyBanners(bannerCache.setCapacity(size));
                 }
             }
         });
     }
 
     @UsedByGodot
-    public boolean isInterstitialLoaded() {
-        return interstitialAd != null;
+    public void removeBanner() {
+        uiCommands.remove();
     }
 
     @UsedByGodot
-    public void loadRewarded(final String adUnitId) {
-        runOnUiThread(new Runnable() {
-            @Override
-            public void run() {
-                if (!isInitialized) {
-                    Log.e(TAG, "AdMob not initialized. Call initialize() first");
-                    emitSignal("rewarded_ad_failed_to_load", "AdMob not initialized");
-                    return;
-                }
-
-                Activity activity = getActivity();
-                if (activity == null) {
-                    Log.e(TAG, "Activity is null during rewarded load");
-                    return;
-                }
-
-                AdRequest adRequest = new AdRequest.Builder().build();
+    public void hideBanner() {
+        uiCommands.setVisible(false);
+    }
 
-                RewardedAd.load(activity, adUnitId, adRequest, new RewardedAdLoadCallback() {
-                    @Override
-                    public void onAdLoaded(@NonNull RewardedAd ad) {
-                        rewardedAd = ad;
-                        Log.d(TAG, "Rewarded ad loaded");
-                        emitSignal("rewarded_ad_loaded");
-
-                        rewardedAd.setFullScreenContentCallback(new FullScreenContentCallback() {
-                            @Override
-                            public void onAdDismissedFullScreenContent() {
-                                Log.d(TAG, "Rewarded ad dismissed");
-                                rewardedAd = null;
-                                emitSignal("ad_closed");
-                            }
+    @UsedByGodot
+    public void showBanner() {
+        uiCommands.setVisible(true);
+    }
 
-                            @Override
-                            public void onAdFailedToShowFullScreenContent(@NonNull AdError adError) {
-                                Log.e(TAG, "Rewarded ad failed to show: " + adError.getMessage());
-                                rewardedAd = null;
-                                emitSignal("ad_failed_to_load", adError.getMessage());
-                            }
+    /**
+     * Runs a command on the UI thread at the next frame, so that every call the game makes
+     * during a frame reaches the UI thread in the same batch
+     */
+    private final Executor nextFrameExecutor = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                        @Override
+                        public void doFrame(long frameTimeNanos) {
+                            command.run();
+                        }
+                    });
+                }
+            });
+        }
+    };
 
-                            @Override
-                            public void onAdShowedFullScreenContent() {
-                                Log.d(TAG, "Rewarded ad showed");
-                                emitSignal("ad_opened");
-                            }
+    /**
+     * Applies the banner commands coalesced by uiCommands, on the UI thread
+     */
+    private final UiCommandQueue.Target bannerTarget = new UiCommandQueue.Target() {
+        @Override
+        public void load(String adUnitId, String position, String size, int requestId) {
+            applyLoadBanner(adUnitId, position, size, requestId);
+        }
 
-                            @Override
-                            public void onAdImpression() {
-                                Log.d(TAG, "Rewarded ad impression recorded");
-                                emitSignal("ad_impression");
-                            }
+        @Override
+        public void cancelled(int requestId) {
+            dispatchRequestEvent(AdEvent.REQUEST_FAILED_TO_LOAD, requestId, "", AdEvent.CODE_NONE,
+                    BANNER_CANCELLED_MESSAGE);
+        }
 
-                            @Override
-                            public void onAdClicked() {
-                                Log.d(TAG, "Rewarded ad clicked");
-                                emitSignal("ad_clicked");
-                            }
-                        });
-                    }
+        @Override
+        public void move(String position, int offsetX, int offsetY) {
+            if (banner != null) {
+                applyBannerLayout(banner.view, position, offsetX, offsetY);
+                if (logger.isDebugEnabled()) {
+                    logger.d("Banner ad moved to " + position);
+                }
+            }
+        }
 
-                    @Override
-                    public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
-                        Log.e(TAG, "Rewarded ad failed to load: " + loadAdError.getMessage());
-                        rewardedAd = null;
-                        emitSignal("rewarded_ad_failed_to_load", loadAdError.getMessage());
-                    }
-                });
+        @Override
+        public void setVisible(boolean visible) {
+            if (banner == null || (banner.view.getVisibility() == View.VISIBLE) == visible) {
+                return;
+            }
+            if (visible) {
+                banner.view.setVisibility(View.VISIBLE);
+                if (!isAppPaused) {
+                    banner.view.resume();
+                }
+                logger.d("Banner ad shown");
+            } else {
+                banner.view.setVisibility(View.GONE);
+                banner.view.pause();
+                logger.d("Banner ad hidden and paused");
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (banner != null) {
+                detachBanner();
+                logger.d("Banner ad removed");
+            }
+        }
+    };
+
+    private void applyLoadBanner(final String adUnitId, final String position, final String size,
+                                 final int requestId) {
+        if (!adController.isInitialized()) {
+            // Only the latest queued banner load runs; report the one it replaces
+            if (bannerRequestId != RequestTracker.NONE) {
+                finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, AdEvent.CODE_NONE, BANNER_CANCELLED_MESSAGE);
+            }
+            bannerRequestId = requestId;
+            bannerRequestAdUnitId = adUnitId;
+            adController.deferUntilInitialized("banner", () -> applyLoadBanner(adUnitId, position, size,
+                    RequestTracker.NONE), () -> {
+                dispatchEvent(AdEvent.AD_FAILED_TO_LOAD, adUnitId, AdEvent.CODE_NONE,
+                        AdController.INIT_TIMEOUT_MESSAGE);
+                finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, AdEvent.CODE_NONE,
+                        AdController.INIT_TIMEOUT_MESSAGE);
+            });
+            return;
+        }
+
+        // A load deferred until initialization keeps the ID it was queued with
+        int trackedId = requestId;
+        if (trackedId == RequestTracker.NONE && adUnitId.equals(bannerRequestAdUnitId)) {
+            trackedId = bannerRequestId;
+            bannerRequestId = RequestTracker.NONE;
+        }
+        if (bannerRequestId != RequestTracker.NONE) {
+            finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, AdEvent.CODE_NONE, BANNER_CANCELLED_MESSAGE);
+        }
+        bannerRequestId = trackedId;
+        bannerRequestAdUnitId = adUnitId;
+
+        Activity activity = getActivity();
+        if (activity == null) {
+            logger.e("Activity is null during banner load");
+            finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, AdEvent.CODE_NONE, "Activity is null");
+            return;
+        }
+
+        AdSize adSize = getAdSize(activity, size);
+        boolean isAdaptive = SIZE_ADAPTIVE.equals(size.toLowerCase());
+        // An AdView's size is fixed once set, so adaptive banners are cached per computed size
+        String sizeKey = isAdaptive
+                ? SIZE_ADAPTIVE + ":" + adSize.getWidth() + "x" + adSize.getHeight()
+                : size.toLowerCase();
+        String key = BannerViewCache.key(adUnitId, sizeKey);
+
+        // Same unit and size as the current banner: reposition it without reloading
+        if (banner != null && banner.key.equals(key)) {
+            applyBannerLayout(banner.view, position, 0, 0);
+            banner.view.setVisibility(View.VISIBLE);
+            if (!isAppPaused) {
+                banner.view.resume();
+            }
+            logger.d("Banner ad reused in place");
+            if (banner.loaded) {
+                dispatchEvent(AdEvent.AD_LOADED, adUnitId, 0);
+                finishBannerRequest(AdEvent.REQUEST_LOADED, 0, null);
+            }
+            return;
+        }
+
+        // Park the existing banner so it can be reused later
+        parkBanner();
+
+        FrameLayout layout = activity.findViewById(android.R.id.content);
+        BannerSlot cached = bannerCache.take(key);
+        if (cached != null) {
+            banner = cached;
+            layout.addView(banner.view, createBannerLayoutParams(position, 0, 0));
+            banner.view.setVisibility(View.VISIBLE);
+            if (!isAppPaused) {
+                banner.view.resume();
+            }
+            if (logger.isDebugEnabled()) {
+                logger.d("Banner ad reattached from cache with ID: " + adUnitId);
+            }
+            if (banner.loaded) {
+                dispatchEvent(AdEvent.AD_LOADED, adUnitId, 0);
+                finishBannerRequest(AdEvent.REQUEST_LOADED, 0, null);
+            }
+            return;
+        }
+
+        // Create new banner
+        AdView view = new AdView(activity);
+        view.setAdUnitId(adUnitId);
+        view.setAdSize(adSize);
+        final BannerSlot slot = new BannerSlot(key, adUnitId, view, isAdaptive);
+        banner = slot;
+
+        // Set up ad listener
+        view.setAdListener(new AdListener() {
+            @Override
+            public void onAdLoaded() {
+                slot.loaded = true;
+                recordBannerResult(slot, true, 0);
+                if (banner != slot) {
+                    return;
+                }
+                logger.d("Banner ad loaded");
+                dispatchEvent(AdEvent.AD_LOADED, adUnitId, 0);
+                finishBannerRequest(AdEvent.REQUEST_LOADED, 0, null);
+            }
 
-                Log.d(TAG, "Loading rewarded ad with ID: " + adUnitId);
+            @Override
+            public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
+                recordBannerResult(slot, false, loadAdError.getCode());
+                if (banner != slot) {
+                    return;
+                }
+                if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                    logger.e("Banner ad failed to load: " + loadAdError.getMessage());
+                }
+                dispatchEvent(AdEvent.AD_FAILED_TO_LOAD, adUnitId, loadAdError.getCode(),
+                        loadAdError.getMessage());
+                finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, loadAdError.getCode(),
+                        loadAdError.getMessage());
+            }
+
+            @Override
+            public void onAdOpened() {
+                logger.d("Banner ad opened");
+                dispatchEvent(AdEvent.AD_OPENED, adUnitId, 0);
+            }
+
+            @Override
+            public void onAdClosed() {
+                logger.d("Banner ad closed");
+                dispatchEvent(AdEvent.AD_CLOSED, adUnitId, 0);
+            }
+
+            @Override
+            public void onAdImpression() {
+                logger.d("Banner ad impression recorded");
+                dispatchEvent(AdEvent.AD_IMPRESSION, adUnitId, 0);
+            }
+
+            @Override
+            public void onAdClicked() {
+                logger.d("Banner ad clicked");
+                dispatchEvent(AdEvent.AD_CLICKED, adUnitId, 0);
             }
         });
+
+        // Add banner to layout
+        layout.addView(view, createBannerLayoutParams(position, 0, 0));
+
+        // Load the ad
+        slot.loadStartedAt = SystemClock.elapsedRealtime();
+        metrics.recordRequest(AdMetrics.FORMAT_BANNER, adUnitId);
+        traceBuffer.record(TraceBuffer.LOAD_STARTED, adUnitId, 0, slot.loadStartedAt);
+        slot.traceCookie = SystemTrace.beginAsync(SystemTrace.LOAD_BANNER);
+        boolean traced = SystemTrace.begin(SystemTrace.LOAD_BANNER);
+        try {
+            view.loadAd(new AdRequest.Builder().build());
+        } finally {
+            SystemTrace.end(traced);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.d("Loading banner ad with ID: " + adUnitId);
+        }
+    }
+
+    /**
+     * Detach the current banner and cancel the tracked load still waiting for it.
+     * Must be called on the UI thread.
+     */
+    private void detachBanner() {
+        if (bannerRequestId != RequestTracker.NONE) {
+            finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, AdEvent.CODE_NONE, BANNER_CANCELLED_MESSAGE);
+        }
+        parkBanner();
+    }
+
+    /**
+     * Detach the current banner from the layout and park it in the reuse cache.
+     * Must be called on the UI thread.
+     */
+    private void parkBanner() {
+        if (banner == null) {
+            return;
+        }
+        BannerSlot detached = banner;
+        banner = null;
+
+        Activity activity = getActivity();
+        if (activity != null) {
+            FrameLayout layout = activity.findViewById(android.R.id.content);
+            layout.removeView(detached.view);
+        }
+        detached.view.pause();
+        destroyBanners(bannerCache.put(detached.key, detached));
     }
 
+    /**
+     * Record a banner load result. Automatic refreshes have no tracked start time and are
+     * counted as requests without latency.
+     */
+    private void recordBannerResult(BannerSlot slot, boolean filled, int errorCode) {
+        SystemTrace.endAsync(SystemTrace.LOAD_BANNER, slot.traceCookie);
+        slot.traceCookie = 0;
+        long latency = -1;
+        if (slot.loadStartedAt > 0) {
+            latency = SystemClock.elapsedRealtime() - slot.loadStartedAt;
+            slot.loadStartedAt = 0;
+        } else {
+            metrics.recordRequest(AdMetrics.FORMAT_BANNER, slot.adUnitId);
+        }
+        if (filled) {
+            metrics.recordFill(AdMetrics.FORMAT_BANNER, slot.adUnitId, latency);
+        } else {
+            metrics.recordFailure(AdMetrics.FORMAT_BANNER, slot.adUnitId, errorCode,
+                    errorCode == AdRequest.ERROR_CODE_NO_FILL, latency);
+        }
+    }
+
+    /**
+     * Report the result of the tracked banner load, if any, and stop tracking it
+     */
+    private void finishBannerRequest(int type, int code, String message) {
+        int requestId = bannerRequestId;
+        bannerRequestId = RequestTracker.NONE;
+        dispatchRequestEvent(type, requestId, bannerRequestAdUnitId, code, message);
+    }
+
+    private void dispatchRequestEvent(int type, int requestId, String adUnitId, int code, String message) {
+        if (requestId == RequestTracker.NONE) {
+            return;
+        }
+        String unit = adUnitId != null ? adUnitId : "";
+        dispatchEvent(type, unit, requestId, requestId, AdEvent.requestEventName(type), FORMAT_BANNER, "",
+                unit, code, message != null ? message : "");
+    }
+
+    private void destroyBanners(List<BannerSlot> slots) {
+        for (BannerSlot slot : slots) {
+            slot.view.destroy();
+        }
+    }
+
+    /**
+     * Release banners for the memory pressure level, hidden ones first: under moderate pressure
+     * the parked banners are destroyed and removed banners are no longer parked; under critical
+     * pressure a hidden current banner is destroyed as well. Runs on the UI thread.
+     */
+    private void trimBanners(int level) {
+        if (level == AdController.MEMORY_NORMAL) {
+            bannerCache.setCapacity(bannerCacheSize);
+            return;
+        }
+        List<BannerSlot> parked = bannerCache.setCapacity(0);
+        if (level == AdController.MEMORY_CRITICAL && banner != null
+                && banner.view.getVisibility() != View.VISIBLE) {
+            if (bannerRequestId != RequestTracker.NONE) {
+                finishBannerRequest(AdEvent.REQUEST_FAILED_TO_LOAD, AdEvent.CODE_NONE,
+                        "Banner destroyed under memory pressure");
+            }
+            BannerSlot hidden = banner;
+            banner = null;
+            Activity activity = getActivity();
+            if (activity != null) {
+                FrameLayout layout = activity.findViewById(android.R.id.content);
+                layout.removeView(hidden.view);
+            }
+            parked.add(hidden);
+        }
+        for (BannerSlot slot : parked) {
+            metrics.recordEvicted(AdMetrics.FORMAT_BANNER, slot.adUnitId);
+        }
+        if (!parked.isEmpty()) {
+            if (logger.isDebugEnabled()) {
+                logger.d(parked.size() + " banner(s) destroyed under memory pressure");
+            }
+        }
+        destroyBanners(parked);
+    }
+
+    private void applyBannerLayout(AdView view, String position, int offsetX, int offsetY) {
+        view.setLayoutParams(createBannerLayoutParams(position, offsetX, offsetY));
+    }
+
+    private FrameLayout.LayoutParams createBannerLayoutParams(String position, int offsetX, int offsetY) {
+        String normalized = position.toLowerCase();
+        boolean hasHorizontalAnchor = normalized.endsWith("_left") || normalized.endsWith("_right");
+        FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(
+                hasHorizontalAnchor ? FrameLayout.LayoutParams.WRAP_CONTENT : FrameLayout.LayoutParams.MATCH_PARENT,
+                FrameLayout.LayoutParams.WRAP_CONTENT
+        );
+        params.gravity = getBannerGravity(normalized);
+        if ((params.gravity & Gravity.BOTTOM) == Gravity.BOTTOM) {
+            params.bottomMargin = offsetY;
+        } else {
+            params.topMargin = offsetY;
+        }
+        if (normalized.endsWith("_right")) {
+            params.rightMargin = offsetX;
+        } else {
+            params.leftMargin = offsetX;
+        }
+        return params;
+    }
+
+    private int getBannerGravity(String position) {
+        switch (position) {
+            case "top":
+                return Gravity.TOP | Gravity.CENTER_HORIZONTAL;
+            case "top_left":
+                return Gravity.TOP | Gravity.LEFT;
+            case "top_right":
+                return Gravity.TOP | Gravity.RIGHT;
+            case "bottom_left":
+                return Gravity.BOTTOM | Gravity.LEFT;
+            case "bottom_right":
+                return Gravity.BOTTOM | Gravity.RIGHT;
+            case "center":
+                return Gravity.CENTER;
+            default:
+                return Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL;
+        }
+    }
+
+    /**
+     * Set how many interstitial and rewarded ads are kept preloaded per ad unit
+     * @param depth Number of ready ads to keep (1-5)
+     */
     @UsedByGodot
-    public void showRewarded() {
-        runOnUiThread(new Runnable() {
+    public void setPreloadDepth(final int depth) {
+        uiCommands.post(new Runnable() {
             @Override
             public void run() {
-                Activity activity = getActivity();
-                if (activity == null) {
-                    Log.e(TAG, "Activity is null during rewarded show");
-                    return;
-                }
+                adController.setPreloadDepth(depth);
+            }
+        });
+    }
 
-                if (rewardedAd != null) {
-                    rewardedAd.show(activity, rewardItem -> {
-                        int rewardAmount = rewardItem.getAmount();
-                        String rewardType = rewardItem.getType();
-                        Log.d(TAG, "User earned reward: " + rewardAmount + " " + rewardType);
-                        emitSignal("rewarded", rewardType, rewardAmount);
-                    });
-                    Log.d(TAG, "Showing rewarded ad");
-                } else {
-                    Log.e(TAG, "Rewarded ad not ready");
-                    emitSignal("ad_failed_to_load", "Rewarded ad not loaded");
-                }
+    /**
+     * Set how long loaded interstitial and rewarded ads stay valid. Expired ads no longer count
+     * as loaded and are never shown; a replacement is loaded shortly before they expire.
+     * @param ttlMs Time after loading at which an ad expires (default 55 minutes, 0 to disable)
+     * @param refreshLeadMs How long before expiry the replacement load starts (default 60 seconds)
+     */
+    @UsedByGodot
+    public void setAdExpiry(final int ttlMs, final int refreshLeadMs) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.setAdExpiry(ttlMs, refreshLeadMs);
             }
         });
     }
 
+    /**
+     * Get the number of preloaded ads ready to show for an ad unit
+     * @param adUnitId Interstitial or rewarded ad unit ID
+     * @return Number of ready ads
+     */
+    @UsedByGodot
+    public int getReadyCount(String adUnitId) {
+        return adController.getReadyCount(adUnitId);
+    }
+
+    @UsedByGodot
+    public int loadInterstitial(final String adUnitId) {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.loadInterstitial(adUnitId, requestId);
+            }
+        });
+        return requestId;
+    }
+
+    @UsedByGodot
+    public int showInterstitial() {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.showInterstitial(requestId);
+            }
+        });
+        return requestId;
+    }
+
+    @UsedByGodot
+    public boolean isInterstitialLoaded() {
+        return adController.isInterstitialLoaded();
+    }
+
+    @UsedByGodot
+    public int loadRewarded(final String adUnitId) {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.loadRewarded(adUnitId, requestId);
+            }
+        });
+        return requestId;
+    }
+
+    @UsedByGodot
+    public int showRewarded() {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.showRewarded(requestId);
+            }
+        });
+        return requestId;
+    }
+
     @UsedByGodot
     public boolean isRewardedLoaded() {
-        return rewardedAd != null;
+        return adController.isRewardedLoaded();
+    }
+
+    /**
+     * Preload an app-open ad. It stays cached for up to four hours and is reloaded before it expires.
+     */
+    @UsedByGodot
+    public int loadAppOpen(final String adUnitId) {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.loadAppOpen(adUnitId, requestId);
+            }
+        });
+        return requestId;
+    }
+
+    /**
+     * Show the cached app-open ad now. Emits app_open_shown, or app_open_skipped if none is ready.
+     */
+    @UsedByGodot
+    public int showAppOpen() {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.showAppOpen(requestId);
+            }
+        });
+        return requestId;
+    }
+
+    /**
+     * Show an app-open ad for the cold start if one is ready, or becomes ready, within the
+     * budget measured from plugin creation. Otherwise emits app_open_skipped("timeout").
+     */
+    @UsedByGodot
+    public int showAppOpenAtLaunch() {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.showAppOpenWithin(launchedAt, requestId);
+            }
+        });
+        return requestId;
+    }
+
+    @UsedByGodot
+    public boolean isAppOpenLoaded() {
+        return adController.isAppOpenLoaded();
+    }
+
+    /**
+     * Set how long after a launch or return to the foreground an app-open ad may still be shown
+     * @param budgetMs Budget in milliseconds (default 3000)
+     */
+    @UsedByGodot
+    public void setAppOpenBudget(int budgetMs) {
+        adController.setAppOpenBudget(budgetMs);
+    }
+
+    /**
+     * Show an app-open ad within the budget each time the app returns to the foreground.
+     * Returning from an interstitial, rewarded or app-open ad is ignored.
+     */
+    @UsedByGodot
+    public void setAppOpenOnForeground(boolean enabled) {
+        adController.setAppOpenOnForeground(enabled);
+    }
+
+    /**
+     * Emit rendering_suspended when a full-screen ad is shown and rendering_resumed, with the
+     * suspended time, when it is dismissed or fails to show. These are always emitted as
+     * signals, also in batched mode, so the game can react before the ad covers it.
+     */
+    @UsedByGodot
+    public void setPauseRenderingDuringAds(boolean enabled) {
+        adController.setPauseRenderingDuringAds(enabled);
+    }
+
+    /**
+     * Register a named placement (e.g. "level_end") bound to a full-screen format and ad unit
+     * @param placementId Name used by the game to address this placement
+     * @param format "interstitial" or "rewarded"
+     * @param adUnitId Your AdMob ad unit ID
+     */
+    @UsedByGodot
+    public void registerPlacement(final String placementId, final String format, final String adUnitId) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.registerPlacement(placementId, format, adUnitId);
+            }
+        });
+    }
+
+    /**
+     * Start preloading ads for a registered placement
+     */
+    @UsedByGodot
+    public int loadPlacement(final String placementId) {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.loadPlacement(placementId, requestId);
+            }
+        });
+        return requestId;
+    }
+
+    /**
+     * Show a preloaded ad for a registered placement
+     */
+    @UsedByGodot
+    public int showPlacement(final String placementId) {
+        final int requestId = adController.newRequestId();
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.showPlacement(placementId, requestId);
+            }
+        });
+        return requestId;
+    }
+
+    /**
+     * Register a placement backed by several ad units (tiers), best ranked first, e.g. from the
+     * highest to the lowest floor. Every fill is kept in its unit's preload pool and shows use the
+     * best ranked tier that has an ad ready.
+     * @param adUnitIds Ad unit IDs, best ranked first
+     * @param mode "waterfall" to request one tier at a time and fall through to the next on no-fill,
+     *             or "hedged" to request several tiers at once
+     * @param parallel Number of tiers requested at once in hedged mode
+     */
+    @UsedByGodot
+    public void registerPlacementTiers(final String placementId, final String format, final String[] adUnitIds,
+                                       final String mode, final int parallel) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.registerPlacement(placementId, format, adUnitIds,
+                        PlacementRegistry.parseMode(mode), parallel);
+            }
+        });
+    }
+
+    /**
+     * Get the state of each tier of a placement
+     * @return Array of Dictionaries, best ranked tier first, each with tier, ad_unit_id, ready and
+     *         the ad unit's metrics (requests, fills, no_fills, load_latency_ms, ...)
+     */
+    @UsedByGodot
+    public Object[] getPlacementTiers(String placementId) {
+        List<Map<String, Object>> tiers = adController.getPlacementTiers(placementId);
+        Object[] result = new Object[tiers.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = toDictionary(tiers.get(i));
+        }
+        return result;
+    }
+
+    @UsedByGodot
+    public boolean isPlacementLoaded(String placementId) {
+        return adController.isPlacementLoaded(placementId);
+    }
+
+    /**
+     * Unregister a placement and release its preloaded ads if no other placement uses the ad unit
+     */
+    @UsedByGodot
+    public void destroyPlacement(final String placementId) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                adController.destroyPlacement(placementId);
+            }
+        });
+    }
+
+    /**
+     * Set frequency cap and pacing rules for a placement. Use "interstitial" or "rewarded" to
+     * cap showInterstitial() and showRewarded(). Capped shows emit placement_capped followed by
+     * the usual show failure. Missing keys disable the corresponding rule.
+     * @param rules Dictionary with optional keys: max_shows and window_ms (at most max_shows per
+     *              sliding window), min_interval_ms (between two shows) and session_grace_ms
+     *              (no show this soon after app start)
+     */
+    @UsedByGodot
+    public void setFrequencyCap(final String placementId, final Dictionary rules) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                frequencyCap.setRules(placementId, new FrequencyCap.Rules(
+                        (int) getLong(rules, "max_shows", 0),
+                        getLong(rules, "window_ms", 0),
+                        getLong(rules, "min_interval_ms", 0),
+                        getLong(rules, "session_grace_ms", 0)));
+            }
+        });
+    }
+
+    /**
+     * Remove the frequency cap rules of a placement. Its show history is kept.
+     */
+    @UsedByGodot
+    public void clearFrequencyCap(final String placementId) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                frequencyCap.setRules(placementId, null);
+            }
+        });
+    }
+
+    /**
+     * Check the frequency cap of a placement. Does not check whether an ad is loaded.
+     * Constant time, safe to call every frame.
+     */
+    @UsedByGodot
+    public boolean canShowPlacement(String placementId) {
+        return frequencyCap.canShow(placementId);
+    }
+
+    /**
+     * Get the frequency cap state of a placement
+     * @return Dictionary with can_show, reason ("none", "session_start", "min_interval" or
+     *         "window") and wait_ms until every rule allows a show
+     */
+    @UsedByGodot
+    public Dictionary getFrequencyCapState(String placementId) {
+        Dictionary result = new Dictionary();
+        int reason = frequencyCap.check(placementId);
+        result.put("can_show", reason == FrequencyCap.REASON_NONE);
+        result.put("reason", FrequencyCap.reasonName(reason));
+        result.put("wait_ms", (int) Math.min(Integer.MAX_VALUE, frequencyCap.getWaitMs(placementId)));
+        return result;
+    }
+
+    /**
+     * Forget the persisted show history of every placement (for testing purposes)
+     */
+    @UsedByGodot
+    public void resetFrequencyCapHistory() {
+        frequencyCap.clearHistory();
+        FrequencyCapStore store = frequencyCapStore;
+        if (store != null) {
+            store.clear();
+        }
     }
 
-    private AdSize getAdSize(String size) {
+    private void saveCapHistory(String placementId) {
+        FrequencyCapStore store = frequencyCapStore;
+        if (store != null) {
+            store.save(placementId, frequencyCap.encodeHistory(placementId));
+        }
+    }
+
+    /**
+     * Configure automatic retries for failed interstitial and rewarded loads.
+     * Missing keys keep their current value.
+     * @param policy Dictionary with optional keys: base_delay_ms, max_delay_ms, max_attempts,
+     *               jitter (0-1), no_fill_threshold, breaker_cooldown_ms
+     */
+    @UsedByGodot
+    public void setRetryPolicy(final Dictionary policy) {
+        uiCommands.post(new Runnable() {
+            @Override
+            public void run() {
+                RetryScheduler retryScheduler = adController.getRetryScheduler();
+                RetryPolicy current = retryScheduler.getPolicy();
+                retryScheduler.setPolicy(new RetryPolicy(
+                        getLong(policy, "base_delay_ms", current.baseDelayMs),
+                        getLong(policy, "max_delay_ms", current.maxDelayMs),
+                        (int) getLong(policy, "max_attempts", current.maxAttempts),
+                        getDouble(policy, "jitter", current.jitter),
+                        (int) getLong(policy, "no_fill_threshold", current.noFillThreshold),
+                        getLong(policy, "breaker_cooldown_ms", current.breakerCooldownMs)));
+            }
+        });
+    }
+
+    /**
+     * Get the state of each preload slot of an ad unit. Safe to call from any thread.
+     * @return Slot states, each one of "idle", "loading", "ready", "showing", "consumed" or "expired"
+     */
+    @UsedByGodot
+    public String[] getAdSlotStates(String adUnitId) {
+        return adController.getAdSlotStates(adUnitId);
+    }
+
+    /**
+     * Get the automatic retry state of an ad unit
+     * @return Dictionary with attempts, consecutive_no_fills, circuit_open, retry_pending and next_retry_ms
+     */
+    @UsedByGodot
+    public Dictionary getRetryState(String adUnitId) {
+        Dictionary result = new Dictionary();
+        RetryScheduler retryScheduler = adController.getRetryScheduler();
+        RetryScheduler.State state = retryScheduler.getState(adUnitId);
+        long nextRetryAt = state != null ? state.nextRetryAt : -1;
+        result.put("attempts", state != null ? state.attempts : 0);
+        result.put("consecutive_no_fills", state != null ? state.consecutiveNoFills : 0);
+        result.put("circuit_open", retryScheduler.isCircuitOpen(adUnitId));
+        result.put("retry_pending", nextRetryAt >= 0);
+        result.put("next_retry_ms", nextRetryAt >= 0 ? Math.max(0, nextRetryAt - retryScheduler.now()) : -1);
+        return result;
+    }
+
+    private static long getLong(Dictionary dictionary, String key, long defaultValue) {
+        Object value = dictionary.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    private static double getDouble(Dictionary dictionary, String key, double defaultValue) {
+        Object value = dictionary.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    private static boolean getBoolean(Dictionary dictionary, String key, boolean defaultValue) {
+        Object value = dictionary.get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    private static String getString(Dictionary dictionary, String key, String defaultValue) {
+        Object value = dictionary.get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    /**
+     * Get load and show performance metrics per format and ad unit
+     * @return Dictionary: format -> ad unit ID -> { requests, fills, no_fills, errors, shows, expired, fill_rate,
+     *         error_codes, load_latency_ms, time_to_show_ms, ready_to_show_ms }. Latency entries hold
+     *         count, p50, p90, p99 and max in milliseconds.
+     */
+    @UsedByGodot
+    public Dictionary getMetrics() {
+        return toDictionary(metrics.snapshot());
+    }
+
+    @UsedByGodot
+    public void resetMetrics() {
+        metrics.reset();
+    }
+
+    /**
+     * @return "normal", "moderate" or "critical"
+     */
+    @UsedByGodot
+    public String getMemoryPressure() {
+        return AdController.memoryPressureName(adController.getMemoryPressure());
+    }
+
+    /**
+     * @return Dictionary with connected, type ("none", "wifi", "cellular", "ethernet" or "other")
+     *         and metered
+     */
+    @UsedByGodot
+    public Dictionary getNetworkState() {
+        int type = adController.getNetworkType();
+        Dictionary result = new Dictionary();
+        result.put("connected", type != AdController.NETWORK_NONE);
+        result.put("type", AdController.networkName(type));
+        result.put("metered", adController.isNetworkMetered());
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Dictionary toDictionary(Map<String, Object> map) {
+        Dictionary dictionary = new Dictionary();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            dictionary.put(entry.getKey(), value instanceof Map ? toDictionary((Map<String, Object>) value) : value);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Enable or disable batched event delivery. When enabled, ad events are no longer
+     * emitted as signals but buffered as compact records to be pulled with drainEvents().
+     * Consent and banner_size_changed signals are always emitted directly.
+     */
+    @UsedByGodot
+    public void setBatchedEvents(boolean enabled) {
+        batchedEvents = enabled;
+    }
+
+    /**
+     * Remove all buffered ad events. Call once per frame from a single thread.
+     * @return Flat array with 4 values per event: type, placement (or ad unit ID), code, timestamp (ms)
+     */
+    @UsedByGodot
+    public Object[] drainEvents() {
+        return eventQueue.drain();
+    }
+
+    /**
+     * @return Number of batched events dropped because the queue was full
+     */
+    @UsedByGodot
+    public int getDroppedEventCount() {
+        return (int) eventQueue.getDroppedCount();
+    }
+
+    /**
+     * Set the logcat level. Debug messages are not even built below their level.
+     * Defaults to "debug" in debuggable builds and "warn" otherwise.
+     * @param level "debug", "warn", "error" or "none"
+     */
+    @UsedByGodot
+    public void setLogLevel(String level) {
+        int parsed = LogcatLogger.parseLevel(level);
+        if (parsed < 0) {
+            if (logger.isLoggable(AdLogger.LEVEL_ERROR)) {
+                logger.e("Unknown log level: " + level);
+            }
+            return;
+        }
+        logLevelSet = true;
+        logger.setLevel(parsed);
+    }
+
+    /**
+     * @return "debug", "warn", "error" or "none"
+     */
+    @UsedByGodot
+    public String getLogLevel() {
+        return LogcatLogger.levelName(logger.getLevel());
+    }
+
+    /**
+     * Copy the most recent trace records, oldest first. Every ad event is recorded, in batched
+     * mode too, along with load_started for each load request and show_started for each show.
+     * @return Flat array with 4 values per record: type name, placement (or ad unit ID), code, timestamp (ms)
+     */
+    @UsedByGodot
+    public Object[] dumpTrace() {
+        return traceBuffer.dump();
+    }
+
+    @UsedByGodot
+    public void clearTrace() {
+        traceBuffer.clear();
+    }
+
+    /**
+     * Wrap ad loads and shows in android.os.Trace sections, for profiling with system traces
+     */
+    @UsedByGodot
+    public void setSystemTraceEnabled(boolean enabled) {
+        SystemTrace.setEnabled(enabled);
+    }
+
+    /**
+     * Deliver an ad event, either as a signal or as a batched record
+     * @param placement Placement ID, or ad unit ID for events not tied to a placement
+     * @param code Error code, reward amount, retry delay or cap wait depending on the event type
+     * @param signalArgs Arguments of the signal emitted in unbatched mode
+     */
+    private void dispatchEvent(int type, String placement, int code, Object... signalArgs) {
+        if (type == AdEvent.PLACEMENT_LOADED && startupPlacementIds.contains(placement)) {
+            emitStartupPhase(StartupTimeline.PHASE_FIRST_AD);
+        } else if (type == AdEvent.MEMORY_PRESSURE_CHANGED) {
+            trimBanners(code);
+        }
+        long timestamp = SystemClock.elapsedRealtime();
+        traceBuffer.record(type, placement, code, timestamp);
+        boolean isRenderingEvent = type == AdEvent.RENDERING_SUSPENDED || type == AdEvent.RENDERING_RESUMED;
+        if (batchedEvents && !isRenderingEvent) {
+            eventQueue.offer(type, placement != null ? placement : "", code, timestamp);
+        } else {
+            emitSignal(AdEvent.SIGNAL_NAMES[type], signalArgs);
+        }
+    }
+
+    /**
+     * Get the anchored adaptive banner size for the current window width and orientation
+     * @return Dictionary with width and height in dp and width_px and height_px in pixels,
+     *         or an empty Dictionary if the activity is not available
+     */
+    @UsedByGodot
+    public Dictionary getAdaptiveBannerSize() {
+        Dictionary result = new Dictionary();
+        Activity activity = getActivity();
+        if (activity == null) {
+            return result;
+        }
+        AdSize size = getAdaptiveAdSize(activity);
+        result.put("width", size.getWidth());
+        result.put("height", size.getHeight());
+        result.put("width_px", size.getWidthInPixels(activity));
+        result.put("height_px", size.getHeightInPixels(activity));
+        return result;
+    }
+
+    /**
+     * Resolve the adaptive banner size, computing it only once per orientation and width bucket
+     */
+    private AdSize getAdaptiveAdSize(Activity activity) {
+        AdSize current = currentAdaptiveSize;
+        if (current != null) {
+            return current;
+        }
+
+        int orientation = activity.getResources().getConfiguration().orientation;
+        DisplayMetrics metrics = activity.getResources().getDisplayMetrics();
+        int widthDp = AdaptiveSizeCache.bucketWidth((int) (metrics.widthPixels / metrics.density));
+
+        AdSize size = adaptiveSizes.get(orientation, widthDp);
+        if (size == null) {
+            size = AdSize.getCurrentOrientationAnchoredAdaptiveBannerAdSize(activity, widthDp);
+            adaptiveSizes.put(orientation, widthDp, size);
+            if (logger.isDebugEnabled()) {
+                logger.d("Computed adaptive banner size: " + size.getWidth() + "x" + size.getHeight());
+            }
+        }
+        currentAdaptiveSize = size;
+        return size;
+    }
+
+    private final ComponentCallbacks2 componentCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onConfigurationChanged(@NonNull Configuration newConfig) {
+            currentAdaptiveSize = null;
+            Activity activity = getActivity();
+            if (activity == null || banner == null || !banner.adaptive) {
+                return;
+            }
+            AdSize size = getAdaptiveAdSize(activity);
+            AdSize bannerSize = banner.view.getAdSize();
+            if (bannerSize == null || bannerSize.getWidth() != size.getWidth()
+                    || bannerSize.getHeight() != size.getHeight()) {
+                if (logger.isDebugEnabled()) {
+                    logger.d("Adaptive banner size changed: " + size.getWidth() + "x" + size.getHeight());
+                }
+                emitSignal("banner_size_changed", size.getWidth(), size.getHeight());
+            }
+        }
+
+        @Override
+        public void onLowMemory() {
+            adController.onMemoryPressure(AdController.MEMORY_CRITICAL);
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= TRIM_MEMORY_COMPLETE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+                adController.onMemoryPressure(AdController.MEMORY_CRITICAL);
+            } else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW
+                    || level == TRIM_MEMORY_RUNNING_MODERATE) {
+                adController.onMemoryPressure(AdController.MEMORY_MODERATE);
+            }
+            // TRIM_MEMORY_UI_HIDDEN only means the app went to the background
+        }
+    };
+
+    private AdSize getAdSize(Activity activity, String size) {
         switch (size.toLowerCase()) {
+            case SIZE_ADAPTIVE:
+                return getAdaptiveAdSize(activity);
             case "large_banner":
                 return AdSize.LARGE_BANNER;
             case "medium_rectangle":
@@ -706,18 +2044,67 @@ public class DroidAdMob extends GodotPlugin {
         }
     }
 
+    @Override
+    public View onMainCreate(Activity activity) {
+        if (!logLevelSet) {
+            boolean debuggable = (activity.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+            logger.setLevel(debuggable ? AdLogger.LEVEL_DEBUG : AdLogger.LEVEL_WARN);
+        }
+        activity.registerComponentCallbacks(componentCallbacks);
+        connectivityTracker = new ConnectivityTracker(activity.getApplicationContext(), mainHandler, logger,
+                adController::onNetworkChanged);
+        connectivityTracker.start();
+        consentStore = new ConsentStore(activity);
+        consentSnapshot = consentStore.load();
+        frequencyCapStore = new FrequencyCapStore(activity);
+        for (Map.Entry<String, String> history : frequencyCapStore.loadAll().entrySet()) {
+            frequencyCap.restoreHistory(history.getKey(), history.getValue());
+        }
+        return super.onMainCreate(activity);
+    }
+
+    @Override
+    public void onMainPause() {
+        super.onMainPause();
+        isAppPaused = true;
+        if (banner != null) {
+            banner.view.pause();
+        }
+        adController.pause();
+        logger.d("App paused, banner refresh, preloads and retries suspended");
+    }
+
+    @Override
+    public void onMainResume() {
+        super.onMainResume();
+        isAppPaused = false;
+        if (banner != null && banner.view.getVisibility() == View.VISIBLE) {
+            banner.view.resume();
+        }
+        adController.resume();
+        logger.d("App resumed");
+    }
+
     @Override
     public void onMainDestroy() {
         super.onMainDestroy();
+        Activity activity = getActivity();
+        if (activity != null) {
+            activity.unregisterComponentCallbacks(componentCallbacks);
+        }
+        if (connectivityTracker != null) {
+            connectivityTracker.stop();
+        }
+        uiCommands.clear();
         runOnUiThread(new Runnable() {
             @Override
             public void run() {
-                if (bannerAd != null) {
-                    bannerAd.destroy();
-                    bannerAd = null;
+                if (banner != null) {
+                    banner.view.destroy();
+                    banner = null;
                 }
-                interstitialAd = null;
-                rewardedAd = null;
+                destroyBanners(bannerCache.clear());
+                adController.destroy();
             }
         });
     }
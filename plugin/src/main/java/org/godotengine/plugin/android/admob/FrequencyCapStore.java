@@ -0,0 +1,43 @@
+package org.godotengine.plugin.android.admob;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persists the show history used by FrequencyCap in SharedPreferences, one compact
+ * encoded string per placement
+ */
+class FrequencyCapStore {
+
+    private static final String PREFERENCES_NAME = "DroidAdMob.frequency";
+
+    private final SharedPreferences preferences;
+
+    FrequencyCapStore(Context context) {
+        preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * @return Placement ID -> encoded history, for every placement that has shown an ad
+     */
+    Map<String, String> loadAll() {
+        Map<String, String> histories = new HashMap<>();
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+            if (entry.getValue() instanceof String) {
+                histories.put(entry.getKey(), (String) entry.getValue());
+            }
+        }
+        return histories;
+    }
+
+    void save(String placementId, String encodedHistory) {
+        preferences.edit().putString(placementId, encodedHistory).apply();
+    }
+
+    void clear() {
+        preferences.edit().clear().apply();
+    }
+}
@@ -0,0 +1,204 @@
+package org.godotengine.plugin.android.admob;
+
+import android.app.Activity;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.ads.AdError;
+import com.google.android.gms.ads.AdRequest;
+import com.google.android.gms.ads.FullScreenContentCallback;
+import com.google.android.gms.ads.LoadAdError;
+import com.google.android.gms.ads.appopen.AppOpenAd;
+import com.google.android.gms.ads.interstitial.InterstitialAd;
+import com.google.android.gms.ads.interstitial.InterstitialAdLoadCallback;
+import com.google.android.gms.ads.rewarded.RewardedAd;
+import com.google.android.gms.ads.rewarded.RewardedAdLoadCallback;
+
+import org.godotengine.plugin.android.admob.core.AdEvent;
+import org.godotengine.plugin.android.admob.core.AdNetwork;
+import org.godotengine.plugin.android.admob.core.FullScreenAd;
+import org.godotengine.plugin.android.admob.core.PlacementRegistry;
+
+/**
+ * AdNetwork backed by the Google Mobile Ads SDK. Must be used from the UI thread.
+ */
+class GoogleAdNetwork implements AdNetwork {
+
+    interface ActivityProvider {
+        Activity getActivity();
+    }
+
+    private final ActivityProvider activityProvider;
+
+    GoogleAdNetwork(ActivityProvider activityProvider) {
+        this.activityProvider = activityProvider;
+    }
+
+    @Override
+    public void load(String format, String adUnitId, final LoadCallback callback) {
+        Activity activity = activityProvider.getActivity();
+        if (activity == null) {
+            callback.onFailed(AdEvent.CODE_NONE, "Activity is null during " + format + " load");
+            return;
+        }
+
+        final String section = SystemTrace.loadSection(format);
+        final int cookie = SystemTrace.beginAsync(section);
+        boolean traced = SystemTrace.begin(section);
+        try {
+            AdRequest adRequest = new AdRequest.Builder().build();
+
+            if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+                RewardedAd.load(activity, adUnitId, adRequest, new RewardedAdLoadCallback() {
+                    @Override
+                    public void onAdLoaded(@NonNull RewardedAd ad) {
+                        SystemTrace.endAsync(section, cookie);
+                        callback.onLoaded(new GoogleRewardedAd(ad));
+                    }
+
+                    @Override
+                    public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
+                        SystemTrace.endAsync(section, cookie);
+                        callback.onFailed(loadAdError.getCode(), loadAdError.getMessage());
+                    }
+                });
+            } else if (PlacementRegistry.FORMAT_APP_OPEN.equals(format)) {
+                AppOpenAd.load(activity, adUnitId, adRequest, new AppOpenAd.AppOpenAdLoadCallback() {
+                    @Override
+                    public void onAdLoaded(@NonNull AppOpenAd ad) {
+                        SystemTrace.endAsync(section, cookie);
+                        callback.onLoaded(new GoogleAppOpenAd(ad));
+                    }
+
+                    @Override
+                    public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
+                        SystemTrace.endAsync(section, cookie);
+                        callback.onFailed(loadAdError.getCode(), loadAdError.getMessage());
+                    }
+                });
+            } else {
+                InterstitialAd.load(activity, adUnitId, adRequest, new InterstitialAdLoadCallback() {
+                    @Override
+                    public void onAdLoaded(@NonNull InterstitialAd ad) {
+                        SystemTrace.endAsync(section, cookie);
+                        callback.onLoaded(new GoogleInterstitialAd(ad));
+                    }
+
+                    @Override
+                    public void onAdFailedToLoad(@NonNull LoadAdError loadAdError) {
+                        SystemTrace.endAsync(section, cookie);
+                        callback.onFailed(loadAdError.getCode(), loadAdError.getMessage());
+                    }
+                });
+            }
+        } finally {
+            SystemTrace.end(traced);
+        }
+    }
+
+    @Override
+    public boolean canShow() {
+        return activityProvider.getActivity() != null;
+    }
+
+    private static FullScreenContentCallback createContentCallback(final FullScreenAd.Listener listener) {
+        return new FullScreenContentCallback() {
+            @Override
+            public void onAdDismissedFullScreenContent() {
+                listener.onDismissed();
+            }
+
+            @Override
+            public void onAdFailedToShowFullScreenContent(@NonNull AdError adError) {
+                listener.onFailedToShow(adError.getCode(), adError.getMessage());
+            }
+
+            @Override
+            public void onAdShowedFullScreenContent() {
+                listener.onShowed();
+            }
+
+            @Override
+            public void onAdImpression() {
+                listener.onImpression();
+            }
+
+            @Override
+            public void onAdClicked() {
+                listener.onClicked();
+            }
+        };
+    }
+
+    private final class GoogleInterstitialAd implements FullScreenAd {
+        private final InterstitialAd ad;
+
+        GoogleInterstitialAd(InterstitialAd ad) {
+            this.ad = ad;
+        }
+
+        @Override
+        public void show(Listener listener) {
+            Activity activity = activityProvider.getActivity();
+            if (activity == null) {
+                listener.onFailedToShow(AdEvent.CODE_NONE, "Activity is null");
+                return;
+            }
+            ad.setFullScreenContentCallback(createContentCallback(listener));
+            boolean traced = SystemTrace.begin(SystemTrace.SHOW);
+            try {
+                ad.show(activity);
+            } finally {
+                SystemTrace.end(traced);
+            }
+        }
+    }
+
+    private final class GoogleRewardedAd implements FullScreenAd {
+        private final RewardedAd ad;
+
+        GoogleRewardedAd(RewardedAd ad) {
+            this.ad = ad;
+        }
+
+        @Override
+        public void show(final Listener listener) {
+            Activity activity = activityProvider.getActivity();
+            if (activity == null) {
+                listener.onFailedToShow(AdEvent.CODE_NONE, "Activity is null");
+                return;
+            }
+            ad.setFullScreenContentCallback(createContentCallback(listener));
+            boolean traced = SystemTrace.begin(SystemTrace.SHOW);
+            try {
+                ad.show(activity, rewardItem -> listener.onRewarded(rewardItem.getType(), rewardItem.getAmount()));
+            } finally {
+                SystemTrace.end(traced);
+            }
+        }
+    }
+
+    private final class GoogleAppOpenAd implements FullScreenAd {
+        private final AppOpenAd ad;
+
+        GoogleAppOpenAd(AppOpenAd ad) {
+            this.ad = ad;
+        }
+
+        @Override
+        public void show(Listener listener) {
+            Activity activity = activityProvider.getActivity();
+            if (activity == null) {
+                listener.onFailedToShow(AdEvent.CODE_NONE, "Activity is null");
+                return;
+            }
+            ad.setFullScreenContentCallback(createContentCallback(listener));
+            boolean traced = SystemTrace.begin(SystemTrace.SHOW);
+            try {
+                ad.show(activity);
+            } finally {
+                SystemTrace.end(traced);
+            }
+        }
+    }
+}
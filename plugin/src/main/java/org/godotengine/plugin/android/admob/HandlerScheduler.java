@@ -0,0 +1,28 @@
+package org.godotengine.plugin.android.admob;
+
+import android.os.Handler;
+
+import org.godotengine.plugin.android.admob.core.Scheduler;
+
+/**
+ * Scheduler backed by an Android Handler
+ */
+class HandlerScheduler implements Scheduler {
+
+    private final Handler handler;
+
+    HandlerScheduler(Handler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public Task schedule(final Runnable runnable, long delayMs) {
+        handler.postDelayed(runnable, delayMs);
+        return new Task() {
+            @Override
+            public void cancel() {
+                handler.removeCallbacks(runnable);
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package org.godotengine.plugin.android.admob;
+
+import android.util.Log;
+
+import org.godotengine.plugin.android.admob.core.AdLogger;
+
+/**
+ * AdLogger writing to logcat. Messages below the level are dropped before reaching Log.
+ */
+class LogcatLogger implements AdLogger {
+
+    private static final String[] LEVEL_NAMES = {"debug", "warn", "error", "none"};
+
+    private final String tag;
+    private volatile int level;
+
+    LogcatLogger(String tag, int level) {
+        this.tag = tag;
+        this.level = level;
+    }
+
+    /**
+     * @return The level named "debug", "warn", "error" or "none", or -1 if the name is unknown
+     */
+    static int parseLevel(String name) {
+        for (int i = 0; i < LEVEL_NAMES.length; i++) {
+            if (LEVEL_NAMES[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static String levelName(int level) {
+        return level >= 0 && level < LEVEL_NAMES.length ? LEVEL_NAMES[level] : "unknown";
+    }
+
+    void setLevel(int level) {
+        this.level = level;
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    @Override
+    public boolean isLoggable(int level) {
+        return level >= this.level && level < LEVEL_NONE;
+    }
+
+    @Override
+    public void d(String message) {
+        if (isLoggable(LEVEL_DEBUG)) {
+            Log.d(tag, message);
+        }
+    }
+
+    @Override
+    public void w(String message) {
+        if (isLoggable(LEVEL_WARN)) {
+            Log.w(tag, message);
+        }
+    }
+
+    @Override
+    public void e(String message) {
+        if (isLoggable(LEVEL_ERROR)) {
+            Log.e(tag, message);
+        }
+    }
+}
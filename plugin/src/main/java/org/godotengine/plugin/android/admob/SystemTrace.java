@@ -0,0 +1,84 @@
+package org.godotengine.plugin.android.admob;
+
+import android.os.Build;
+import android.os.Trace;
+
+import org.godotengine.plugin.android.admob.core.PlacementRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional android.os.Trace sections around ad loads and shows, for profiling with system
+ * traces. Synchronous sections cover the SDK calls on the UI thread; from API 29 an async
+ * section also spans each load until its result. Disabled sections cost a volatile read.
+ */
+final class SystemTrace {
+
+    static final String LOAD_BANNER = "DroidAdMob load banner";
+    static final String LOAD_INTERSTITIAL = "DroidAdMob load interstitial";
+    static final String LOAD_REWARDED = "DroidAdMob load rewarded";
+    static final String LOAD_APP_OPEN = "DroidAdMob load app_open";
+    static final String SHOW = "DroidAdMob show";
+
+    private static volatile boolean enabled;
+    private static final AtomicInteger lastCookie = new AtomicInteger();
+
+    private SystemTrace() {
+    }
+
+    static void setEnabled(boolean enabled) {
+        SystemTrace.enabled = enabled;
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static String loadSection(String format) {
+        if (PlacementRegistry.FORMAT_REWARDED.equals(format)) {
+            return LOAD_REWARDED;
+        }
+        if (PlacementRegistry.FORMAT_APP_OPEN.equals(format)) {
+            return LOAD_APP_OPEN;
+        }
+        return LOAD_INTERSTITIAL;
+    }
+
+    /**
+     * @return true if a section was begun and must be closed with end(true) on the same thread
+     */
+    static boolean begin(String section) {
+        if (!enabled) {
+            return false;
+        }
+        Trace.beginSection(section);
+        return true;
+    }
+
+    static void end(boolean begun) {
+        if (begun) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * @return Cookie to pass to endAsync(), 0 if no section was begun
+     */
+    static int beginAsync(String section) {
+        if (!enabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return 0;
+        }
+        int cookie = lastCookie.incrementAndGet();
+        if (cookie == 0) {
+            cookie = lastCookie.incrementAndGet();
+        }
+        Trace.beginAsyncSection(section, cookie);
+        return cookie;
+    }
+
+    static void endAsync(String section, int cookie) {
+        if (cookie != 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(section, cookie);
+        }
+    }
+}
@@ -18,3 +18,5 @@ dependencyResolutionManagement {
 // TODO: Update project's name.
 rootProject.name = "GodotAndroidPluginTemplate"
 include(":plugin")
+include(":core")
+include(":benchmark")